@@ -0,0 +1,70 @@
+package net.sparkzz.shops.benchmark;
+
+import net.sparkzz.shops.Store;
+import net.sparkzz.shops.util.Cuboid;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Builds the stores used by the benchmarks, stores are 16x16 blocks laid out on a grid with a gap between each store so
+ * the number of stores near any location stays realistic as the number of stores grows
+ *
+ * @author Brendon Butler
+ */
+final class BenchmarkData {
+
+    static final int STORE_SIZE = 16, STORE_SPACING = 32, STORES_PER_ROW = 1000;
+
+    private static final List<Material> ITEM_MATERIALS = Arrays.stream(Material.values())
+            .filter(material -> !material.name().startsWith("LEGACY_") && material.isItem() && !material.isAir())
+            .toList();
+
+    private BenchmarkData() {}
+
+    /**
+     * Gets materials that can be sold in a store
+     *
+     * @param count the number of materials, this is capped at the number of item materials
+     * @return the materials
+     */
+    static List<Material> itemMaterials(int count) {
+        return ITEM_MATERIALS.subList(0, Math.min(count, ITEM_MATERIALS.size()));
+    }
+
+    /**
+     * Creates and registers the provided number of stores, each with the provided number of items
+     *
+     * @param world the world containing the stores or null for stores without a location
+     * @param stores the number of stores to be created
+     * @param items the number of items in each store
+     */
+    static void createStores(@Nullable World world, int stores, int items) {
+        Store.STORES.clear();
+
+        List<Material> materials = itemMaterials(items);
+
+        for (int i = 0; i < stores; i++) {
+            Store store = (world == null)
+                    ? new Store(storeName(i), UUID.randomUUID())
+                    : new Store(storeName(i), UUID.randomUUID(), storeLocation(world, i));
+
+            for (int j = 0; j < materials.size(); j++)
+                store.addItem(materials.get(j), j + 1, 1000, j + 0.5D, j + 0.25D);
+        }
+    }
+
+    static String storeName(int index) {
+        return "Store-" + index;
+    }
+
+    static Cuboid storeLocation(World world, int index) {
+        double x = (index % STORES_PER_ROW) * (double) STORE_SPACING, z = (index / STORES_PER_ROW) * (double) STORE_SPACING;
+
+        return new Cuboid(world, x, 60, z, x + STORE_SIZE, 80, z + STORE_SIZE);
+    }
+}
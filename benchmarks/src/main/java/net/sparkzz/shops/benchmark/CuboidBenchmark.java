@@ -0,0 +1,58 @@
+package net.sparkzz.shops.benchmark;
+
+import net.sparkzz.shops.util.AbstractCuboid;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the cuboid checks used when creating and locating stores
+ *
+ * @author Brendon Butler
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CuboidBenchmark {
+
+    private AbstractCuboid store, overlapping, separate;
+
+    @Setup
+    public void setUp() {
+        store = new AbstractCuboid(0, 60, 0, 16, 80, 16);
+        overlapping = new AbstractCuboid(8, 70, 8, 24, 90, 24);
+        separate = new AbstractCuboid(32, 60, 32, 48, 80, 48);
+    }
+
+    @Benchmark
+    public boolean intersectsOverlapping() {
+        return store.intersects(overlapping);
+    }
+
+    @Benchmark
+    public boolean intersectsSeparate() {
+        return store.intersects(separate);
+    }
+
+    @Benchmark
+    public boolean isPointWithinInside() {
+        return store.isPointWithin(8.5D, 64D, 8.5D);
+    }
+
+    @Benchmark
+    public boolean isPointWithinOutside() {
+        return store.isPointWithin(40.5D, 64D, 40.5D);
+    }
+}
@@ -0,0 +1,100 @@
+package net.sparkzz.shops.benchmark;
+
+import be.seeseemelk.mockbukkit.MockBukkit;
+import be.seeseemelk.mockbukkit.ServerMock;
+import net.milkbowl.vault.economy.Economy;
+import net.sparkzz.shops.mocks.MockEconomy;
+import net.sparkzz.shops.util.EconomyGateway;
+import org.bukkit.OfflinePlayer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks paying for trades directly through Vault against paying through the economy gateway, on a local economy
+ * where every call takes a fixed time. Each trade withdraws from one player and deposits to another
+ *
+ * @author Brendon Butler
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class EconomyGatewayBenchmark {
+
+    @Param({"0", "200", "2000"})
+    public int latencyMicros;
+
+    @Param({"100"})
+    public int players;
+
+    private final List<OfflinePlayer> accounts = new ArrayList<>();
+    private Economy economy;
+    private EconomyGateway gateway;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ServerMock server = MockBukkit.mock();
+
+        economy = new MockEconomy(latencyMicros);
+
+        for (int i = 0; i < players; i++) {
+            OfflinePlayer player = server.addPlayer();
+
+            economy.depositPlayer(player, 1_000_000_000D);
+            accounts.add(player);
+        }
+
+        gateway = new EconomyGateway(economy, null);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        gateway.close();
+        accounts.clear();
+        MockBukkit.unmock();
+    }
+
+    @Benchmark
+    public boolean vault() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        OfflinePlayer buyer = accounts.get(random.nextInt(players)), seller = accounts.get(random.nextInt(players));
+
+        if (!economy.has(buyer, 1D) || !economy.withdrawPlayer(buyer, 1D).transactionSuccess())
+            return false;
+
+        return economy.depositPlayer(seller, 1D).transactionSuccess();
+    }
+
+    @Benchmark
+    public boolean gateway() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        OfflinePlayer buyer = accounts.get(random.nextInt(players)), seller = accounts.get(random.nextInt(players));
+
+        if (!gateway.withdraw(buyer, BigDecimal.ONE))
+            return false;
+
+        gateway.deposit(seller, BigDecimal.ONE);
+        return true;
+    }
+}
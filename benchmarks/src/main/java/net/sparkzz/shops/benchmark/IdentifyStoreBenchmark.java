@@ -0,0 +1,69 @@
+package net.sparkzz.shops.benchmark;
+
+import net.sparkzz.shops.Core;
+import net.sparkzz.shops.Store;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks looking up a store by the name, UUID or name~UUID provided to a command
+ *
+ * @author Brendon Butler
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IdentifyStoreBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    public int stores;
+
+    private String name, uuid, nameAndUUID;
+
+    @Setup
+    public void setUp() {
+        BenchmarkData.createStores(null, stores, 0);
+
+        Store target = Store.STORES.getStoresByName(BenchmarkData.storeName(stores / 2)).get(0);
+
+        name = target.getName();
+        uuid = target.getUUID().toString();
+        nameAndUUID = String.format("%s~%s", name, uuid);
+    }
+
+    @TearDown
+    public void tearDown() {
+        Store.STORES.clear();
+    }
+
+    @Benchmark
+    public Optional<Store> byName() throws Core.MultipleStoresMatchedException {
+        return Store.identifyStore(name);
+    }
+
+    @Benchmark
+    public Optional<Store> byUUID() throws Core.MultipleStoresMatchedException {
+        return Store.identifyStore(uuid);
+    }
+
+    @Benchmark
+    public Optional<Store> byNameAndUUID() throws Core.MultipleStoresMatchedException {
+        return Store.identifyStore(nameAndUUID);
+    }
+}
@@ -0,0 +1,112 @@
+package net.sparkzz.shops.benchmark;
+
+import be.seeseemelk.mockbukkit.MockBukkit;
+import be.seeseemelk.mockbukkit.MockPlugin;
+import be.seeseemelk.mockbukkit.ServerMock;
+import net.sparkzz.shops.Store;
+import net.sparkzz.shops.util.Config;
+import net.sparkzz.shops.util.Journal;
+import net.sparkzz.shops.util.Warehouse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.spongepowered.configurate.CommentedConfigurationNode;
+import org.spongepowered.configurate.ConfigurateException;
+import org.spongepowered.configurate.ConfigurationNode;
+import org.spongepowered.configurate.hocon.HoconConfigurationLoader;
+
+import java.io.File;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks loading stores whose items are saved as a node per material against stores whose items are saved in the
+ * older format of a JSON string holding every item
+ *
+ * @author Brendon Butler
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ItemFormatBenchmark {
+
+    @Param({"1000", "10000"})
+    public int stores;
+
+    @Param({"10", "50"})
+    public int items;
+
+    @Param({"nodes", "json"})
+    public String format;
+
+    private MockPlugin plugin;
+
+    @Setup(Level.Trial)
+    public void setUp() throws ConfigurateException {
+        ServerMock server = MockBukkit.mock();
+
+        plugin = MockBukkit.createMockPlugin("Shops");
+        Warehouse.loadConfig(plugin);
+
+        // the journal is left out so only the load itself is measured
+        Journal.close();
+        Config.getRootNode().node("data", "journal-commit-interval").set(0);
+        Config.setStoreFormat("hocon");
+
+        BenchmarkData.createStores(server.addSimpleWorld("world"), stores, items);
+        Warehouse.saveConfig();
+
+        // the older format is only ever read from data.shops, it's written to the store files here so both formats are
+        // loaded through the same path, loading doesn't rewrite them so they stay in that format between loads
+        if (format.equals("json"))
+            for (File storeFile : Objects.requireNonNull(new File(plugin.getDataFolder(), "stores").listFiles()))
+                toJsonItems(storeFile);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        Store.STORES.clear();
+        MockBukkit.unmock();
+    }
+
+    @Benchmark
+    public int load() {
+        Store.STORES.clear();
+        Warehouse.loadConfig(plugin);
+
+        return Store.STORES.size();
+    }
+
+    private static void toJsonItems(File storeFile) throws ConfigurateException {
+        HoconConfigurationLoader loader = HoconConfigurationLoader.builder().file(storeFile).build();
+        CommentedConfigurationNode storeNode = loader.load();
+        StringBuilder json = new StringBuilder("{");
+
+        for (Map.Entry<Object, CommentedConfigurationNode> entry : storeNode.node("items").childrenMap().entrySet()) {
+            ConfigurationNode item = entry.getValue();
+
+            if (json.length() > 1) json.append(',');
+
+            json.append(String.format("\"%s\":{\"quantity\":%d,\"max_quantity\":%d,\"buy\":%s,\"sell\":%s}",
+                    entry.getKey(), item.node("quantity").getInt(), item.node("max_quantity").getInt(),
+                    item.node("buy").getDouble(), item.node("sell").getDouble()));
+        }
+
+        storeNode.node("items").set(json.append('}').toString());
+        loader.save(storeNode);
+    }
+}
@@ -0,0 +1,76 @@
+package net.sparkzz.shops.benchmark;
+
+import be.seeseemelk.mockbukkit.MockBukkit;
+import be.seeseemelk.mockbukkit.ServerMock;
+import be.seeseemelk.mockbukkit.entity.PlayerMock;
+import net.sparkzz.shops.Store;
+import net.sparkzz.shops.util.InventoryManagementSystem;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks finding the store a player is standing in, which runs for every store command
+ *
+ * @author Brendon Butler
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LocateStoreBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    public int stores;
+
+    private PlayerMock customer, wanderer;
+
+    @Setup
+    public void setUp() {
+        ServerMock server = MockBukkit.mock();
+        World world = server.addSimpleWorld("world");
+
+        BenchmarkData.createStores(world, stores, 0);
+
+        // one player stands in the last store created, the other stands in the gap between stores
+        double storeX = ((stores - 1) % BenchmarkData.STORES_PER_ROW) * (double) BenchmarkData.STORE_SPACING;
+        double storeZ = ((stores - 1) / BenchmarkData.STORES_PER_ROW) * (double) BenchmarkData.STORE_SPACING;
+
+        customer = server.addPlayer();
+        customer.setLocation(new Location(world, storeX + 8.5D, 64D, storeZ + 8.5D));
+        wanderer = server.addPlayer();
+        wanderer.setLocation(new Location(world, storeX + BenchmarkData.STORE_SIZE + 8.5D, 64D, storeZ + 8.5D));
+    }
+
+    @TearDown
+    public void tearDown() {
+        Store.STORES.clear();
+        MockBukkit.unmock();
+    }
+
+    @Benchmark
+    public Optional<Store> insideStore() {
+        return InventoryManagementSystem.locateCurrentStore(customer);
+    }
+
+    @Benchmark
+    public Optional<Store> outsideStores() {
+        return InventoryManagementSystem.locateCurrentStore(wanderer);
+    }
+}
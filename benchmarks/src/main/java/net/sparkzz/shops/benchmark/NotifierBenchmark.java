@@ -0,0 +1,93 @@
+package net.sparkzz.shops.benchmark;
+
+import net.sparkzz.shops.Store;
+import net.sparkzz.shops.util.CommandContext;
+import net.sparkzz.shops.util.Notifier;
+import org.bukkit.Material;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks building the messages sent to players, including browse pages of stores with many items
+ *
+ * @author Brendon Butler
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class NotifierBenchmark {
+
+    @Param({"1", "100", "1000"})
+    public int items;
+
+    private final Map<String, Object> attributes = new HashMap<>();
+    private CommandContext context;
+    private Store store;
+    private int middlePage;
+
+    @Setup
+    public void setUp() {
+        BenchmarkData.createStores(null, 1, items);
+
+        store = Store.STORES.iterator().next();
+        middlePage = Math.max(1, (store.getItems().size() + 9) / 20);
+
+        attributes.put("material", "DIAMOND_PICKAXE");
+        attributes.put("quantity", 64);
+        attributes.put("buy-price", 12.5D);
+        attributes.put("sell-price", 10D);
+        attributes.put("max-quantity", 1000);
+        attributes.put("store", store.getName());
+
+        // rendering doesn't need a sender
+        context = new CommandContext(null);
+        context.setMaterial(Material.DIAMOND_PICKAXE);
+        context.setQuantity(64);
+        context.set("buy-price", 12.5D);
+        context.set("sell-price", 10D);
+        context.set("max-quantity", 1000);
+        context.setStore(store);
+    }
+
+    @TearDown
+    public void tearDown() {
+        Store.STORES.clear();
+    }
+
+    @Benchmark
+    public String format() {
+        return Notifier.format(Notifier.CipherKey.ADDED_MATERIAL_TO_STORE_QUANTITY.value, attributes);
+    }
+
+    @Benchmark
+    public String compose() {
+        return Notifier.compose(Notifier.CipherKey.ADDED_MATERIAL_TO_STORE_QUANTITY, attributes);
+    }
+
+    @Benchmark
+    public String render() {
+        return Notifier.render(Notifier.CipherKey.ADDED_MATERIAL_TO_STORE_QUANTITY, context);
+    }
+
+    @Benchmark
+    public String buildBrowsePage() {
+        return Notifier.Paginator.buildBrowsePage(store, middlePage);
+    }
+}
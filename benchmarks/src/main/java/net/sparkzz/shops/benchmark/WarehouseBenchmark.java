@@ -0,0 +1,95 @@
+package net.sparkzz.shops.benchmark;
+
+import be.seeseemelk.mockbukkit.MockBukkit;
+import be.seeseemelk.mockbukkit.MockPlugin;
+import be.seeseemelk.mockbukkit.ServerMock;
+import net.sparkzz.shops.Store;
+import net.sparkzz.shops.util.Config;
+import net.sparkzz.shops.util.Journal;
+import net.sparkzz.shops.util.Warehouse;
+import org.bukkit.World;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.spongepowered.configurate.serialize.SerializationException;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks saving every store and loading them back in each store format, every store is changed before each save so
+ * the full set of stores is written
+ *
+ * @author Brendon Butler
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WarehouseBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    public int stores;
+
+    @Param({"1", "10"})
+    public int items;
+
+    @Param({"hocon", "binary"})
+    public String format;
+
+    private MockPlugin plugin;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SerializationException {
+        ServerMock server = MockBukkit.mock();
+        World world = server.addSimpleWorld("world");
+
+        plugin = MockBukkit.createMockPlugin("Shops");
+        Warehouse.loadConfig(plugin);
+
+        // the journal is left out so only the save and load themselves are measured
+        Journal.close();
+        Config.getRootNode().node("data", "journal-commit-interval").set(0);
+        Config.setStoreFormat(format);
+
+        BenchmarkData.createStores(world, stores, items);
+        Warehouse.saveConfig();
+    }
+
+    @Setup(Level.Invocation)
+    public void changeStores() {
+        for (Store store : Store.STORES)
+            store.setBalance(store.getBalance().add(BigDecimal.ONE));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        Store.STORES.clear();
+        MockBukkit.unmock();
+    }
+
+    @Benchmark
+    public void save() {
+        Warehouse.saveConfig();
+    }
+
+    @Benchmark
+    public int load() {
+        Store.STORES.clear();
+        Warehouse.loadConfig(plugin);
+
+        return Store.STORES.size();
+    }
+}
@@ -5,6 +5,7 @@ import org.spongepowered.configurate.objectmapping.meta.Setting;
 
 import java.math.BigDecimal;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * The Store class is instantiable and serialized/deserialized around the data.shops file
@@ -18,6 +19,9 @@ public abstract class AbstractStore {
     @Setting private String name;
     @Setting private UUID owner;
     @Setting private UUID uuid;
+    // incremented on every change so that only stores which have changed since they were last saved are written, it's
+    // atomic as stores are changed from any region's thread while the autosave reads it from the global region
+    private final transient AtomicLong version = new AtomicLong();
 
     /**
      * This constructor is required for the deserializer
@@ -48,6 +52,34 @@ public abstract class AbstractStore {
         this.owner = owner;
     }
 
+    /**
+     * Creates a store with an existing unique ID, this is used when loading stores that were previously saved
+     *
+     * @param uuid the unique ID of the store
+     * @param name the name of the store
+     * @param owner the owner's UUID or null if the store has no owner
+     */
+    protected AbstractStore(UUID uuid, String name, UUID owner) {
+        this.uuid = uuid;
+        this.name = name;
+        this.owner = owner;
+    }
+
+    /**
+     * Creates a copy of the provided store, the copy shares the store's unique ID
+     *
+     * @param store the store to be copied
+     */
+    protected AbstractStore(AbstractStore store) {
+        balance = store.balance;
+        infFunds = store.infFunds;
+        infStock = store.infStock;
+        name = store.name;
+        owner = store.owner;
+        uuid = store.uuid;
+        version.set(store.version.get());
+    }
+
     /**
      * Checks if the store has the infinite funds flag set
      *
@@ -102,6 +134,22 @@ public abstract class AbstractStore {
         return uuid;
     }
 
+    /**
+     * Gets the version of the store, this changes every time the store is modified
+     *
+     * @return the current version of the store
+     */
+    public long getVersion() {
+        return version.get();
+    }
+
+    /**
+     * Marks the store as modified so that it is included in the next save
+     */
+    protected void markDirty() {
+        version.incrementAndGet();
+    }
+
     /**
      * Add funds to the store
      *
@@ -109,6 +157,7 @@ public abstract class AbstractStore {
      */
     public void addFunds(BigDecimal amount) {
         balance = balance.add(amount);
+        markDirty();
     }
 
     /**
@@ -120,6 +169,8 @@ public abstract class AbstractStore {
         if (balance.compareTo(amount) <= 0)
             balance = BigDecimal.ZERO;
         else balance = balance.subtract(amount);
+
+        markDirty();
     }
 
     /**
@@ -129,6 +180,7 @@ public abstract class AbstractStore {
      */
     public void setBalance(BigDecimal balance) {
         this.balance = balance;
+        markDirty();
     }
 
     /**
@@ -138,6 +190,7 @@ public abstract class AbstractStore {
      */
     public void setInfiniteFunds(boolean value) {
         infFunds = value;
+        markDirty();
     }
 
     /**
@@ -147,6 +200,7 @@ public abstract class AbstractStore {
      */
     public void setInfiniteStock(boolean value) {
         infStock = value;
+        markDirty();
     }
 
     /**
@@ -156,6 +210,7 @@ public abstract class AbstractStore {
      */
     public void setName(String name) {
         this.name = name;
+        markDirty();
     }
 
     /**
@@ -165,6 +220,7 @@ public abstract class AbstractStore {
      */
     public void setOwner(UUID uuid) {
         this.owner = uuid;
+        markDirty();
     }
 
     /**
@@ -38,6 +38,25 @@ public class AbstractConfig {
         }
     }
 
+    /**
+     * Gets the number of seconds between autosaves of the store data, autosaving is disabled when this is 0 or less
+     *
+     * @return the autosave interval in seconds
+     */
+    public static int getAutosaveInterval() {
+        return rootNode.node("data", "autosave-interval").getInt(300);
+    }
+
+    /**
+     * Gets the number of milliseconds between writes of the store journal to disk, the journal is disabled when this
+     * is 0 or less
+     *
+     * @return the journal commit interval in milliseconds
+     */
+    public static int getJournalCommitInterval() {
+        return rootNode.node("data", "journal-commit-interval").getInt(100);
+    }
+
     /**
      * Gets the maximum (limit) dimensions to prevent players from creating stores greater than specified X, Y, and Z
      * coordinates
@@ -102,6 +121,15 @@ public class AbstractConfig {
         return rootNode.node("store", "max-owned-stores").getInt();
     }
 
+    /**
+     * Gets the format the stores are saved in, either hocon (the default) or binary
+     *
+     * @return the store format
+     */
+    public static String getStoreFormat() {
+        return rootNode.node("data", "format").getString("hocon");
+    }
+
     /**
      * Sets the maximum dimensions
      *
@@ -169,6 +197,19 @@ public class AbstractConfig {
         }
     }
 
+    /**
+     * Sets the format the stores are saved in
+     *
+     * @param format the store format to be set, either hocon or binary
+     */
+    public static void setStoreFormat(String format) {
+        try {
+            rootNode.node("data", "format").set(format);
+        } catch (SerializationException exception) {
+            log.severe(exception.getMessage());
+        }
+    }
+
     /**
      * Sets the root node of the configuration
      *
@@ -2,11 +2,6 @@ package net.sparkzz.shops.util;
 
 import org.spongepowered.configurate.objectmapping.ConfigSerializable;
 
-import java.awt.geom.Point2D;
-import java.util.ArrayList;
-import java.util.LinkedList;
-import java.util.List;
-
 /**
  * The Cuboid class stores the starting and ending location for a store
  */
@@ -44,122 +39,43 @@ public class AbstractCuboid {
     }
 
     /**
-     * determines all points (as integers) between two coordinates on a plane, this plane can be adjusted by the
-     * respective third coordinate
-     * (ex: XY would use Z1 for the front face, and Z2 for the back face)
-     * <br>
-     * face 1 is the XY face (vertical front/rear) (adjust by Z1 and Z2)
-     * face 2 is the ZY face (vertical sides) (adjust by X1 and X2)
-     * face 3 is the XZ face (horizontal) (adjust by Y1 and Y2)
-     *
-     * @return A list of coordinates that create a point on a 2D plane
-     */
-    protected List<List<Point2D>> getFacePoints() {
-        List<List<Point2D>> facePoints = new LinkedList<>();
-        facePoints.add(0, new ArrayList<>());
-        facePoints.add(1, new ArrayList<>());
-        facePoints.add(2, new ArrayList<>());
-
-        double minX = Math.min(x1, x2);
-        double maxX = Math.max(x1, x2);
-        double minY = Math.min(y1, y2);
-        double maxY = Math.max(y1, y2);
-        double minZ = Math.min(z1, z2);
-        double maxZ = Math.max(z1, z2);
-
-        // loop through 3 faces
-        for (int i = 0; i <= 2; i++) {
-            int min, max, min2, max2;
-
-            switch (i) {
-                case 0 -> {
-                    min = (int) Math.floor(minX);
-                    max = (int) Math.ceil(maxX);
-                    min2 = (int) Math.floor(minY);
-                    max2 = (int) Math.ceil(maxY);
-                }
-                case 1 -> {
-                    min = (int) Math.floor(minZ);
-                    max = (int) Math.ceil(maxZ);
-                    min2 = (int) Math.floor(minY);
-                    max2 = (int) Math.ceil(maxY);
-                }
-                default -> {
-                    min = (int) Math.floor(minX);
-                    max = (int) Math.ceil(maxX);
-                    min2 = (int) Math.floor(minZ);
-                    max2 = (int) Math.ceil(maxZ);
-                }
-            }
-
-            for (double x = min; x <= max; x++) {
-                for (double y = min2; y <= max2; y++) {
-                    facePoints.get(i).add(new Point2D.Double(x, y));
-                }
-            }
-        }
-
-        return facePoints;
-    }
-
-    /**
-     * Checks whether the current cuboid intersects another cuboid
+     * Checks whether the current cuboid intersects another cuboid, this is true when any face of the other cuboid
+     * touches or passes through this cuboid (a cuboid sitting entirely inside the other cuboid's interior is only
+     * detected from the other side, use {@link #overlaps(AbstractCuboid)} to check both directions)
      *
      * @param cuboid the other cuboid to check intersections against
      * @return whether the current cuboid intersects another cuboid
      */
     public boolean intersects(AbstractCuboid cuboid) {
-        boolean intersects = false;
-
         if (cuboid == null)
-            return intersects;
+            return false;
 
         if (this.equals(cuboid))
             return true;
 
-        List<List<Point2D>> faces = cuboid.getFacePoints();
-
-        for (int i = 0; i <= 2; i++) {
-            List<Point2D> facePoints = faces.get(i);
-
-            switch (i) {
-                case 0 -> {
-                    int minZ = (int) Math.floor(Math.min(cuboid.getZ1(), cuboid.getZ2()));
-                    int maxZ = (int) Math.floor(Math.max(cuboid.getZ1(), cuboid.getZ2()));
-
-                    for (Point2D point : facePoints) {
-                        if (isPointWithin(point.getX(), point.getY(), minZ))
-                            return true;
-                        if (isPointWithin(point.getX(), point.getY(), maxZ))
-                            return true;
-                    }
-                }
-                case 1 -> {
-                    int minX = (int) Math.floor(Math.min(cuboid.getX1(), cuboid.getX2()));
-                    int maxX = (int) Math.floor(Math.max(cuboid.getX1(), cuboid.getX2()));
+        return overlaps(cuboid) && !cuboid.containsWithinInterior(this);
+    }
 
-                    for (Point2D point : facePoints) {
-                        if (isPointWithin(minX, point.getY(), point.getX()))
-                            return true;
-                        if (isPointWithin(maxX, point.getY(), point.getX()))
-                            return true;
-                    }
-                }
-                default -> {
-                    int minY = (int) Math.floor(Math.min(cuboid.getY1(), cuboid.getY2()));
-                    int maxY = (int) Math.floor(Math.max(cuboid.getY1(), cuboid.getY2()));
+    /**
+     * Checks whether the current cuboid and another cuboid share any point, including when they only touch along an
+     * edge or face, or when one contains the other
+     *
+     * @param cuboid the other cuboid to check against
+     * @return whether the cuboids overlap
+     */
+    public boolean overlaps(AbstractCuboid cuboid) {
+        if (cuboid == null)
+            return false;
 
-                    for (Point2D point : facePoints) {
-                        if (isPointWithin(point.getX(), minY, point.getY()))
-                            return true;
-                        if (isPointWithin(point.getX(), maxY, point.getY()))
-                            return true;
-                    }
-                }
-            }
-        }
+        return getMinX() <= cuboid.getMaxX() && cuboid.getMinX() <= getMaxX() &&
+               getMinY() <= cuboid.getMaxY() && cuboid.getMinY() <= getMaxY() &&
+               getMinZ() <= cuboid.getMaxZ() && cuboid.getMinZ() <= getMaxZ();
+    }
 
-        return intersects;
+    private boolean containsWithinInterior(AbstractCuboid cuboid) {
+        return getMinX() < cuboid.getMinX() && cuboid.getMaxX() < getMaxX() &&
+               getMinY() < cuboid.getMinY() && cuboid.getMaxY() < getMaxY() &&
+               getMinZ() < cuboid.getMinZ() && cuboid.getMaxZ() < getMaxZ();
     }
 
     /**
@@ -171,16 +87,63 @@ public class AbstractCuboid {
      * @return whether the point is within the bounds of the cuboid
      */
     public boolean isPointWithin(double x, double y, double z) {
-        double maxX = Math.max(this.x1, this.x2),
-                maxY = Math.max(this.y1, this.y2),
-                maxZ = Math.max(this.z1, this.z2),
-                minX = Math.min(this.x1, this.x2),
-                minY = Math.min(this.y1, this.y2),
-                minZ = Math.min(this.z1, this.z2);
+        return getMinX() <= x && x <= getMaxX() &&
+               getMinY() <= y && y <= getMaxY() &&
+               getMinZ() <= z && z <= getMaxZ();
+    }
+
+    /**
+     * Gets the lesser of the two 'x' coordinates
+     *
+     * @return the minimum 'x' coordinate
+     */
+    public double getMinX() {
+        return Math.min(x1, x2);
+    }
+
+    /**
+     * Gets the greater of the two 'x' coordinates
+     *
+     * @return the maximum 'x' coordinate
+     */
+    public double getMaxX() {
+        return Math.max(x1, x2);
+    }
+
+    /**
+     * Gets the lesser of the two 'y' coordinates
+     *
+     * @return the minimum 'y' coordinate
+     */
+    public double getMinY() {
+        return Math.min(y1, y2);
+    }
 
-        return minX <= x && x <= maxX &&
-               minY <= y && y <= maxY &&
-               minZ <= z && z <= maxZ;
+    /**
+     * Gets the greater of the two 'y' coordinates
+     *
+     * @return the maximum 'y' coordinate
+     */
+    public double getMaxY() {
+        return Math.max(y1, y2);
+    }
+
+    /**
+     * Gets the lesser of the two 'z' coordinates
+     *
+     * @return the minimum 'z' coordinate
+     */
+    public double getMinZ() {
+        return Math.min(z1, z2);
+    }
+
+    /**
+     * Gets the greater of the two 'z' coordinates
+     *
+     * @return the maximum 'z' coordinate
+     */
+    public double getMaxZ() {
+        return Math.max(z1, z2);
     }
 
     /**
@@ -6,8 +6,7 @@ import org.jetbrains.annotations.Nullable;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Helper class to build and transmit messages
@@ -16,6 +15,8 @@ import java.util.regex.Pattern;
  */
 public class AbstractNotifier {
     private static final Map<CipherKey, String> messages = new HashMap<>();
+    // parsed message for each key, an entry is removed whenever the key's message changes
+    private static final Map<CipherKey, MessageTemplate> templates = new ConcurrentHashMap<>();
     private static final String lineSeparator = System.getProperty("line.separator");
 
     /**
@@ -52,7 +53,21 @@ public class AbstractNotifier {
      * @return the custom message if it exists or the default message
      */
     public static String compose(CipherKey cipherKey, Map<String, Object> attributes) {
-        return format((!messages.isEmpty() && messages.containsKey(cipherKey)) ? messages.get(cipherKey) : cipherKey.value, attributes);
+        return templates.computeIfAbsent(cipherKey, key -> MessageTemplate.compile(messages.getOrDefault(key, key.value)))
+                .render(attributes);
+    }
+
+    /**
+     * Renders the message of the CipherKey, either the default value or a custom value in the messages Map, with the
+     * values of the provided placeholders
+     *
+     * @param cipherKey the key for determining the message value
+     * @param placeholders the values of the placeholders in the message
+     * @return the rendered custom message if it exists or the rendered default message
+     */
+    public static String render(CipherKey cipherKey, @Nullable Placeholders placeholders) {
+        return templates.computeIfAbsent(cipherKey, key -> MessageTemplate.compile(messages.getOrDefault(key, key.value)))
+                .render(placeholders);
     }
 
     /**
@@ -63,22 +78,7 @@ public class AbstractNotifier {
      * @return the modified input string
      */
     public static String format(String input, @Nullable Map<String, Object> attributes) {
-        if (attributes != null && !attributes.isEmpty()) {
-            Pattern pattern = Pattern.compile("\\{([^}]+)}");
-            Matcher matcher = pattern.matcher(input);
-            StringBuilder builder = new StringBuilder();
-
-            while (matcher.find()) {
-                String placeholder = matcher.group(1);
-                Object replacement = attributes.get(placeholder);
-                matcher.appendReplacement(builder, (replacement == null ? "{" + placeholder + "}" : replacement.toString()));
-            }
-
-            matcher.appendTail(builder);
-            input = builder.toString();
-        }
-
-        return input;
+        return MessageTemplate.format(input, attributes);
     }
 
     /**
@@ -105,6 +105,7 @@ public class AbstractNotifier {
      */
     public static void resetMessage(CipherKey cipherKey) {
         messages.remove(cipherKey);
+        templates.remove(cipherKey);
     }
 
     /**
@@ -115,6 +116,7 @@ public class AbstractNotifier {
      */
     public static void updateMessage(CipherKey cipherKey, String message) {
         messages.put(cipherKey, message);
+        templates.remove(cipherKey);
     }
 
     /**
@@ -126,9 +128,14 @@ public class AbstractNotifier {
         ADDED_MATERIAL_TO_STORE("§aYou have successfully added §6{material}§a to the store with a buy price of §6{buy-price}§a, a sell price of §6{sell-price}§a, and a max quantity of §6{max-quantity}§a!"),
         ADDED_MATERIAL_TO_STORE_QUANTITY("§aYou have successfully added §6{quantity}§a of §6{material}§a to the store with a buy price of §6{buy-price}§a, a sell price of §6{sell-price}§a, and a max quantity of §6{max-quantity}§a!"),
         PRICE("§9Price: §a{cost}"),
+        AUDIT_NO_OVERLAPS("§aNo stores overlap each other or an off-limits area!"),
+        AUDIT_RUNNING("§cThe stores are already being audited, please wait for the results!"),
+        AUDIT_STARTED("§9Auditing the store locations for overlaps..."),
         BUY_SUCCESS("§aSuccess! You have purchased §6{quantity}§a of §6{material}§a for §6{cost}§a."),
         DEPOSIT_INF_FUNDS("§aThis store has infinite funds, depositing funds isn't necessary!"),
         DEPOSIT_SUCCESS("§aYou have successfully deposited §6{amount}§a to the store!"),
+        FIND_NO_BUYERS("§cNo stores are buying §6{material}§c at this time!"),
+        FIND_NO_SELLERS("§cNo stores are selling §6{material}§c at this time!"),
         INSUFFICIENT_AMOUNT_PLAYER("§cYou have an insufficient amount!"),
         INSUFFICIENT_FUNDS_PLAYER("§cYou have insufficient funds!"),
         INSUFFICIENT_FUNDS_STORE("§cThe store has insufficient funds!"),
@@ -138,6 +145,7 @@ public class AbstractNotifier {
         INSUFFICIENT_STOCK_PLAYER("§cYou don't have enough of this item to stock the store, try leaving out the quantity and adding it later!"),
         INVALID_ARG_CNT("§cInvalid number of arguments!"),
         INVALID_PAGE_NUM("§cInvalid page number!"),
+        INVALID_STORE_FORMAT("§cInvalid store format ({format})!"),
         INVALID_QUANTITY("§cInvalid quantity ({quantity})!"),
         INVALID_MATERIAL("§cInvalid material ({material})!"),
         MATERIAL_EXISTS_STORE("§cThis material already exists in the store, use `/shop update {material}` to update this item"),
@@ -158,6 +166,8 @@ public class AbstractNotifier {
         REMOVE_SUCCESS("§aYou have successfully removed §6{material}§a from the store!"),
         REMOVE_SUCCESS_QUANTITY("§aYou have successfully removed §6{quantity} §aof §6{material}§a to the store!"),
         SELL_SUCCESS("§aSuccess! You have sold §6{quantity}§a of §6{material}§a for §6{cost}§a."),
+        STORE_CONVERT_FAIL("§cSomething went wrong when converting the stores to the §6{format}§c format, check the console for details!"),
+        STORE_CONVERT_SUCCESS("§aYou have successfully converted the stores to the §6{format}§a format!"),
         STORE_CREATE_SUCCESS("§aYou have successfully created §6{store}§a!"),
         STORE_CREATE_SUCCESS_OTHER_PLAYER("§aYou have successfully created §6{store}§a for §6{target}§a!"),
         STORE_CREATE_FAIL_MAX_DIMS("§cYou can't create a store that large!§f Maximum dimensions: ({limit-max-x}, {limit-max-y}, {limit-max-z})."),
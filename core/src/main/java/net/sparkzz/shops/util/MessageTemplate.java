@@ -0,0 +1,135 @@
+package net.sparkzz.shops.util;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A message split into its literal text and {placeholder} segments, so it is only parsed once and rendering it is a
+ * single pass over the segments
+ *
+ * @author Brendon Butler
+ */
+public class MessageTemplate {
+
+    private final String source;
+    // literals[i] comes before placeholders[i], the last literal follows the last placeholder
+    private final String[] literals, placeholders;
+
+    private MessageTemplate(String source, String[] literals, String[] placeholders) {
+        this.source = source;
+        this.literals = literals;
+        this.placeholders = placeholders;
+    }
+
+    /**
+     * Parses a message containing attributes within curly braces
+     *
+     * @param input the message to be parsed
+     * @return the parsed template
+     */
+    public static MessageTemplate compile(String input) {
+        List<String> literals = new ArrayList<>(), placeholders = new ArrayList<>();
+        int literalStart = 0, searchFrom = 0, open;
+
+        while ((open = input.indexOf('{', searchFrom)) >= 0) {
+            int close = input.indexOf('}', open + 1);
+
+            if (close < 0)
+                break;
+
+            // empty braces aren't a placeholder
+            if (close == open + 1) {
+                searchFrom = close;
+                continue;
+            }
+
+            literals.add(input.substring(literalStart, open));
+            placeholders.add(input.substring(open + 1, close));
+            literalStart = searchFrom = close + 1;
+        }
+
+        literals.add(input.substring(literalStart));
+
+        return new MessageTemplate(input, literals.toArray(new String[0]), placeholders.toArray(new String[0]));
+    }
+
+    /**
+     * Formats a message without keeping the parsed template, this is used for messages that aren't reused
+     *
+     * @param input the input string to have attributes attached
+     * @param attributes the attributes to be attached to the input string
+     * @return the formatted message
+     */
+    public static String format(String input, @Nullable Map<String, Object> attributes) {
+        if (attributes == null || attributes.isEmpty() || input.indexOf('{') < 0)
+            return input;
+
+        return compile(input).render(attributes);
+    }
+
+    /**
+     * Formats a message without keeping the parsed template, this is used for messages that aren't reused
+     *
+     * @param input the input string to have placeholders replaced
+     * @param placeholders the values of the placeholders in the input string
+     * @return the formatted message
+     */
+    public static String format(String input, @Nullable Placeholders placeholders) {
+        if (placeholders == null || placeholders == Placeholders.NONE || input.indexOf('{') < 0)
+            return input;
+
+        return compile(input).render(placeholders);
+    }
+
+    /**
+     * Renders the message with the provided attributes, placeholders without a matching attribute are left as they are
+     *
+     * @param attributes the attributes to be attached to the message
+     * @return the rendered message
+     */
+    public String render(@Nullable Map<String, Object> attributes) {
+        if (placeholders.length == 0 || attributes == null || attributes.isEmpty())
+            return source;
+
+        return render(attributes::get);
+    }
+
+    /**
+     * Renders the message with the values of the provided placeholders, placeholders without a value are left as they
+     * are
+     *
+     * @param values the values of the placeholders in the message
+     * @return the rendered message
+     */
+    public String render(@Nullable Placeholders values) {
+        if (placeholders.length == 0 || values == null || values == Placeholders.NONE)
+            return source;
+
+        StringBuilder builder = new StringBuilder(source.length() + placeholders.length * 8);
+
+        for (int i = 0; i < placeholders.length; i++) {
+            Object replacement = values.getPlaceholder(placeholders[i]);
+
+            builder.append(literals[i]);
+
+            if (replacement == null)
+                builder.append('{').append(placeholders[i]).append('}');
+            else builder.append(replacement);
+        }
+
+        return builder.append(literals[placeholders.length]).toString();
+    }
+
+    /**
+     * Gets the message the template was parsed from
+     *
+     * @return the unparsed message
+     */
+    @Override
+    public String toString() {
+        return source;
+    }
+}
@@ -0,0 +1,37 @@
+package net.sparkzz.shops.util;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+
+/**
+ * A source of values for the {placeholder} segments of a message
+ *
+ * @author Brendon Butler
+ */
+@FunctionalInterface
+public interface Placeholders {
+
+    /**
+     * Placeholders without any values, every placeholder is left as it is
+     */
+    Placeholders NONE = key -> null;
+
+    /**
+     * Gets the value of a placeholder
+     *
+     * @param key the placeholder's name, without the curly braces
+     * @return the value of the placeholder or null if it has no value
+     */
+    @Nullable Object getPlaceholder(String key);
+
+    /**
+     * Wraps an attribute map as placeholders
+     *
+     * @param attributes the attributes to be used as placeholder values
+     * @return the placeholders backed by the provided attributes
+     */
+    static Placeholders of(@Nullable Map<String, Object> attributes) {
+        return (attributes == null || attributes.isEmpty()) ? NONE : attributes::get;
+    }
+}
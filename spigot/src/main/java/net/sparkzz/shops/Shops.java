@@ -2,7 +2,10 @@ package net.sparkzz.shops;
 
 import net.milkbowl.vault.economy.Economy;
 import net.sparkzz.shops.command.CommandManager;
+import net.sparkzz.shops.event.EconomyListener;
 import net.sparkzz.shops.event.EntranceListener;
+import net.sparkzz.shops.util.EconomyGateway;
+import net.sparkzz.shops.util.Journal;
 import net.sparkzz.shops.util.Notifier;
 import net.sparkzz.shops.util.Warehouse;
 import org.bukkit.Server;
@@ -24,6 +27,7 @@ import static net.sparkzz.shops.Core.isTest;
 public class Shops extends JavaPlugin {
 
     private static Economy economy;
+    private static EconomyGateway economyGateway;
     private static Logger log;
     private static PluginDescriptionFile description;
     private static Server server;
@@ -97,7 +101,15 @@ public class Shops extends JavaPlugin {
      */
     @Override
     public void onDisable() {
-        if (!isTest() && getEconomy() != null) Warehouse.saveConfig();
+        if (!isTest() && getEconomy() != null) {
+            Warehouse.cancelAutosave();
+            Warehouse.saveConfig();
+            Journal.close();
+        }
+
+        // any balance changes that haven't been settled with Vault are settled before the plugin stops
+        if (economyGateway != null)
+            economyGateway.close();
 
         getLogger().info("Shops has been disabled!");
     }
@@ -116,9 +128,13 @@ public class Shops extends JavaPlugin {
         server = getServer();
         CommandManager.registerCommands(this);
         getServer().getPluginManager().registerEvents(new EntranceListener(), this);
+        getServer().getPluginManager().registerEvents(new EconomyListener(), this);
 
-        if (!isTest() && !Warehouse.loadConfig(this))
-            getServer().getPluginManager().disablePlugin(this);
+        if (!isTest()) {
+            if (Warehouse.loadConfig(this))
+                Warehouse.scheduleAutosave(this);
+            else getServer().getPluginManager().disablePlugin(this);
+        }
 
         Notifier.loadCustomMessages();
 
@@ -147,11 +163,24 @@ public class Shops extends JavaPlugin {
     }
 
     /**
-     * Sets the economy provider
+     * Gets the gateway that balance changes are made through, the changes are settled with the Vault economy in batches
+     *
+     * @return the economy gateway or null if there's no economy provider
+     */
+    public static EconomyGateway getEconomyGateway() {
+        return economyGateway;
+    }
+
+    /**
+     * Sets the economy provider, the changes pending with the previous provider are settled first
      *
      * @param economy the economy provider to be set
      */
     public static void setEconomy(Economy economy) {
+        if (economyGateway != null)
+            economyGateway.close();
+
         Shops.economy = economy;
+        economyGateway = (economy == null) ? null : new EconomyGateway(economy, log);
     }
 }
\ No newline at end of file
@@ -2,6 +2,7 @@ package net.sparkzz.shops;
 
 import net.sparkzz.shops.util.Config;
 import net.sparkzz.shops.util.Cuboid;
+import net.sparkzz.shops.util.StoreLocks;
 import org.bukkit.Material;
 import org.bukkit.World;
 import org.bukkit.inventory.ItemStack;
@@ -10,12 +11,15 @@ import org.spongepowered.configurate.objectmapping.ConfigSerializable;
 import org.spongepowered.configurate.objectmapping.meta.Setting;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
-import java.util.stream.Collectors;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * The Store class is instantiable and serialized/deserialized around the data.shops file
@@ -24,19 +28,23 @@ import java.util.stream.Collectors;
 public class Store extends AbstractStore {
 
     /**
-     * This List contains all stores that have been created
+     * This registry contains all stores that have been created
      */
-    public static final ArrayList<Store> STORES = new ArrayList<>();
+    public static final StoreRegistry STORES = new StoreRegistry();
 
     /**
-     * This Map contains all default stores per world
+     * This Map contains all default stores per world, it's synchronized as the default stores are looked up from every
+     * region's thread
      */
-    public static final Map<@Nullable World, Store> DEFAULT_STORES = new HashMap<>();
+    public static final Map<@Nullable World, Store> DEFAULT_STORES = Collections.synchronizedMap(new HashMap<>());
 
-    // TODO: Create a map of Worlds to Cuboids to allow for multiple locations for the same store
-    @Setting("location") private Cuboid cuboidLocation;
-    // item : attribute, value (block_dirt : quantity, 550)
-    @Setting private Map<Material, Map<String, Number>> items;
+    // a store may cover several locations across any number of worlds, sharing one inventory and balance
+    @Setting("locations") private List<Cuboid> cuboidLocations = new ArrayList<>();
+    @Setting private Map<Material, StoreItem> items;
+    // the sequence number of the last journal entry applied to this store
+    @Setting private long journalSequence;
+    // incremented when the items for sale or their prices change, cached browse pages are rebuilt when this changes
+    private final transient AtomicLong catalogVersion = new AtomicLong();
 
     /**
      * This constructor is required for the deserializer
@@ -53,7 +61,7 @@ public class Store extends AbstractStore {
      */
     public Store(String name) {
         super(name);
-        items = new HashMap<>();
+        items = new EnumMap<>(Material.class);
 
         STORES.add(this);
     }
@@ -66,7 +74,7 @@ public class Store extends AbstractStore {
      */
     public Store(String name, UUID owner) {
         super(name, owner);
-        items = new HashMap<>();
+        items = new EnumMap<>(Material.class);
 
         STORES.add(this);
     }
@@ -80,21 +88,83 @@ public class Store extends AbstractStore {
      */
     public Store(String name, UUID owner, Cuboid cuboidLocation) {
         super(name, owner);
-        items = new HashMap<>();
-        this.cuboidLocation = cuboidLocation;
+        items = new EnumMap<>(Material.class);
+
+        if (cuboidLocation != null)
+            cuboidLocations.add(cuboidLocation);
 
         STORES.add(this);
     }
 
+    private Store(UUID uuid, String name, @Nullable UUID owner) {
+        super(uuid, name, owner);
+        items = new EnumMap<>(Material.class);
+    }
+
+    /**
+     * Creates a detached copy of the provided store, the copy isn't registered and doesn't share any mutable state
+     * with the original store
+     *
+     * @param store the store to be copied
+     */
+    private Store(Store store) {
+        super(store);
+        journalSequence = store.journalSequence;
+        items = new EnumMap<>(Material.class);
+
+        for (Map.Entry<Material, StoreItem> entry : store.items.entrySet()) {
+            StoreItem item = entry.getValue();
+
+            items.put(entry.getKey(), new StoreItem(item.getQuantity(), item.getMaxQuantity(), item.getBuyPrice(), item.getSellPrice()));
+        }
+
+        for (Cuboid cuboid : store.cuboidLocations)
+            cuboidLocations.add(new Cuboid(cuboid.getWorld(), cuboid.getX1(), cuboid.getY1(), cuboid.getZ1(), cuboid.getX2(), cuboid.getY2(), cuboid.getZ2()));
+    }
+
     /**
-     * Gets a list of Stores
+     * Restores a previously saved store with its existing unique ID, the store isn't registered
      *
-     * @return the list of stores
+     * @param uuid the unique ID of the store
+     * @param name the name of the store
+     * @param owner the owner's UUID or null if the store has no owner
+     * @return the restored store
      */
-    public static ArrayList<Store> getStores() {
+    public static Store restore(UUID uuid, String name, @Nullable UUID owner) {
+        return new Store(uuid, name, owner);
+    }
+
+    /**
+     * Gets the registry of Stores
+     *
+     * @return the registry of stores
+     */
+    public static StoreRegistry getStores() {
         return STORES;
     }
 
+    /**
+     * Gets the stores whose locations overlap the chunk containing the provided coordinates, these candidates still
+     * need to be checked against their exact bounds
+     *
+     * @param world the world the coordinates are located within
+     * @param x the 'x' coordinate
+     * @param z the 'z' coordinate
+     * @return the candidate stores for the chunk (this list must not be modified)
+     */
+    public static List<Store> getStoresNear(@Nullable World world, double x, double z) {
+        return STORES.getStoresNear(world, x, z);
+    }
+
+    /**
+     * Gets the version of the store location index, this changes whenever a store is added, moved or removed
+     *
+     * @return the current version of the store location index
+     */
+    public static int getLocationVersion() {
+        return STORES.getLocationVersion();
+    }
+
     /**
      * Gets the default store based on the input world
      *
@@ -125,22 +195,56 @@ public class Store extends AbstractStore {
      * @return the optional store if found or optional empty if not found or duplicates are found
      */
     public static Optional<Store> identifyStore(String nameOrUUID) throws Core.MultipleStoresMatchedException {
-        List<Store> identifiedStores;
-        Optional<Store> store = Optional.empty();
+        List<Store> identifiedStores = new ArrayList<>(1);
 
         if (nameOrUUID.contains("~")) {
             String[] input = nameOrUUID.split("~");
+            Store store = (input.length > 1) ? STORES.getStore(parseUUID(input[1])) : null;
 
-            identifiedStores = STORES.stream().filter(s -> s.getName().equalsIgnoreCase(input[0]) && s.getUUID().toString().equalsIgnoreCase(input[1])).collect(Collectors.toCollection(ArrayList::new));
+            if (store != null && store.getName().equalsIgnoreCase(input[0]))
+                identifiedStores.add(store);
         } else {
-            identifiedStores = STORES.stream().filter(s -> s.getName().equalsIgnoreCase(nameOrUUID) || s.getUUID().toString().equalsIgnoreCase(nameOrUUID)).collect(Collectors.toCollection(ArrayList::new));
+            identifiedStores.addAll(STORES.getStoresByName(nameOrUUID));
+            Store store = STORES.getStore(parseUUID(nameOrUUID));
+
+            if (store != null && !identifiedStores.contains(store))
+                identifiedStores.add(store);
         }
 
         if (identifiedStores.size() == 1)
-            store = Optional.of(identifiedStores.get(0));
+            return Optional.of(identifiedStores.get(0));
         else if (identifiedStores.size() > 1) throw new Core.MultipleStoresMatchedException("Multiple Stores matched");
 
-        return store;
+        return Optional.empty();
+    }
+
+    /**
+     * Parses the input as a store's unique id, only the standard string format of a UUID is accepted
+     *
+     * @param input the input to be parsed
+     * @return the parsed UUID or null if the input isn't a UUID
+     */
+    private static @Nullable UUID parseUUID(String input) {
+        if (input.length() != 36)
+            return null;
+
+        try {
+            UUID uuid = UUID.fromString(input);
+
+            return uuid.toString().equalsIgnoreCase(input) ? uuid : null;
+        } catch (IllegalArgumentException exception) {
+            return null;
+        }
+    }
+
+    /**
+     * Creates a detached copy of the store so it can be saved off the main thread while the store continues to change,
+     * the copy is taken while holding the store's lock so it never includes half of a transaction
+     *
+     * @return a snapshot of the store's current state
+     */
+    public Store snapshot() {
+        return StoreLocks.call(this, () -> new Store(this));
     }
 
     /**
@@ -160,16 +264,46 @@ public class Store extends AbstractStore {
      * @return the buy price of the provided material
      */
     public double getBuyPrice(Material material) {
-        return (items.containsKey(material) ? items.get(material).get("buy").doubleValue() : -1D);
+        StoreItem item = items.get(material);
+
+        return (item != null ? item.getBuyPrice() : -1D);
+    }
+
+    /**
+     * Gets the version of the store's catalog, this changes whenever the store is renamed or an item is added, removed
+     * or has its prices changed, but not when quantities or funds change
+     *
+     * @return the current version of the store's catalog
+     */
+    public long getCatalogVersion() {
+        return catalogVersion.get();
+    }
+
+    /**
+     * Gets the primary cuboid location of the store, this is the first location the store was given
+     *
+     * @return the primary cuboid location of the store or null if the store has no location
+     */
+    public @Nullable Cuboid getCuboidLocation() {
+        return cuboidLocations.isEmpty() ? null : cuboidLocations.get(0);
     }
 
     /**
-     * Gets the cuboid location of the store
+     * Gets every cuboid location of the store
      *
-     * @return the cuboid location of the store
+     * @return the cuboid locations of the store (this list can't be modified)
      */
-    public Cuboid getCuboidLocation() {
-        return cuboidLocation;
+    public List<Cuboid> getCuboidLocations() {
+        return Collections.unmodifiableList(cuboidLocations);
+    }
+
+    /**
+     * Gets the sequence number of the last journal entry applied to the store
+     *
+     * @return the last journal sequence number
+     */
+    public long getJournalSequence() {
+        return journalSequence;
     }
 
     /**
@@ -179,25 +313,27 @@ public class Store extends AbstractStore {
      * @return the sell price of the provided material
      */
     public double getSellPrice(Material material) {
-        return (items.containsKey(material) ? items.get(material).get("sell").doubleValue() : -1D);
+        StoreItem item = items.get(material);
+
+        return (item != null ? item.getSellPrice() : -1D);
     }
 
     /**
-     * Get the items within the store with their attributes
+     * Get the items within the store
      *
-     * @return the items and attributes within the store
+     * @return the items within the store
      */
-    public Map<Material, Map<String, Number>> getItems() {
+    public Map<Material, StoreItem> getItems() {
         return items;
     }
 
     /**
-     * Get the attributes of a material in the store
+     * Get the item entry of a material in the store
      *
-     * @param material the material to be queried for its attributes
-     * @return the attributes of the provided material
+     * @param material the material to be queried for its item entry
+     * @return the item entry of the provided material or null if the store doesn't contain it
      */
-    public Map<String, Number> getAttributes(Material material) {
+    public @Nullable StoreItem getItem(Material material) {
         return items.get(material);
     }
 
@@ -217,19 +353,16 @@ public class Store extends AbstractStore {
      * @param quantity the quantity of the provided material to be added to the store
      */
     public void addItem(Material material, int quantity) {
-        if (items.containsKey(material)) {
-            int currentQuantity = items.get(material).get("quantity").intValue();
-            items.get(material).put("quantity", currentQuantity + quantity);
-        } else {
-            Map<String, Number> attributes = new HashMap<>();
-
-            attributes.put("quantity", quantity);
-            attributes.put("max_quantity", -1);
-            attributes.put("buy", -1D);
-            attributes.put("sell", -1D);
+        StoreItem item = items.get(material);
 
-            items.put(material, attributes);
+        if (item != null)
+            item.setQuantity(item.getQuantity() + quantity);
+        else {
+            items.put(material, new StoreItem(quantity));
+            updateCatalog(material);
         }
+
+        markDirty();
     }
 
     /**
@@ -244,9 +377,12 @@ public class Store extends AbstractStore {
     public void addItem(Material material, int quantity, int maxQuantity, double buyValue, double sellValue) {
         addItem(material, quantity);
 
-        items.get(material).put("max_quantity", maxQuantity);
-        items.get(material).put("buy", buyValue);
-        items.get(material).put("sell", sellValue);
+        StoreItem item = items.get(material);
+
+        item.setMaxQuantity(maxQuantity);
+        item.setBuyPrice(buyValue);
+        item.setSellPrice(sellValue);
+        updateCatalog(material);
     }
 
     /**
@@ -264,7 +400,10 @@ public class Store extends AbstractStore {
      * @param material the material to be removed from the store
      */
     public void removeItem(Material material) {
-        items.remove(material);
+        if (items.remove(material) != null) {
+            updateCatalog(material);
+            markDirty();
+        }
     }
 
     /**
@@ -274,19 +413,149 @@ public class Store extends AbstractStore {
      * @param quantity the quantity of the provided material to be removed from the store
      */
     public void removeItem(Material material, int quantity) {
-        Map<String, Number> attributes = items.get(material);
-        int newQuantity = attributes.get("quantity").intValue() - quantity;
+        StoreItem item = items.get(material);
+
+        item.setQuantity(item.getQuantity() - quantity);
+        markDirty();
+    }
+
+    /**
+     * Sets the buy price of a material in the store
+     *
+     * @param material the material to have its buy price set
+     * @param buyPrice the price customers pay to buy the provided material
+     */
+    public void setBuyPrice(Material material, double buyPrice) {
+        items.get(material).setBuyPrice(buyPrice);
+        updateCatalog(material);
+        markDirty();
+    }
+
+    /**
+     * Sets the sell price of a material in the store
+     *
+     * @param material the material to have its sell price set
+     * @param sellPrice the price customers are paid to sell the provided material
+     */
+    public void setSellPrice(Material material, double sellPrice) {
+        items.get(material).setSellPrice(sellPrice);
+        updateCatalog(material);
+        markDirty();
+    }
+
+    /**
+     * Sets the max quantity of a material in the store
+     *
+     * @param material the material to have its max quantity set
+     * @param maxQuantity the max quantity of the provided material
+     */
+    public void setMaxQuantity(Material material, int maxQuantity) {
+        items.get(material).setMaxQuantity(maxQuantity);
+        markDirty();
+    }
+
+    /**
+     * Sets the quantity of a material in the store
+     *
+     * @param material the material to have its quantity set
+     * @param quantity the quantity of the provided material
+     */
+    public void setQuantity(Material material, int quantity) {
+        items.get(material).setQuantity(quantity);
+        markDirty();
+    }
+
+    /**
+     * Sets the sequence number of the last journal entry applied to the store
+     *
+     * @param journalSequence the last journal sequence number
+     */
+    public void setJournalSequence(long journalSequence) {
+        this.journalSequence = journalSequence;
+    }
 
-        attributes.put("quantity", newQuantity);
-        items.put(material, attributes);
+    /**
+     * Sets the bounds of the store based on the Cuboid inputted, this replaces all the store's locations
+     *
+     * @param cuboid the store bounds defined by a cuboid or null to remove all the store's locations
+     */
+    public void setCuboidLocation(@Nullable Cuboid cuboid) {
+        cuboidLocations.clear();
+
+        if (cuboid != null)
+            cuboidLocations.add(cuboid);
+
+        STORES.updateLocation(this);
+        markDirty();
+    }
+
+    /**
+     * Sets every location of the store, this replaces all the store's locations
+     *
+     * @param cuboids the bounds of each location of the store
+     */
+    public void setCuboidLocations(Collection<Cuboid> cuboids) {
+        cuboidLocations.clear();
+        cuboidLocations.addAll(cuboids);
+        STORES.updateLocation(this);
+        markDirty();
+    }
+
+    /**
+     * Adds another location to the store, the store's existing locations are kept
+     *
+     * @param cuboid the bounds of the location to be added
+     */
+    public void addCuboidLocation(Cuboid cuboid) {
+        cuboidLocations.add(cuboid);
+        STORES.updateLocation(this);
+        markDirty();
     }
 
     /**
-     * Sets the bounds of the store based on the Cuboid inputted
+     * Removes a location from the store
      *
-     * @param cuboid the store bounds defined by a cuboid
+     * @param cuboid the bounds of the location to be removed
+     * @return whether the store had the provided location
      */
-    public void setCuboidLocation(Cuboid cuboid) {
-        this.cuboidLocation = cuboid;
+    public boolean removeCuboidLocation(Cuboid cuboid) {
+        if (!cuboidLocations.remove(cuboid))
+            return false;
+
+        STORES.updateLocation(this);
+        markDirty();
+        return true;
+    }
+
+    /**
+     * Sets the name of the store to the input name
+     *
+     * @param name the name to be set for the store
+     */
+    @Override
+    public void setName(String name) {
+        String previousName = getName();
+
+        super.setName(name);
+        STORES.updateName(this, previousName);
+        catalogVersion.incrementAndGet();
+    }
+
+    /**
+     * Sets the stores owner UUID to the input unique id
+     *
+     * @param uuid the unique id of the new store owner
+     */
+    @Override
+    public void setOwner(UUID uuid) {
+        UUID previousOwner = getOwner();
+
+        super.setOwner(uuid);
+        STORES.updateOwner(this, previousOwner);
+    }
+
+    private void updateCatalog(Material material) {
+        catalogVersion.incrementAndGet();
+        STORES.updateItem(this, material);
     }
 }
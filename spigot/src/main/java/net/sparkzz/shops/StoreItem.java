@@ -0,0 +1,130 @@
+package net.sparkzz.shops;
+
+/**
+ * The StoreItem class holds the stock and pricing of a single material within a store, a negative quantity represents
+ * infinite stock, a negative max quantity represents no limit and a negative price means the item isn't bought or sold
+ *
+ * @author Brendon Butler
+ */
+public class StoreItem {
+
+    private int quantity;
+    private int maxQuantity;
+    private double buyPrice;
+    private double sellPrice;
+
+    /**
+     * Creates a store item with the provided quantity that has no quantity limit and isn't bought or sold
+     *
+     * @param quantity the quantity of the item
+     */
+    public StoreItem(int quantity) {
+        this(quantity, -1, -1D, -1D);
+    }
+
+    /**
+     * Creates a store item with the provided quantity, max quantity and prices
+     *
+     * @param quantity the quantity of the item
+     * @param maxQuantity the max quantity of the item
+     * @param buyPrice the price customers pay to buy the item
+     * @param sellPrice the price customers are paid to sell the item
+     */
+    public StoreItem(int quantity, int maxQuantity, double buyPrice, double sellPrice) {
+        this.quantity = quantity;
+        this.maxQuantity = maxQuantity;
+        this.buyPrice = buyPrice;
+        this.sellPrice = sellPrice;
+    }
+
+    /**
+     * Gets the quantity of the item
+     *
+     * @return the quantity of the item
+     */
+    public int getQuantity() {
+        return quantity;
+    }
+
+    /**
+     * Gets the max quantity of the item
+     *
+     * @return the max quantity of the item
+     */
+    public int getMaxQuantity() {
+        return maxQuantity;
+    }
+
+    /**
+     * Gets the price customers pay to buy the item
+     *
+     * @return the buy price of the item
+     */
+    public double getBuyPrice() {
+        return buyPrice;
+    }
+
+    /**
+     * Gets the price customers are paid to sell the item
+     *
+     * @return the sell price of the item
+     */
+    public double getSellPrice() {
+        return sellPrice;
+    }
+
+    /**
+     * Checks whether the store has an infinite stock of the item
+     *
+     * @return whether the quantity is infinite
+     */
+    public boolean hasInfiniteQuantity() {
+        return quantity < 0;
+    }
+
+    /**
+     * Sets the quantity of the item
+     *
+     * @param quantity the quantity to be set
+     */
+    public void setQuantity(int quantity) {
+        this.quantity = quantity;
+    }
+
+    /**
+     * Sets the max quantity of the item
+     *
+     * @param maxQuantity the max quantity to be set
+     */
+    public void setMaxQuantity(int maxQuantity) {
+        this.maxQuantity = maxQuantity;
+    }
+
+    /**
+     * Sets the price customers pay to buy the item
+     *
+     * @param buyPrice the buy price to be set
+     */
+    public void setBuyPrice(double buyPrice) {
+        this.buyPrice = buyPrice;
+    }
+
+    /**
+     * Sets the price customers are paid to sell the item
+     *
+     * @param sellPrice the sell price to be set
+     */
+    public void setSellPrice(double sellPrice) {
+        this.sellPrice = sellPrice;
+    }
+
+    /**
+     * Generates the string of the item's attributes
+     *
+     * @return the attributes of the item as the toString result
+     */
+    @Override
+    public String toString() {
+        return String.format("{quantity=%d, max_quantity=%d, buy=%s, sell=%s}", quantity, maxQuantity, buyPrice, sellPrice);
+    }
+}
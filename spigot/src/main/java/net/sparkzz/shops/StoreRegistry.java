@@ -0,0 +1,373 @@
+package net.sparkzz.shops;
+
+import net.sparkzz.shops.util.Cuboid;
+import net.sparkzz.shops.util.PriceIndex;
+import net.sparkzz.shops.util.SpatialIndex;
+import net.sparkzz.shops.util.StoreLocks;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * Registry of all created stores, indexed by unique id, name (case-insensitive), owner, location and item prices so that
+ * lookups don't have to scan every store. Stores are iterated in the order they were registered, all changes to a
+ * registered store's name, owner, location or items must be passed through the registry to keep the indexes in sync.
+ * The registry can be used from any thread, lookups return copies (or, for location lookups, lists that are replaced
+ * rather than changed) and iterating the registry iterates a copy of it, so the results aren't changed by stores being
+ * registered or changed on another thread
+ *
+ * @author Brendon Butler
+ */
+public class StoreRegistry extends AbstractCollection<Store> {
+
+    private final Map<UUID, Store> stores = new LinkedHashMap<>();
+    private final Map<String, List<Store>> storesByName = new HashMap<>();
+    private final Map<UUID, List<Store>> storesByOwner = new HashMap<>();
+    private final SpatialIndex<Store> locations = new SpatialIndex<>();
+    private final PriceIndex<Store> prices = new PriceIndex<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Registers a store, a store can't be registered if another store with the same unique id already is
+     *
+     * @param store the store to be registered
+     * @return whether the store was registered
+     */
+    @Override
+    public boolean add(Store store) {
+        // the store's lock keeps its items from changing while they're indexed, it's taken before the registry's lock
+        // as a store that is changed while holding its lock updates the registry
+        return StoreLocks.call(store, () -> write(() -> {
+            if (stores.containsKey(store.getUUID()))
+                return false;
+
+            stores.put(store.getUUID(), store);
+            storesByName.computeIfAbsent(nameKey(store.getName()), k -> new ArrayList<>(1)).add(store);
+            storesByOwner.computeIfAbsent(store.getOwner(), k -> new ArrayList<>(1)).add(store);
+            locations.putAll(store, store.getCuboidLocations());
+
+            for (Map.Entry<Material, StoreItem> entry : store.getItems().entrySet())
+                prices.update(store, entry.getKey(), entry.getValue().getBuyPrice(), entry.getValue().getSellPrice());
+
+            return true;
+        }));
+    }
+
+    /**
+     * Unregisters a store
+     *
+     * @param object the store to be unregistered
+     * @return whether the store was registered
+     */
+    @Override
+    public boolean remove(Object object) {
+        return write(() -> {
+            if (!isRegistered(object))
+                return false;
+
+            Store store = (Store) object;
+
+            stores.remove(store.getUUID());
+            unindex(store, store.getName(), store.getOwner());
+
+            return true;
+        });
+    }
+
+    /**
+     * Checks whether the provided store is registered
+     *
+     * @param object the store to be checked
+     * @return whether the store is registered
+     */
+    @Override
+    public boolean contains(Object object) {
+        return read(() -> isRegistered(object));
+    }
+
+    /**
+     * Unregisters all stores
+     */
+    @Override
+    public void clear() {
+        write(() -> {
+            stores.clear();
+            storesByName.clear();
+            storesByOwner.clear();
+            locations.clear();
+            prices.clear();
+        });
+    }
+
+    /**
+     * Iterates a copy of the registered stores, removing a store through the iterator unregisters it
+     *
+     * @return an iterator over the stores registered when it was created
+     */
+    @Override
+    public @NotNull Iterator<Store> iterator() {
+        Iterator<Store> iterator = read(() -> new ArrayList<>(stores.values())).iterator();
+
+        return new Iterator<>() {
+
+            private Store current;
+
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public Store next() {
+                return current = iterator.next();
+            }
+
+            @Override
+            public void remove() {
+                if (current == null)
+                    throw new IllegalStateException();
+
+                StoreRegistry.this.remove(current);
+                current = null;
+            }
+        };
+    }
+
+    @Override
+    public int size() {
+        return read(stores::size);
+    }
+
+    /**
+     * Gets the store with the provided unique id
+     *
+     * @param uuid the unique id of the store
+     * @return the store with the provided unique id or null if none is registered
+     */
+    public @Nullable Store getStore(@Nullable UUID uuid) {
+        return (uuid == null) ? null : read(() -> stores.get(uuid));
+    }
+
+    /**
+     * Gets the stores with the provided name, ignoring case
+     *
+     * @param name the name of the stores
+     * @return the stores with the provided name (this list can't be modified)
+     */
+    public List<Store> getStoresByName(String name) {
+        return read(() -> List.copyOf(storesByName.getOrDefault(nameKey(name), Collections.emptyList())));
+    }
+
+    /**
+     * Gets the stores owned by the provided player
+     *
+     * @param owner the unique id of the owner
+     * @return the stores owned by the provided player (this list can't be modified)
+     */
+    public List<Store> getStoresByOwner(UUID owner) {
+        return read(() -> List.copyOf(storesByOwner.getOrDefault(owner, Collections.emptyList())));
+    }
+
+    /**
+     * Counts the stores owned by the provided player
+     *
+     * @param owner the unique id of the owner
+     * @return the number of stores owned by the provided player
+     */
+    public int countStoresByOwner(UUID owner) {
+        return read(() -> storesByOwner.getOrDefault(owner, Collections.emptyList()).size());
+    }
+
+    /**
+     * Gets the stores whose locations overlap the chunk containing the provided coordinates, these candidates still
+     * need to be checked against their exact bounds
+     *
+     * @param world the world the coordinates are located within
+     * @param x the 'x' coordinate
+     * @param z the 'z' coordinate
+     * @return the candidate stores for the chunk (this list can't be modified)
+     */
+    public List<Store> getStoresNear(@Nullable World world, double x, double z) {
+        return read(() -> locations.getCandidates(world, x, z));
+    }
+
+    /**
+     * Gets the store locations that overlap the chunk containing the provided coordinates, a store appears once for each
+     * of its locations in the chunk and each location still needs to be checked against its exact bounds
+     *
+     * @param world the world the coordinates are located within
+     * @param x the 'x' coordinate
+     * @param z the 'z' coordinate
+     * @return the candidate store locations for the chunk (this list can't be modified)
+     */
+    public List<SpatialIndex.Placement<Store>> getLocationsNear(@Nullable World world, double x, double z) {
+        return read(() -> locations.getPlacements(world, x, z));
+    }
+
+    /**
+     * Gets the stores with a location that overlaps the provided cuboid
+     *
+     * @param cuboid the cuboid to be checked
+     * @return the stores overlapping the provided cuboid
+     */
+    public List<Store> getStoresOverlapping(Cuboid cuboid) {
+        return read(() -> locations.getOverlapping(cuboid));
+    }
+
+    /**
+     * Gets the stores selling the provided material, ordered by the price customers pay with the cheapest first
+     *
+     * @param material the material to be bought
+     * @return the listings of the stores selling the material (this list can't be modified)
+     */
+    public List<PriceIndex.Listing<Store>> getStoresSelling(Material material) {
+        return read(() -> List.copyOf(prices.getSelling(material)));
+    }
+
+    /**
+     * Gets the stores buying the provided material, ordered by the price customers are paid with the highest first
+     *
+     * @param material the material to be sold
+     * @return the listings of the stores buying the material (this list can't be modified)
+     */
+    public List<PriceIndex.Listing<Store>> getStoresBuying(Material material) {
+        return read(() -> List.copyOf(prices.getBuying(material)));
+    }
+
+    /**
+     * Gets the version of the location index, this changes whenever a store is added, moved or removed
+     *
+     * @return the current version of the location index
+     */
+    public int getLocationVersion() {
+        return read(locations::getVersion);
+    }
+
+    /**
+     * Updates the name index after a registered store has been renamed
+     *
+     * @param store the store that was renamed
+     * @param previousName the name of the store before it was renamed
+     */
+    void updateName(Store store, String previousName) {
+        write(() -> {
+            if (isRegistered(store)) {
+                removeFrom(storesByName, nameKey(previousName), store);
+                storesByName.computeIfAbsent(nameKey(store.getName()), k -> new ArrayList<>(1)).add(store);
+            }
+        });
+    }
+
+    /**
+     * Updates the owner index after a registered store has been transferred
+     *
+     * @param store the store that was transferred
+     * @param previousOwner the owner of the store before it was transferred
+     */
+    void updateOwner(Store store, UUID previousOwner) {
+        write(() -> {
+            if (isRegistered(store)) {
+                removeFrom(storesByOwner, previousOwner, store);
+                storesByOwner.computeIfAbsent(store.getOwner(), k -> new ArrayList<>(1)).add(store);
+            }
+        });
+    }
+
+    /**
+     * Updates the location index after a registered store has been moved
+     *
+     * @param store the store that was moved
+     */
+    void updateLocation(Store store) {
+        write(() -> {
+            if (isRegistered(store))
+                locations.putAll(store, store.getCuboidLocations());
+        });
+    }
+
+    /**
+     * Updates the price index after an item of a registered store has been added, removed or re-priced
+     *
+     * @param store the store that was updated
+     * @param material the material that was updated
+     */
+    void updateItem(Store store, Material material) {
+        write(() -> {
+            if (isRegistered(store)) {
+                StoreItem item = store.getItem(material);
+
+                if (item == null)
+                    prices.remove(store, material);
+                else prices.update(store, material, item.getBuyPrice(), item.getSellPrice());
+            }
+        });
+    }
+
+    private boolean isRegistered(Object object) {
+        return object instanceof Store store && stores.get(store.getUUID()) == store;
+    }
+
+    private <T> T read(Supplier<T> lookup) {
+        lock.readLock().lock();
+        try {
+            return lookup.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private <T> T write(Supplier<T> change) {
+        lock.writeLock().lock();
+        try {
+            return change.get();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void write(Runnable change) {
+        lock.writeLock().lock();
+        try {
+            change.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void unindex(Store store, String name, UUID owner) {
+        removeFrom(storesByName, nameKey(name), store);
+        removeFrom(storesByOwner, owner, store);
+        locations.remove(store);
+        prices.removeAll(store);
+    }
+
+    private static <K> void removeFrom(Map<K, List<Store>> index, K key, Store store) {
+        List<Store> indexed = index.get(key);
+
+        if (indexed == null)
+            return;
+
+        indexed.remove(store);
+
+        if (indexed.isEmpty()) index.remove(key);
+    }
+
+    private static String nameKey(@Nullable String name) {
+        return (name == null) ? null : name.toLowerCase(Locale.ROOT);
+    }
+}
@@ -1,6 +1,5 @@
 package net.sparkzz.shops.command;
 
-import net.sparkzz.shops.util.Notifiable;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandSender;
 import org.bukkit.command.TabExecutor;
@@ -15,7 +14,7 @@ import java.util.Optional;
  *
  * @author Brendon Butler
  */
-public abstract class CommandManager extends Notifiable implements TabExecutor {
+public abstract class CommandManager implements TabExecutor {
 
     /**
      * Registers commands to the server for the plugin
@@ -33,6 +32,9 @@ public abstract class CommandManager extends Notifiable implements TabExecutor {
         // Set tab completer(s)
         Optional.ofNullable(plugin.getCommand("shop"))
                 .ifPresent(cmd -> cmd.setTabCompleter(new ShopCommand()));
+
+        Optional.ofNullable(plugin.getCommand("shops"))
+                .ifPresent(cmd -> cmd.setTabCompleter(new InfoCommand()));
     }
 
     /**
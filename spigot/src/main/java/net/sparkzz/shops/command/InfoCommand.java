@@ -1,7 +1,9 @@
 package net.sparkzz.shops.command;
 
 import net.sparkzz.shops.Shops;
+import net.sparkzz.shops.util.CommandContext;
 import net.sparkzz.shops.util.Notifier;
+import net.sparkzz.shops.util.Warehouse;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandSender;
 import org.jetbrains.annotations.NotNull;
@@ -32,10 +34,37 @@ public class InfoCommand extends CommandManager {
             return true;
         }
 
+        if (args.length > 0 && args[0].equalsIgnoreCase("convert"))
+            return convert(sender, args);
+
         sender.sendMessage(String.format("§l§3Shops v%s", Shops.getDesc().getVersion()));
         return true;
     }
 
+    private boolean convert(CommandSender sender, String[] args) {
+        CommandContext context = new CommandContext(sender, args);
+
+        if (!sender.hasPermission("shops.cmd.convert")) {
+            Notifier.process(context, Notifier.CipherKey.NO_PERMS_CMD);
+            return true;
+        }
+
+        if (args.length != 2) {
+            Notifier.process(context, Notifier.CipherKey.INVALID_ARG_CNT);
+            return false;
+        }
+
+        String format = context.set("format", args[1].toLowerCase());
+
+        if (!Warehouse.getStoreFormats().contains(format)) {
+            Notifier.process(context, Notifier.CipherKey.INVALID_STORE_FORMAT);
+            return true;
+        }
+
+        Notifier.process(context, Warehouse.convertStores(format) ? Notifier.CipherKey.STORE_CONVERT_SUCCESS : Notifier.CipherKey.STORE_CONVERT_FAIL);
+        return true;
+    }
+
     /**
      * TabCompleter for generating suggestions when a player starts typing the /shops command
      *
@@ -43,10 +72,17 @@ public class InfoCommand extends CommandManager {
      * @param command the command to be processed
      * @param label the command label
      * @param args the arguments following the command
-     * @return null as there are no options for this command
+     * @return the convert option and store formats for players with permission to convert the stores
      */
     @Override
     public List<String> onTabComplete(@NotNull CommandSender sender, @NotNull Command command, @NotNull String label, String[] args) {
-        return Collections.emptyList();
+        if (!sender.hasPermission("shops.cmd.convert"))
+            return Collections.emptyList();
+
+        return switch (args.length) {
+            case 1 -> Collections.singletonList("convert");
+            case 2 -> (args[0].equalsIgnoreCase("convert") ? Warehouse.getStoreFormats() : Collections.emptyList());
+            default -> Collections.emptyList();
+        };
     }
 }
\ No newline at end of file
@@ -3,6 +3,7 @@ package net.sparkzz.shops.command;
 import net.sparkzz.shops.Shops;
 import net.sparkzz.shops.Store;
 import net.sparkzz.shops.command.sub.*;
+import net.sparkzz.shops.util.CommandContext;
 import net.sparkzz.shops.util.InventoryManagementSystem;
 import net.sparkzz.shops.util.Notifier;
 import org.bukkit.Bukkit;
@@ -42,11 +43,13 @@ public class ShopCommand extends CommandManager {
 
     private final Map<String, SubCommand> subCommands = new HashMap<>() {{
         put("add", new AddCommand());
+        put("audit", new AuditCommand());
         put("browse", new BrowseCommand());
         put("buy", new BuyCommand());
         put("create", new CreateCommand());
         put("delete", new DeleteCommand());
         put("deposit", new DepositCommand());
+        put("find", new FindCommand());
         put("sell", new SellCommand());
         put("transfer", new TransferCommand());
         put("remove", new RemoveCommand());
@@ -69,17 +72,18 @@ public class ShopCommand extends CommandManager {
                         .map(item -> item.getType().toString().toLowerCase())
                         .toList();
             }
+            case "audit" -> (sender.hasPermission("shops.cmd.audit") ? Collections.singletonList("overlaps") : new ArrayList<String>());
             case "browse" -> (sender.hasPermission("shops.cmd.browse") ? Collections.singletonList("<page-number>") : new ArrayList<String>());
             case "buy", "remove" -> shopItems.stream()
                     .filter(s -> (sender.hasPermission("shops.cmd." + arg0)))
                     .map(m -> m.toString().toLowerCase()).collect(Collectors.toList());
             case "create" -> (sender.hasPermission("shops.cmd.create") ? Collections.singletonList("<name>") : new ArrayList<String>());
-            case "delete", "transfer" -> Store.STORES.stream()
-                    .filter(s -> (sender.hasPermission("shops.cmd." + arg0)) &&
-                                 s.getOwner().equals(((Player) sender).getUniqueId()))
-                    .map(s -> String.format("%s~%s", s.getName(), s.getUUID()))
-                    .toList();
+            case "delete", "transfer" -> (sender.hasPermission("shops.cmd." + arg0) ?
+                    Store.STORES.getStoresByOwner(((Player) sender).getUniqueId()).stream()
+                            .map(s -> String.format("%s~%s", s.getName(), s.getUUID()))
+                            .toList() : new ArrayList<String>());
             case "deposit" -> (sender.hasPermission("shops.cmd.deposit") ? Collections.singletonList("<amount>") : new ArrayList<String>());
+            case "find" -> (sender.hasPermission("shops.cmd.find") ? Collections.singletonList("<material>") : new ArrayList<String>());
             case "withdraw" -> (sender.hasPermission("shops.cmd.withdraw") ? List.of("<amount>", "all") : new ArrayList<String>());
             case "update" -> {
                 if (!sender.hasPermission("shops.cmd.update"))
@@ -91,7 +95,7 @@ public class ShopCommand extends CommandManager {
                         .collect(Collectors.toCollection(ArrayList::new));
                 if (sender.hasPermission("shops.update.inf-funds")) tempList.add("infinite-funds");
                 if (sender.hasPermission("shops.update.inf-stock")) tempList.add("infinite-stock");
-                if (sender.hasPermission("shops.update.location")) tempList.add("location");
+                if (sender.hasPermission("shops.update.location")) tempList.addAll(List.of("location", "add-location"));
                 tempList.add("store-name");
 
                 yield tempList;
@@ -113,7 +117,9 @@ public class ShopCommand extends CommandManager {
     private List<String> handleThirdArgs(CommandSender sender, String[] args) {
         return switch (args[0]) {
             case "add" -> (sender.hasPermission("shops.cmd.add") ? List.of("<customer-buy-price>", "[<quantity>]", "all") : new ArrayList<String>());
+            case "audit" -> (sender.hasPermission("shops.cmd.audit") ? Collections.singletonList("[<page-number>]") : new ArrayList<String>());
             case "buy" -> (sender.hasPermission("shops.cmd.buy") ? Collections.singletonList("[<quantity>]") : new ArrayList<String>());
+            case "find" -> (sender.hasPermission("shops.cmd.find") ? List.of("buy", "sell", "[<page-number>]") : new ArrayList<String>());
             case "create" -> {
                 List<String> options = server.getOnlinePlayers().stream().map(HumanEntity::getName).collect(Collectors.toList());
                 options.add("<x1>");
@@ -133,9 +139,8 @@ public class ShopCommand extends CommandManager {
                     options = List.of("true", "false");
                 } else if (args[1].equals("store-name")) {
                     options = Collections.singletonList("<name>");
-                } else if (args[1].equals("location")) {
-                    yield Stream.concat(Store.STORES.stream()
-                                    .filter(s -> s.getOwner().equals(((Player) sender).getUniqueId()))
+                } else if (args[1].equals("location") || args[1].equals("add-location")) {
+                    yield Stream.concat(Store.STORES.getStoresByOwner(((Player) sender).getUniqueId()).stream()
                                     .map(s -> String.format("%s~%s", s.getName(), s.getUUID())),
                             Bukkit.getWorlds().stream().map(WorldInfo::getName)
                     ).toList();
@@ -152,6 +157,7 @@ public class ShopCommand extends CommandManager {
     private List<String> handleFourthArgs(CommandSender sender, String[] args) {
         return switch (args[0]) {
             case "add" -> (sender.hasPermission("shops.cmd.add") ? Collections.singletonList("<customer-sell-price>") : new ArrayList<String>());
+            case "find" -> (sender.hasPermission("shops.cmd.find") ? Collections.singletonList("[<page-number>]") : new ArrayList<String>());
             case "create" -> {
                 if (!sender.hasPermission("shops.cmd.create"))
                     yield Collections.emptyList();
@@ -159,7 +165,7 @@ public class ShopCommand extends CommandManager {
                 yield (server.getPlayer(args[2]) != null) ? Collections.singletonList("<x1>") : Collections.singletonList("<y1>");
             }
             case "update" -> {
-                if (args[1].equals("location")) {
+                if (args[1].equals("location") || args[1].equals("add-location")) {
                     if (!sender.hasPermission("shops.cmd.update") || !sender.hasPermission("shops.update.location"))
                         yield Collections.emptyList();
 
@@ -381,12 +387,10 @@ public class ShopCommand extends CommandManager {
      */
     @Override
     public boolean onCommand(@NotNull CommandSender sender, @NotNull Command command, @NotNull String label, String[] args) {
-        resetAttributes();
-        setAttribute("sender", sender);
-        setArgsAsAttributes(args);
+        CommandContext context = new CommandContext(sender, args);
 
         if (!(sender instanceof Player)) {
-            Notifier.process(sender, ONLY_PLAYERS_CMD, getAttributes());
+            Notifier.process(context, ONLY_PLAYERS_CMD);
             return true;
         }
 
@@ -396,7 +400,7 @@ public class ShopCommand extends CommandManager {
             String subCommand = args[0].toLowerCase();
 
             if (!sender.hasPermission(String.format("shops.cmd.%s", subCommand))) {
-                Notifier.process(sender, NO_PERMS_CMD, getAttributes());
+                Notifier.process(context, NO_PERMS_CMD);
                 return true;
             }
 
@@ -405,7 +409,7 @@ public class ShopCommand extends CommandManager {
         } catch (NumberFormatException exception) {
             sender.sendMessage(String.format("%sInvalid numerical value (%s)!", RED, exception.getMessage().subSequence(exception.getMessage().indexOf("\"") + 1, exception.getMessage().length() - 1)));
         } catch (IllegalArgumentException exception) {
-            Notifier.process(sender, INVALID_ARG_CNT, getAttributes());
+            Notifier.process(context, INVALID_ARG_CNT);
         }
 
         // send the CommandSender a usage message based on the subcommand instead of the default
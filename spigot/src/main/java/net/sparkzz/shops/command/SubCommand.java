@@ -2,12 +2,9 @@ package net.sparkzz.shops.command;
 
 import net.sparkzz.shops.Core;
 import net.sparkzz.shops.Store;
-import net.sparkzz.shops.util.Notifiable;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandSender;
 
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Optional;
 
 /**
@@ -15,12 +12,7 @@ import java.util.Optional;
  *
  * @author Brendon Butler
  */
-public abstract class SubCommand extends Notifiable {
-
-    /**
-     * Holds any stores that are identified based on the identifyStore method
-     */
-    protected List<Store> stores = new ArrayList<>();
+public abstract class SubCommand {
 
     /**
      * The process method is where the subcommands are built
@@ -2,14 +2,19 @@ package net.sparkzz.shops.command.sub;
 
 import net.sparkzz.shops.Store;
 import net.sparkzz.shops.command.SubCommand;
+import net.sparkzz.shops.util.CommandContext;
 import net.sparkzz.shops.util.InventoryManagementSystem;
+import net.sparkzz.shops.util.Journal;
 import net.sparkzz.shops.util.Notifier;
+import net.sparkzz.shops.util.StoreLocks;
 import org.bukkit.Material;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
 
+import java.math.BigDecimal;
+
 import static net.sparkzz.shops.util.AbstractNotifier.CipherKey.*;
 
 /**
@@ -22,66 +27,75 @@ public class AddCommand extends SubCommand {
     @Override
     public boolean process(CommandSender sender, Command command, String label, String[] args)
             throws NumberFormatException {
-        resetAttributes();
-        setArgsAsAttributes(args);
-        Material material = setAttribute("material", Material.matchMaterial(args[1]));
-        Player player = (Player) setAttribute("sender", sender);
-        Store store = setAttribute("store", InventoryManagementSystem.locateCurrentStore(player).orElse(null));
-        int quantity = setAttribute("quantity", 0);
+        CommandContext context = new CommandContext(sender, args);
+        Material material = context.setMaterial(Material.matchMaterial(args[1]));
+        Player player = (Player) sender;
+        Store store = context.setStore(InventoryManagementSystem.locateCurrentStore(player).orElse(null));
+        int quantity = context.setQuantity(0);
         String message = "";
 
         if (store == null) {
-            Notifier.process(player, NO_STORE_FOUND, getAttributes());
+            Notifier.process(context, NO_STORE_FOUND);
             return true;
         }
 
         if (material != null) {
             if (args.length == 3) {
-                quantity = setAttribute("quantity", args[2].equalsIgnoreCase("all") ? InventoryManagementSystem.countQuantity((Player) sender, material) : Integer.parseInt(args[2]));
+                quantity = context.setQuantity(args[2].equalsIgnoreCase("all") ? InventoryManagementSystem.countQuantity((Player) sender, material) : Integer.parseInt(args[2]));
 
                 if (!store.containsMaterial(material)) {
-                    Notifier.process(sender, MATERIAL_MISSING_STORE, getAttributes());
+                    Notifier.process(context, MATERIAL_MISSING_STORE);
                     return true;
                 }
 
                 if (quantity < 0 && !player.hasPermission("shops.update.inf-stock")) {
-                    Notifier.process(sender, NO_PERMS_INF_STOCK, getAttributes());
+                    Notifier.process(context, NO_PERMS_INF_STOCK);
                     return true;
                 }
 
                 if (!InventoryManagementSystem.canRemove(player, material, quantity)) {
-                    Notifier.process(sender, INSUFFICIENT_STOCK_PLAYER, getAttributes());
+                    Notifier.process(context, INSUFFICIENT_STOCK_PLAYER);
                     return true;
                 }
 
-                store.addItem(material, quantity);
-                message = Notifier.compose((quantity > 0 ? ADD_SUCCESS_QUANTITY : ADD_SUCCESS), getAttributes());
+                int added = quantity;
+
+                StoreLocks.run(store, () -> {
+                    store.addItem(material, added);
+                    Journal.record(store, material, added, BigDecimal.ZERO);
+                });
+                message = Notifier.render((quantity > 0 ? ADD_SUCCESS_QUANTITY : ADD_SUCCESS), context);
             }
 
             if (args.length == 6) {
-                quantity = setAttribute("quantity", args[5].equalsIgnoreCase("all") ? InventoryManagementSystem.countQuantity((Player) sender, material) : Integer.parseInt(args[5]));
+                quantity = context.setQuantity(args[5].equalsIgnoreCase("all") ? InventoryManagementSystem.countQuantity((Player) sender, material) : Integer.parseInt(args[5]));
 
-                double buyPrice = setAttribute("buy-price", Double.parseDouble(args[2]));
-                double sellPrice = setAttribute("sell-price", Double.parseDouble(args[3]));
-                int maxQuantity = setAttribute("max-quantity", Integer.parseInt(args[4]));
+                double buyPrice = context.set("buy-price", Double.parseDouble(args[2]));
+                double sellPrice = context.set("sell-price", Double.parseDouble(args[3]));
+                int maxQuantity = context.set("max-quantity", Integer.parseInt(args[4]));
 
                 if (store.containsMaterial(material)) {
-                    Notifier.process(sender, MATERIAL_EXISTS_STORE, getAttributes());
+                    Notifier.process(context, MATERIAL_EXISTS_STORE);
                     return true;
                 }
 
                 if (quantity < 0 && !player.hasPermission("shops.update.inf-stock")) {
-                    Notifier.process(sender, NO_PERMS_INF_STOCK, getAttributes());
+                    Notifier.process(context, NO_PERMS_INF_STOCK);
                     return true;
                 }
 
                 if (!InventoryManagementSystem.canRemove(player, material, quantity)) {
-                    Notifier.process(sender, INSUFFICIENT_STOCK_PLAYER, getAttributes());
+                    Notifier.process(context, INSUFFICIENT_STOCK_PLAYER);
                     return true;
                 }
 
-                store.addItem(material, quantity, maxQuantity, buyPrice, sellPrice);
-                message = Notifier.compose((quantity > 0 ? ADDED_MATERIAL_TO_STORE_QUANTITY : ADDED_MATERIAL_TO_STORE), getAttributes());
+                int added = quantity;
+
+                StoreLocks.run(store, () -> {
+                    store.addItem(material, added, maxQuantity, buyPrice, sellPrice);
+                    Journal.recordItemAdded(store, material, added, maxQuantity, buyPrice, sellPrice);
+                });
+                message = Notifier.render((quantity > 0 ? ADDED_MATERIAL_TO_STORE_QUANTITY : ADDED_MATERIAL_TO_STORE), context);
             }
 
             if (quantity <= 0 && message.isBlank()) throw new IllegalArgumentException();
@@ -90,8 +104,8 @@ public class AddCommand extends SubCommand {
             return true;
         }
 
-        setAttribute("material", args[1]);
-        Notifier.process(sender, INVALID_MATERIAL, getAttributes());
+        context.set("material", args[1]);
+        Notifier.process(context, INVALID_MATERIAL);
         return false;
     }
 }
\ No newline at end of file
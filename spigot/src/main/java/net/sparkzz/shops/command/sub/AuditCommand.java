@@ -0,0 +1,93 @@
+package net.sparkzz.shops.command.sub;
+
+import net.sparkzz.shops.Shops;
+import net.sparkzz.shops.command.SubCommand;
+import net.sparkzz.shops.util.CommandContext;
+import net.sparkzz.shops.util.Notifier;
+import net.sparkzz.shops.util.OverlapAudit;
+import net.sparkzz.shops.util.TaskScheduler;
+import org.bukkit.command.Command;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static net.sparkzz.shops.util.AbstractNotifier.CipherKey.*;
+
+/**
+ * Audit subcommand used for finding stores that overlap each other or an off-limits area, the audit runs off the main
+ * thread and its results are kept so they can be paged through without running it again
+ *
+ * @author Brendon Butler
+ */
+public class AuditCommand extends SubCommand {
+
+    private static final AtomicBoolean auditing = new AtomicBoolean(false);
+    private static volatile List<OverlapAudit.Overlap> lastOverlaps;
+
+    @Override
+    public boolean process(CommandSender sender, Command command, String label, String[] args)
+            throws NumberFormatException {
+        CommandContext context = new CommandContext(sender, args);
+
+        if (!args[1].equalsIgnoreCase("overlaps"))
+            return Notifier.usageSubCommand(sender, args);
+
+        // the first page starts a new audit, later pages are read from the last audit if there is one
+        int pageNumber = (args.length > 2) ? Integer.parseInt(args[2]) : 1;
+        List<OverlapAudit.Overlap> overlaps = lastOverlaps;
+
+        if (args.length > 2 && overlaps != null) {
+            sendPage(context, overlaps, pageNumber);
+            return true;
+        }
+
+        if (!auditing.compareAndSet(false, true)) {
+            Notifier.process(context, AUDIT_RUNNING);
+            return true;
+        }
+
+        List<OverlapAudit.Area> areas = OverlapAudit.snapshot();
+        JavaPlugin shops = JavaPlugin.getPlugin(Shops.class);
+
+        Notifier.process(context, AUDIT_STARTED);
+        TaskScheduler.runAsync(shops, () -> {
+            try {
+                List<OverlapAudit.Overlap> found = OverlapAudit.audit(areas);
+
+                lastOverlaps = found;
+                auditing.set(false);
+
+                // the results are sent from the thread that owns the player, a player that logged out isn't sent them
+                if (sender instanceof Player player)
+                    TaskScheduler.runAtEntity(shops, player, () -> {
+                        if (player.isOnline())
+                            sendPage(context, found, pageNumber);
+                    });
+                else TaskScheduler.runGlobal(shops, () -> sendPage(context, found, pageNumber));
+            } catch (RuntimeException exception) {
+                auditing.set(false);
+                throw exception;
+            }
+        });
+        return true;
+    }
+
+    private static void sendPage(CommandContext context, List<OverlapAudit.Overlap> overlaps, int pageNumber) {
+        if (overlaps.isEmpty()) {
+            Notifier.process(context, AUDIT_NO_OVERLAPS);
+            return;
+        }
+
+        String page = Notifier.Paginator.buildAuditPage(overlaps, pageNumber);
+
+        if (page == null) {
+            Notifier.process(context, INVALID_PAGE_NUM);
+            return;
+        }
+
+        context.getSender().sendMessage(page);
+    }
+}
@@ -2,6 +2,7 @@ package net.sparkzz.shops.command.sub;
 
 import net.sparkzz.shops.Store;
 import net.sparkzz.shops.command.SubCommand;
+import net.sparkzz.shops.util.CommandContext;
 import net.sparkzz.shops.util.InventoryManagementSystem;
 import net.sparkzz.shops.util.Notifier;
 import org.bukkit.command.Command;
@@ -20,27 +21,26 @@ public class BrowseCommand extends SubCommand {
     @Override
     public boolean process(CommandSender sender, Command command, String label, String[] args)
             throws NumberFormatException {
-        resetAttributes();
-        setArgsAsAttributes(args);
-        Player player = (Player) setAttribute("sender", sender);
-        Store store = (Store) setAttribute("store", InventoryManagementSystem.locateCurrentStore(player).orElse(null));
+        CommandContext context = new CommandContext(sender, args);
+        Player player = (Player) sender;
+        Store store = context.setStore(InventoryManagementSystem.locateCurrentStore(player).orElse(null));
 
         if (store == null) {
-            Notifier.process(player, NO_STORE_FOUND, getAttributes());
+            Notifier.process(context, NO_STORE_FOUND);
             return true;
         }
 
         int pageNumber = (args.length > 1) ? Integer.parseInt(args[1]) : 1;
 
         if (store.getItems().isEmpty()) {
-            Notifier.process(sender, STORE_NO_ITEMS, getAttributes());
+            Notifier.process(context, STORE_NO_ITEMS);
             return true;
         }
 
         String page = Notifier.Paginator.buildBrowsePage(store, pageNumber);
 
         if (page == null) {
-            Notifier.process(sender, INVALID_PAGE_NUM, getAttributes());
+            Notifier.process(context, INVALID_PAGE_NUM);
             return true;
         }
 
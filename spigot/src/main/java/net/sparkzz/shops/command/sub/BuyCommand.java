@@ -1,15 +1,19 @@
 package net.sparkzz.shops.command.sub;
 
+import net.sparkzz.shops.Shops;
 import net.sparkzz.shops.Store;
 import net.sparkzz.shops.command.SubCommand;
+import net.sparkzz.shops.util.CommandContext;
 import net.sparkzz.shops.util.InventoryManagementSystem;
 import net.sparkzz.shops.util.Notifier;
+import net.sparkzz.shops.util.TaskScheduler;
 import net.sparkzz.shops.util.Transaction;
 import org.bukkit.Material;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
+import org.bukkit.plugin.java.JavaPlugin;
 
 import java.math.BigDecimal;
 
@@ -25,48 +29,54 @@ public class BuyCommand extends SubCommand {
     @Override
     public boolean process(CommandSender sender, Command command, String label, String[] args)
             throws NumberFormatException {
-        resetAttributes();
-        setArgsAsAttributes(args);
-        Material material = (Material) setAttribute("material", Material.matchMaterial(args[1]));
-        Player player = (Player) setAttribute("sender", sender);
-        int quantity = (Integer) setAttribute("quantity", 1);
-        Store store = (Store) setAttribute("store", InventoryManagementSystem.locateCurrentStore(player).orElse(null));
+        CommandContext context = new CommandContext(sender, args);
+        Material material = context.setMaterial(Material.matchMaterial(args[1]));
+        Player player = (Player) sender;
+        int quantity = context.setQuantity(1);
+        Store store = context.setStore(InventoryManagementSystem.locateCurrentStore(player).orElse(null));
 
         if (store == null) {
-            Notifier.process(player, NO_STORE_FOUND, getAttributes());
+            Notifier.process(context, NO_STORE_FOUND);
             return true;
         }
 
         if (args.length == 3)
-            quantity = (Integer) setAttribute("quantity", Integer.parseInt(args[2]));
+            quantity = context.setQuantity(Integer.parseInt(args[2]));
 
         // quantity less than or equal to 0, or greater than 2304 (max inventory capacity) is invalid
         if (quantity <= 0 || quantity > 2304) {
-            Notifier.process(sender, INVALID_QUANTITY, getAttributes());
+            Notifier.process(context, INVALID_QUANTITY);
             return true;
         }
 
         if (material != null) {
-            Transaction transaction = new Transaction((Player) sender, new ItemStack(material, quantity), Transaction.TransactionType.PURCHASE);
-            setAttribute("cost", transaction.getTotalCost());
+            int amount = quantity;
 
-            if (args.length == 2 && transaction.getTotalCost().compareTo(BigDecimal.valueOf(-1)) != 0) {
-                Notifier.process(sender, PRICE, getAttributes());
-                return true;
-            }
+            // the transaction is run by the thread that owns the player, which is this thread unless the command was
+            // dispatched from elsewhere
+            TaskScheduler.runAtEntity(JavaPlugin.getPlugin(Shops.class), player, () -> {
+                Transaction transaction = new Transaction(player, new ItemStack(material, amount), Transaction.TransactionType.PURCHASE);
+                context.setCost(transaction.getTotalCost());
 
-            if (!transaction.validateReady()) {
-                transaction.getMessage().processIndividual(sender);
-                return true;
-            }
+                if (args.length == 2 && transaction.getTotalCost().compareTo(BigDecimal.valueOf(-1)) != 0) {
+                    Notifier.process(context, PRICE);
+                    return;
+                }
 
-            transaction.process();
-            Notifier.process(sender, BUY_SUCCESS, getAttributes());
+                // another player may be using the same store from another region, so the transaction is validated
+                // and processed as one step
+                if (!transaction.commit()) {
+                    transaction.getMessage().processIndividual(sender);
+                    return;
+                }
+
+                Notifier.process(context, BUY_SUCCESS);
+            });
             return true;
         }
 
-        setAttribute("material", args[1]);
-        Notifier.process(sender, INVALID_MATERIAL, getAttributes());
+        context.set("material", args[1]);
+        Notifier.process(context, INVALID_MATERIAL);
         return false;
     }
 }
\ No newline at end of file
@@ -3,6 +3,7 @@ package net.sparkzz.shops.command.sub;
 import net.sparkzz.shops.Shops;
 import net.sparkzz.shops.Store;
 import net.sparkzz.shops.command.SubCommand;
+import net.sparkzz.shops.util.CommandContext;
 import net.sparkzz.shops.util.Config;
 import net.sparkzz.shops.util.Cuboid;
 import net.sparkzz.shops.util.Notifier;
@@ -27,31 +28,25 @@ public class CreateCommand extends SubCommand {
     @Override
     public boolean process(CommandSender sender, Command command, String label, String[] args)
             throws NumberFormatException {
-        resetAttributes();
-        setAttribute("sender", sender);
-        setArgsAsAttributes(args);
+        CommandContext context = new CommandContext(sender, args);
         // TODO: new permission to limit a player to a number of shops (shops.create.<quantity>)
-        int shopsOwned = 0;
+        int shopsOwned = Store.STORES.countStoresByOwner(((Player) sender).getUniqueId());
 
-        for (Store store : Store.STORES)
-            if (store.getOwner().equals(((Player) sender).getUniqueId()))
-                shopsOwned++;
-
-        if (shopsOwned >= (int) setAttribute("max-stores", Config.getMaxOwnedStores())) {
-            Notifier.process(sender, STORE_CREATE_FAIL_MAX_STORES, getAttributes());
+        if (shopsOwned >= (int) context.set("max-stores", Config.getMaxOwnedStores())) {
+            Notifier.process(context, STORE_CREATE_FAIL_MAX_STORES);
             return true;
         }
 
         OfflinePlayer owner = (Player) sender;
-        setAttribute("target", owner);
+        context.set("target", owner);
 
         if (args.length == 3 || args.length == 9) {
             if (!sender.hasPermission("shops.create.other-player")) {
-                Notifier.process(sender, NO_PERMS_CREATE_OTHER, getAttributes());
+                Notifier.process(context, NO_PERMS_CREATE_OTHER);
                 return true;
             }
 
-            setAttribute("target", args[2]);
+            context.set("target", args[2]);
 
             boolean isUUID = args[2].matches("^[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}$");
             Server server = Shops.getServerInstance();
@@ -59,7 +54,7 @@ public class CreateCommand extends SubCommand {
         }
 
         if (owner == null) {
-            Notifier.process(sender, PLAYER_NOT_FOUND, getAttributes());
+            Notifier.process(context, PLAYER_NOT_FOUND);
             return true;
         }
 
@@ -89,69 +84,65 @@ public class CreateCommand extends SubCommand {
         if (DoubleStream.of(x1, y1, z1, x2, y2, z2).allMatch(value -> value == 0D))
             store = new Store(args[1], owner.getUniqueId());
         else {
-            double minX = (double) setAttribute("min-x", Math.min(x1, x2));
-            double maxX = (double) setAttribute("max-x", Math.max(x1, x2));
-            double minY = (double) setAttribute("min-y", Math.min(y1, y2));
-            double maxY = (double) setAttribute("max-y", Math.max(y1, y2));
-            double minZ = (double) setAttribute("min-z", Math.min(z1, z2));
-            double maxZ = (double) setAttribute("max-z", Math.max(z1, z2));
+            double minX = (double) context.set("min-x", Math.min(x1, x2));
+            double maxX = (double) context.set("max-x", Math.max(x1, x2));
+            double minY = (double) context.set("min-y", Math.min(y1, y2));
+            double maxY = (double) context.set("max-y", Math.max(y1, y2));
+            double minZ = (double) context.set("min-z", Math.min(z1, z2));
+            double maxZ = (double) context.set("max-z", Math.max(z1, z2));
             double[] minDims = Config.getMinDimensions();
             double[] maxDims = Config.getMaxDimensions();
-            double limitMinX = (double) setAttribute("limit-min-x", minDims[0]);
-            double limitMinY = (double) setAttribute("limit-min-y", minDims[1]);
-            double limitMinZ = (double) setAttribute("limit-min-z", minDims[2]);
-            double limitMaxX = (double) setAttribute("limit-max-x", maxDims[0]);
-            double limitMaxY = (double) setAttribute("limit-max-y", maxDims[1]);
-            double limitMaxZ = (double) setAttribute("limit-max-z", maxDims[2]);
+            double limitMinX = (double) context.set("limit-min-x", minDims[0]);
+            double limitMinY = (double) context.set("limit-min-y", minDims[1]);
+            double limitMinZ = (double) context.set("limit-min-z", minDims[2]);
+            double limitMaxX = (double) context.set("limit-max-x", maxDims[0]);
+            double limitMaxY = (double) context.set("limit-max-y", maxDims[1]);
+            double limitMaxZ = (double) context.set("limit-max-z", maxDims[2]);
 
             if ((maxX - minX) < limitMinX || (maxY - minY) < limitMinY || (maxZ - minZ) < limitMinZ) {
-                Notifier.process(sender, STORE_CREATE_FAIL_MIN_DIMS, getAttributes());
+                Notifier.process(context, STORE_CREATE_FAIL_MIN_DIMS);
                 return true;
             }
 
             if ((limitMaxX > 0 && (maxX - minX) > limitMaxX) || (limitMaxY > 0 && (maxY - minY) > limitMaxY) || (limitMaxZ > 0 && (maxZ - minZ) > limitMaxZ)) {
-                Notifier.process(sender, STORE_CREATE_FAIL_MAX_DIMS, getAttributes());
+                Notifier.process(context, STORE_CREATE_FAIL_MAX_DIMS);
                 return true;
             }
 
-            double volume = (double) setAttribute("volume", (maxX - minX) * (maxY - minY) * (maxZ - minZ));
-            double minVolume = (double) setAttribute("limit-min-vol", Config.getMinVolume());
-            double maxVolume = (double) setAttribute("limit-max-vol", Config.getMaxVolume());
+            double volume = (double) context.set("volume", (maxX - minX) * (maxY - minY) * (maxZ - minZ));
+            double minVolume = (double) context.set("limit-min-vol", Config.getMinVolume());
+            double maxVolume = (double) context.set("limit-max-vol", Config.getMaxVolume());
 
             if (volume < minVolume) {
-                Notifier.process(sender, STORE_CREATE_FAIL_MIN_VOL, getAttributes());
+                Notifier.process(context, STORE_CREATE_FAIL_MIN_VOL);
                 return true;
             }
 
             if (maxVolume > 0 && volume > maxVolume) {
-                Notifier.process(sender, STORE_CREATE_FAIL_MAX_VOL, getAttributes());
+                Notifier.process(context, STORE_CREATE_FAIL_MAX_VOL);
                 return true;
             }
 
             Cuboid cuboid = new Cuboid(((Player) sender).getWorld(), x1, y1, z1, x2, y2, z2);
 
-            for (Cuboid currentCuboid : Config.getOffLimitsCuboids()) {
-                if (cuboid.intersects(currentCuboid) || currentCuboid.intersects(cuboid)) {
-                    Notifier.process(sender, STORE_CREATE_FAIL_OFFLIMITS, getAttributes());
-                    return true;
-                }
+            if (Config.isOffLimits(cuboid)) {
+                Notifier.process(context, STORE_CREATE_FAIL_OFFLIMITS);
+                return true;
             }
 
-            for (Cuboid currentCuboid : Store.getStores().stream().map(Store::getCuboidLocation).toList()) {
-                if (cuboid.intersects(currentCuboid) || currentCuboid.intersects(cuboid)) {
-                    Notifier.process(sender, STORE_CREATE_FAIL_OVERLAPS, getAttributes());
-                    return true;
-                }
+            if (!Store.STORES.getStoresOverlapping(cuboid).isEmpty()) {
+                Notifier.process(context, STORE_CREATE_FAIL_OVERLAPS);
+                return true;
             }
 
             store = new Store(args[1], owner.getUniqueId(), cuboid);
         }
 
-        setAttribute("store", store.getName());
+        context.set("store", store.getName());
 
         if (owner.getUniqueId().equals(((Player) sender).getUniqueId()))
-            Notifier.process(sender, STORE_CREATE_SUCCESS, getAttributes());
-        else Notifier.process(sender, STORE_CREATE_SUCCESS_OTHER_PLAYER, getAttributes());
+            Notifier.process(context, STORE_CREATE_SUCCESS);
+        else Notifier.process(context, STORE_CREATE_SUCCESS_OTHER_PLAYER);
         return true;
     }
 }
\ No newline at end of file
@@ -4,8 +4,10 @@ import net.sparkzz.shops.Core;
 import net.sparkzz.shops.Shops;
 import net.sparkzz.shops.Store;
 import net.sparkzz.shops.command.SubCommand;
-import net.sparkzz.shops.util.InventoryManagementSystem;
+import net.sparkzz.shops.util.CommandContext;
 import net.sparkzz.shops.util.Notifier;
+import net.sparkzz.shops.util.SimulatedInventory;
+import net.sparkzz.shops.util.StoreLocks;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
@@ -27,21 +29,19 @@ public class DeleteCommand extends SubCommand {
     @Override
     public boolean process(CommandSender sender, Command command, String label, String[] args)
             throws NumberFormatException {
+        CommandContext context = new CommandContext(sender, args);
+
         try {
-            resetAttributes();
-            setArgsAsAttributes(args);
             Optional<Store> foundStore = identifyStore(args[1]);
-            setAttribute("sender", sender);
-            setAttribute("store", (foundStore.isPresent() ? foundStore.get() : args[1]));
+            context.set("store", (foundStore.isPresent() ? foundStore.get() : args[1]));
 
             if (foundStore.isEmpty()) {
-                Notifier.process(sender, STORE_NO_STORE_FOUND, getAttributes());
+                Notifier.process(context, STORE_NO_STORE_FOUND);
                 return true;
             }
 
             boolean ignoreInv = false, ignoreFunds = false;
 
-            // TODO: determine a way to check if a player can remove all items from the shop, if they can, remove them all
             // TODO: add force flags (-f will ignore all inventory, then process) (-F will ignore all inventory and finances, then process)
             if (args.length == 3) {
                 switch (args[2]) {
@@ -57,34 +57,43 @@ public class DeleteCommand extends SubCommand {
                 }
             }
 
-            boolean canInsertAll = false;
             Store store = foundStore.get();
             Player player = (Player) sender;
+            boolean payFunds = !ignoreFunds;
 
-            setAttribute("store", store.getName());
+            // the stock is packed into a copy of the player's inventory, the real inventory is only changed once the
+            // store has been deleted
+            SimulatedInventory inventory = (ignoreInv) ? null : SimulatedInventory.of(player.getInventory());
 
-            if (!ignoreInv)
-                canInsertAll = InventoryManagementSystem.canInsertAll(player, store.getItems().entrySet().stream()
-                        .map(entry -> new ItemStack(entry.getKey(), (int) entry.getValue().getOrDefault("quantity", 0)))
-                        .collect(Collectors.toList()));
+            context.set("store", store.getName());
 
-            if (!ignoreInv && !canInsertAll) {
-                Notifier.process(sender, STORE_DELETE_INSUFFICIENT_INV_PLAYER, getAttributes());
-                return true;
-            }
+            // the payout is taken and the store removed as one step so a purchase in another region can't change the
+            // stock or funds in between and be paid out twice
+            Notifier.CipherKey result = StoreLocks.call(store, () -> {
+                if (inventory != null && !inventory.addAll(store.getItems().entrySet().stream()
+                        .filter(entry -> entry.getValue().getQuantity() > 0)
+                        .map(entry -> new ItemStack(entry.getKey(), entry.getValue().getQuantity()))
+                        .collect(Collectors.toList()))) {
+                    return STORE_DELETE_INSUFFICIENT_INV_PLAYER;
+                }
 
-            if (!ignoreFunds) {
-                Shops.getEconomy().depositPlayer(player, store.getBalance().doubleValue());
-                store.setBalance(BigDecimal.ZERO);
-            }
+                if (!Store.STORES.remove(store))
+                    return STORE_DELETE_FAIL;
+
+                if (payFunds) {
+                    Shops.getEconomyGateway().deposit(player, store.getBalance());
+                    store.setBalance(BigDecimal.ZERO);
+                }
+
+                return STORE_DELETE_SUCCESS;
+            });
 
-            boolean success = Store.STORES.remove(store);
+            if (result == STORE_DELETE_SUCCESS && inventory != null)
+                inventory.applyTo(player.getInventory());
 
-            if (success)
-                Notifier.process(sender, STORE_DELETE_SUCCESS, getAttributes());
-            else Notifier.process(sender, STORE_DELETE_FAIL, getAttributes());
+            Notifier.process(context, result);
         } catch (Core.MultipleStoresMatchedException exception) {
-            Notifier.process(sender, STORE_MULTI_MATCH, getAttributes());
+            Notifier.process(context, STORE_MULTI_MATCH);
         }
         return true;
     }
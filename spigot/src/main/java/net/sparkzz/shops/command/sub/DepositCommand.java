@@ -3,8 +3,11 @@ package net.sparkzz.shops.command.sub;
 import net.sparkzz.shops.Shops;
 import net.sparkzz.shops.Store;
 import net.sparkzz.shops.command.SubCommand;
+import net.sparkzz.shops.util.CommandContext;
 import net.sparkzz.shops.util.InventoryManagementSystem;
+import net.sparkzz.shops.util.Journal;
 import net.sparkzz.shops.util.Notifier;
+import net.sparkzz.shops.util.StoreLocks;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
@@ -23,37 +26,38 @@ public class DepositCommand extends SubCommand {
     @Override
     public boolean process(CommandSender sender, Command command, String label, String[] args)
             throws NumberFormatException {
-        resetAttributes();
-        setArgsAsAttributes(args);
-        Player player = (Player) setAttribute("sender", sender);
-        Store store = (Store) setAttribute("store", InventoryManagementSystem.locateCurrentStore(player).orElse(null));
-        BigDecimal amount = BigDecimal.valueOf((Double) setAttribute("amount", Double.parseDouble(args[1])));
+        CommandContext context = new CommandContext(sender, args);
+        Player player = (Player) sender;
+        Store store = context.setStore(InventoryManagementSystem.locateCurrentStore(player).orElse(null));
+        BigDecimal amount = BigDecimal.valueOf((Double) context.set("amount", Double.parseDouble(args[1])));
 
         if (store == null) {
-            Notifier.process(player, NO_STORE_FOUND, getAttributes());
+            Notifier.process(context, NO_STORE_FOUND);
             return true;
         }
 
         if (amount.compareTo(BigDecimal.ZERO) < 0) throw new NumberFormatException(String.format("Invalid amount: \"%s\"", args[1]));
 
         if (!store.getOwner().equals(player.getUniqueId())) {
-            Notifier.process(sender, NOT_OWNER, getAttributes());
+            Notifier.process(context, NOT_OWNER);
             return true;
         }
 
         if (store.hasInfiniteFunds()) {
-            Notifier.process(sender, DEPOSIT_INF_FUNDS, getAttributes());
+            Notifier.process(context, DEPOSIT_INF_FUNDS);
             return true;
         }
 
-        if (amount.compareTo(BigDecimal.valueOf(Shops.getEconomy().getBalance(player))) > 0) {
-            Notifier.process(sender, INSUFFICIENT_FUNDS_PLAYER, getAttributes());
+        if (!Shops.getEconomyGateway().withdraw(player, amount)) {
+            Notifier.process(context, INSUFFICIENT_FUNDS_PLAYER);
             return true;
         }
 
-        Shops.getEconomy().withdrawPlayer(player, amount.doubleValue());
-        store.addFunds(amount);
-        Notifier.process(sender, DEPOSIT_SUCCESS, getAttributes());
+        StoreLocks.run(store, () -> {
+            store.addFunds(amount);
+            Journal.record(store, null, 0, amount);
+        });
+        Notifier.process(context, DEPOSIT_SUCCESS);
         return true;
     }
 }
\ No newline at end of file
@@ -0,0 +1,63 @@
+package net.sparkzz.shops.command.sub;
+
+import net.sparkzz.shops.Store;
+import net.sparkzz.shops.command.SubCommand;
+import net.sparkzz.shops.util.CommandContext;
+import net.sparkzz.shops.util.Notifier;
+import net.sparkzz.shops.util.PriceIndex;
+import org.bukkit.Material;
+import org.bukkit.command.Command;
+import org.bukkit.command.CommandSender;
+
+import java.util.List;
+
+import static net.sparkzz.shops.util.AbstractNotifier.CipherKey.*;
+
+/**
+ * Find subcommand used for listing the stores selling or buying a material, ordered by the best price
+ *
+ * @author Brendon Butler
+ */
+public class FindCommand extends SubCommand {
+
+    @Override
+    public boolean process(CommandSender sender, Command command, String label, String[] args)
+            throws NumberFormatException {
+        CommandContext context = new CommandContext(sender, args);
+        Material material = context.setMaterial(Material.matchMaterial(args[1]));
+
+        if (material == null) {
+            context.set("material", args[1]);
+            Notifier.process(context, INVALID_MATERIAL);
+            return true;
+        }
+
+        boolean selling = true;
+        int pageNumber = 1;
+
+        // the trade is from the customer's point of view, "buy" lists the stores selling the material
+        if (args.length > 2 && (args[2].equalsIgnoreCase("buy") || args[2].equalsIgnoreCase("sell"))) {
+            selling = args[2].equalsIgnoreCase("buy");
+
+            if (args.length > 3)
+                pageNumber = Integer.parseInt(args[3]);
+        } else if (args.length > 2) pageNumber = Integer.parseInt(args[2]);
+
+        List<PriceIndex.Listing<Store>> listings = (selling ? Store.STORES.getStoresSelling(material) : Store.STORES.getStoresBuying(material));
+
+        if (listings.isEmpty()) {
+            Notifier.process(context, (selling ? FIND_NO_SELLERS : FIND_NO_BUYERS));
+            return true;
+        }
+
+        String page = Notifier.Paginator.buildFindPage(material, listings, selling, pageNumber);
+
+        if (page == null) {
+            Notifier.process(context, INVALID_PAGE_NUM);
+            return true;
+        }
+
+        sender.sendMessage(page);
+        return true;
+    }
+}
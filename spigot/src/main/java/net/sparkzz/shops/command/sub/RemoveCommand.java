@@ -1,15 +1,21 @@
 package net.sparkzz.shops.command.sub;
 
 import net.sparkzz.shops.Store;
+import net.sparkzz.shops.StoreItem;
 import net.sparkzz.shops.command.SubCommand;
+import net.sparkzz.shops.util.CommandContext;
 import net.sparkzz.shops.util.InventoryManagementSystem;
+import net.sparkzz.shops.util.Journal;
 import net.sparkzz.shops.util.Notifier;
+import net.sparkzz.shops.util.StoreLocks;
 import org.bukkit.Material;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
 
+import java.math.BigDecimal;
+
 import static net.sparkzz.shops.util.AbstractNotifier.CipherKey.*;
 
 /**
@@ -22,52 +28,65 @@ public class RemoveCommand extends SubCommand {
     @Override
     public boolean process(CommandSender sender, Command command, String label, String[] args)
             throws NumberFormatException {
-        resetAttributes();
-        setArgsAsAttributes(args);
-        Material material = setAttribute("material", Material.matchMaterial(args[1]));
-        Player player = (Player) setAttribute("sender", sender);
-        Store store = setAttribute("store", InventoryManagementSystem.locateCurrentStore(player).orElse(null));
+        CommandContext context = new CommandContext(sender, args);
+        Material material = context.setMaterial(Material.matchMaterial(args[1]));
+        Player player = (Player) sender;
+        Store store = context.setStore(InventoryManagementSystem.locateCurrentStore(player).orElse(null));
 
         if (store == null) {
-            Notifier.process(player, NO_STORE_FOUND, getAttributes());
+            Notifier.process(context, NO_STORE_FOUND);
             return true;
         }
 
-        int quantity = 0;
-
-        if (args.length == 3)
-            quantity = (args[2].equalsIgnoreCase("all") ? InventoryManagementSystem.countQuantity(store, material) : Integer.parseInt(args[2]));
+        boolean removeAll = args.length == 3 && args[2].equalsIgnoreCase("all");
+        int quantity = (args.length == 3 && !removeAll) ? Integer.parseInt(args[2]) : 0;
 
         if (material != null) {
-            if (!store.containsMaterial(material)) {
-                Notifier.process(sender, MATERIAL_MISSING_STORE, getAttributes());
-                return true;
-            }
+            // the item is read, checked and removed as one step so a purchase in another region can't take the same
+            // stock, the player is only given what was actually removed
+            Notifier.CipherKey result = StoreLocks.call(store, () -> remove(context, player, store, material, removeAll, quantity));
+            int removed = context.getQuantity();
 
-            int moveQuantity = setAttribute("quantity", (quantity <= 0) ? store.getAttributes(material).get("quantity").intValue() : quantity);
+            if ((result == REMOVE_SUCCESS || result == REMOVE_SUCCESS_QUANTITY) && removed > 0)
+                player.getInventory().addItem(new ItemStack(material, removed));
 
-            if (!InventoryManagementSystem.containsAtLeast(store, new ItemStack(material, moveQuantity))) {
-                Notifier.process(sender, INSUFFICIENT_INV_STORE, getAttributes());
-                return true;
-            }
+            Notifier.process(context, result);
+            return true;
+        }
 
-            if (!InventoryManagementSystem.canInsert(player, material, moveQuantity)) {
-                Notifier.process(sender, REMOVE_INSUFFICIENT_INV_PLAYER, getAttributes());
-                return true;
-            }
+        context.set("material", args[1]);
+        Notifier.process(context, INVALID_MATERIAL);
+        return false;
+    }
 
-            if (quantity > 0)
-                store.removeItem(material, quantity);
-            else store.removeItem(material);
+    // must be called while holding the store's lock, sets the quantity removed on the context
+    private static Notifier.CipherKey remove(CommandContext context, Player player, Store store, Material material, boolean removeAll, int quantity) {
+        StoreItem item = store.getItem(material);
 
-            player.getInventory().addItem(new ItemStack(material, moveQuantity));
+        if (item == null)
+            return MATERIAL_MISSING_STORE;
 
-            Notifier.process(sender, (quantity > 0 ? REMOVE_SUCCESS_QUANTITY : REMOVE_SUCCESS), getAttributes());
-            return true;
+        int requested = removeAll ? InventoryManagementSystem.countQuantity(store, material) : quantity;
+        int moveQuantity = context.setQuantity((requested <= 0) ? item.getQuantity() : requested);
+
+        if (!InventoryManagementSystem.containsAtLeast(store, new ItemStack(material, moveQuantity)))
+            return INSUFFICIENT_INV_STORE;
+
+        if (!InventoryManagementSystem.canInsert(player, material, moveQuantity))
+            return REMOVE_INSUFFICIENT_INV_PLAYER;
+
+        if (requested <= 0) {
+            store.removeItem(material);
+            Journal.recordItemRemoved(store, material, -moveQuantity);
+            return REMOVE_SUCCESS;
         }
 
-        setAttribute("material", args[1]);
-        Notifier.process(sender, INVALID_MATERIAL, getAttributes());
-        return false;
+        // infinite stock isn't counted down, as with a purchase, a negative quantity would otherwise be read as infinite
+        if (!store.hasInfiniteStock() && !item.hasInfiniteQuantity()) {
+            store.removeItem(material, requested);
+            Journal.record(store, material, -requested, BigDecimal.ZERO);
+        }
+
+        return REMOVE_SUCCESS_QUANTITY;
     }
-}
\ No newline at end of file
+}
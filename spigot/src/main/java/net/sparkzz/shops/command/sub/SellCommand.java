@@ -1,15 +1,20 @@
 package net.sparkzz.shops.command.sub;
 
+import net.sparkzz.shops.Shops;
 import net.sparkzz.shops.Store;
 import net.sparkzz.shops.command.SubCommand;
+import net.sparkzz.shops.util.CommandContext;
 import net.sparkzz.shops.util.InventoryManagementSystem;
+import net.sparkzz.shops.util.InventorySnapshot;
 import net.sparkzz.shops.util.Notifier;
+import net.sparkzz.shops.util.TaskScheduler;
 import net.sparkzz.shops.util.Transaction;
 import org.bukkit.Material;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
+import org.bukkit.plugin.java.JavaPlugin;
 
 import java.math.BigDecimal;
 
@@ -25,48 +30,73 @@ public class SellCommand extends SubCommand {
     @Override
     public boolean process(CommandSender sender, Command command, String label, String[] args)
             throws NumberFormatException {
-        resetAttributes();
-        setArgsAsAttributes(args);
-        Material material = (Material) setAttribute("material", Material.matchMaterial(args[1]));
-        Player player = (Player) setAttribute("sender", sender);
-        Store store = (Store) setAttribute("store", InventoryManagementSystem.locateCurrentStore(player).orElse(null));
-        int quantity = (Integer) setAttribute("quantity", 1);
+        CommandContext context = new CommandContext(sender, args);
+        Material material = context.setMaterial(Material.matchMaterial(args[1]));
+        Player player = (Player) sender;
+        Store store = context.setStore(InventoryManagementSystem.locateCurrentStore(player).orElse(null));
+        int quantity = context.setQuantity(1);
+        boolean sellAll = args.length == 3 && args[2].equalsIgnoreCase("all");
 
         if (store == null) {
-            Notifier.process(player, NO_STORE_FOUND, getAttributes());
+            Notifier.process(context, NO_STORE_FOUND);
             return true;
         }
 
-        if (args.length == 3)
-            quantity = (Integer) setAttribute("quantity", args[2].equalsIgnoreCase("all") ? InventoryManagementSystem.countQuantity((Player) sender, material) : Integer.parseInt(args[2]));
+        if (args.length == 3 && !sellAll)
+            quantity = context.setQuantity(Integer.parseInt(args[2]));
 
-        // quantity less than or equal to 0, or greater than 2304 (max inventory capacity) is invalid
-        if (quantity <= 0 || quantity > 2304) {
-            Notifier.process(sender, INVALID_QUANTITY, getAttributes());
+        // the quantity of "all" is checked once the inventory has been counted, without a material there is nothing to
+        // count so it is invalid
+        if ((sellAll && material == null) || (!sellAll && !isValidQuantity(quantity))) {
+            if (sellAll) context.setQuantity(0);
+
+            Notifier.process(context, INVALID_QUANTITY);
             return true;
         }
 
         if (material != null) {
-            Transaction transaction = new Transaction((Player) sender, new ItemStack(material, quantity), Transaction.TransactionType.SALE);
-            setAttribute("cost", transaction.getTotalCost());
+            int requested = quantity;
+
+            // the transaction is run by the thread that owns the player, which is this thread unless the command was
+            // dispatched from elsewhere
+            TaskScheduler.runAtEntity(JavaPlugin.getPlugin(Shops.class), player, () -> {
+                // the inventory is read on the owning thread right before it is changed, a single pass serves the
+                // "all" count, the validation and the removal
+                InventorySnapshot snapshot = InventorySnapshot.of(player.getInventory(), material);
+                int amount = sellAll ? context.setQuantity(snapshot.getCount()) : requested;
+
+                if (!isValidQuantity(amount)) {
+                    Notifier.process(context, INVALID_QUANTITY);
+                    return;
+                }
 
-            if (args.length == 2 && transaction.getTotalCost().compareTo(BigDecimal.valueOf(-1)) != 0) {
-                Notifier.process(sender, PRICE, getAttributes());
-                return true;
-            }
+                Transaction transaction = new Transaction(player, new ItemStack(material, amount), Transaction.TransactionType.SALE, snapshot);
+                context.setCost(transaction.getTotalCost());
 
-            if (!transaction.validateReady()) {
-                transaction.getMessage().processIndividual(sender);
-                return true;
-            }
+                if (args.length == 2 && transaction.getTotalCost().compareTo(BigDecimal.valueOf(-1)) != 0) {
+                    Notifier.process(context, PRICE);
+                    return;
+                }
 
-            transaction.process();
-            Notifier.process(sender, SELL_SUCCESS, getAttributes());
+                // another player may be using the same store from another region, so the transaction is validated
+                // and processed as one step
+                if (!transaction.commit()) {
+                    transaction.getMessage().processIndividual(sender);
+                    return;
+                }
+
+                Notifier.process(context, SELL_SUCCESS);
+            });
             return true;
         }
 
-        setAttribute("material", args[1]);
-        Notifier.process(sender, INVALID_MATERIAL, getAttributes());
+        context.set("material", args[1]);
+        Notifier.process(context, INVALID_MATERIAL);
         return false;
     }
+
+    // quantity less than or equal to 0, or greater than 2304 (max inventory capacity) is invalid
+    private static boolean isValidQuantity(int quantity) {
+        return quantity > 0 && quantity <= 2304;
+    }
 }
\ No newline at end of file
@@ -4,6 +4,7 @@ import net.sparkzz.shops.Core;
 import net.sparkzz.shops.Shops;
 import net.sparkzz.shops.Store;
 import net.sparkzz.shops.command.SubCommand;
+import net.sparkzz.shops.util.CommandContext;
 import net.sparkzz.shops.util.Config;
 import net.sparkzz.shops.util.Notifier;
 import org.bukkit.OfflinePlayer;
@@ -26,53 +27,47 @@ public class TransferCommand extends SubCommand {
     @Override
     public boolean process(CommandSender sender, Command command, String label, String[] args)
             throws NumberFormatException {
+        CommandContext context = new CommandContext(sender, args);
+
         try {
-            resetAttributes();
-            setArgsAsAttributes(args);
-            setAttribute("sender", sender);
             Optional<Store> foundStore;
                 foundStore = identifyStore(args[1]);
-            setAttribute("store", (foundStore.isPresent() ? foundStore.get() : args[1]));
+            context.set("store", (foundStore.isPresent() ? foundStore.get() : args[1]));
 
             if (foundStore.isEmpty()) {
-                Notifier.process(sender, STORE_NO_STORE_FOUND, getAttributes());
+                Notifier.process(context, STORE_NO_STORE_FOUND);
                 return true;
             }
 
             boolean isUUID = args[2].matches("^[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}$");
 
             // TODO: remove mock references once Server mocking is updated to fix issues with getServer()
-            setAttribute("target", args[2]);
+            context.set("target", args[2]);
             Server server = Shops.getServerInstance();
             OfflinePlayer targetPlayer = (!isUUID) ? server.getPlayer(args[2]) : server.getOfflinePlayer(UUID.fromString(args[2]));
 
             if (targetPlayer == null) {
-                Notifier.process(sender, PLAYER_NOT_FOUND, getAttributes());
+                Notifier.process(context, PLAYER_NOT_FOUND);
                 return true;
             }
 
             Store store = foundStore.get();
 
-            setAttribute("target", targetPlayer.getName());
+            context.set("target", targetPlayer.getName());
 
             if (!sender.isOp()) {
-                int shopsOwned = 0;
-
-                for (Store existingStore : Store.getStores())
-                    if (existingStore.getOwner().equals(targetPlayer.getUniqueId())) {
-                        shopsOwned++;
-                    }
+                int shopsOwned = Store.STORES.countStoresByOwner(targetPlayer.getUniqueId());
 
-                if (shopsOwned >= (int) setAttribute("max-stores", Config.getMaxOwnedStores())) {
-                    Notifier.process(sender, STORE_TRANSFER_FAIL_MAX_STORES, getAttributes());
+                if (shopsOwned >= (int) context.set("max-stores", Config.getMaxOwnedStores())) {
+                    Notifier.process(context, STORE_TRANSFER_FAIL_MAX_STORES);
                     return true;
                 }
             }
 
             store.setOwner(targetPlayer.getUniqueId());
-            Notifier.process(sender, STORE_TRANSFER_SUCCESS, getAttributes());
+            Notifier.process(context, STORE_TRANSFER_SUCCESS);
         } catch (Core.MultipleStoresMatchedException exception) {
-            Notifier.process(sender, STORE_MULTI_MATCH, getAttributes());
+            Notifier.process(context, STORE_MULTI_MATCH);
         }
         return true;
     }
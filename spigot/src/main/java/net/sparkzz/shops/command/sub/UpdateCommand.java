@@ -2,9 +2,11 @@ package net.sparkzz.shops.command.sub;
 
 import net.sparkzz.shops.Store;
 import net.sparkzz.shops.command.SubCommand;
+import net.sparkzz.shops.util.CommandContext;
 import net.sparkzz.shops.util.Cuboid;
 import net.sparkzz.shops.util.InventoryManagementSystem;
 import net.sparkzz.shops.util.Notifier;
+import net.sparkzz.shops.util.StoreLocks;
 import org.bukkit.Bukkit;
 import org.bukkit.Material;
 import org.bukkit.World;
@@ -28,106 +30,113 @@ public class UpdateCommand extends SubCommand {
     @Override
     public boolean process(CommandSender sender, Command command, String label, String[] args)
             throws NumberFormatException {
-        resetAttributes();
-        setArgsAsAttributes(args);
-        Player player = (Player) setAttribute("sender", sender);
-        Store store = setAttribute("store", InventoryManagementSystem.locateCurrentStore(player).orElse(null));
+        CommandContext context = new CommandContext(sender, args);
+        Player player = (Player) sender;
+        Store store = context.setStore(InventoryManagementSystem.locateCurrentStore(player).orElse(null));
+
+        if (args.length >= 8 && (args[1].equalsIgnoreCase("location") || args[1].equalsIgnoreCase("add-location"))) {
+            // "location" replaces all the store's locations, "add-location" adds another location to the store
+            boolean addLocation = args[1].equalsIgnoreCase("add-location");
 
-        if (args.length >= 8 && args[1].equalsIgnoreCase("location")) {
             if (!player.hasPermission("shops.update.location")) {
-                Notifier.process(sender, NO_PERMS_LOCATION, getAttributes());
+                Notifier.process(context, NO_PERMS_LOCATION);
                 return true;
             }
 
             switch (args.length) {
                 case 8 -> {
                     if (store == null) {
-                        Notifier.process(player, NO_STORE_FOUND, getAttributes());
+                        Notifier.process(context, NO_STORE_FOUND);
                         return true;
                     }
 
-                    World world = Bukkit.getWorld(setAttribute("world", store.getCuboidLocation().getWorld().getName()));
+                    World world = Bukkit.getWorld(context.set("world", store.getCuboidLocation().getWorld().getName()));
 
-                    store.setCuboidLocation(generateCuboid(world, args[2], args[3], args[4], args[5], args[6], args[7]));
+                    updateLocation(store, generateCuboid(context, world, args[2], args[3], args[4], args[5], args[6], args[7]), addLocation);
                 }
                 case 9 -> {
-                    Optional<Store> foundStore = identifyStore(setAttribute("store", args[2]));
-                    World world = Bukkit.getWorld(setAttribute("world", args[2]));
-                    store = setAttribute("store", foundStore.orElse(store));
+                    Optional<Store> foundStore = identifyStore(args[2]);
+                    World world = Bukkit.getWorld(context.set("world", args[2]));
+                    store = context.setStore(foundStore.orElse(store));
 
                     if (store == null) {
-                        Notifier.process(player, NO_STORE_FOUND, getAttributes());
+                        Notifier.process(context, NO_STORE_FOUND);
                         return true;
                     }
 
                     if (foundStore.isEmpty() && world == null) {
-                        Notifier.process(sender, Notifier.CipherKey.WORLD_NOT_FOUND, getAttributes());
+                        Notifier.process(context, Notifier.CipherKey.WORLD_NOT_FOUND);
                         return true;
                     } else if (foundStore.isPresent())
-                        world = Bukkit.getWorld(setAttribute("world", store.getCuboidLocation().getWorld().getName()));
+                        world = Bukkit.getWorld(context.set("world", store.getCuboidLocation().getWorld().getName()));
 
-                    store.setCuboidLocation(generateCuboid(world, args[3], args[4], args[5], args[6], args[7], args[8]));
+                    updateLocation(store, generateCuboid(context, world, args[3], args[4], args[5], args[6], args[7], args[8]), addLocation);
                 }
                 case 10 -> {
-                    Optional<Store> foundStore = identifyStore(setAttribute("store", args[2]));
-                    World world = Bukkit.getWorld(setAttribute("world", args[3]));
+                    Optional<Store> foundStore = identifyStore(args[2]);
+                    World world = Bukkit.getWorld(context.set("world", args[3]));
 
                     if (foundStore.isEmpty()) {
-                        Notifier.process(sender, STORE_NO_STORE_FOUND, getAttributes());
+                        // the current store would otherwise be shown instead of the input that wasn't found
+                        context.setStore(null);
+                        context.set("store", args[2]);
+                        Notifier.process(context, STORE_NO_STORE_FOUND);
                         return true;
                     }
 
-                    store = foundStore.get();
-                    setAttribute("store", store.getName());
+                    store = context.setStore(foundStore.get());
 
                     if (world == null) {
-                        Notifier.process(sender, Notifier.CipherKey.WORLD_NOT_FOUND, getAttributes());
+                        Notifier.process(context, Notifier.CipherKey.WORLD_NOT_FOUND);
                         return true;
                     }
 
-                    store.setCuboidLocation(generateCuboid(world, args[4], args[5], args[6], args[7], args[8], args[9]));
+                    updateLocation(store, generateCuboid(context, world, args[4], args[5], args[6], args[7], args[8], args[9]), addLocation);
                 }
                 default -> {
                     return false;
                 }
             }
 
-            Notifier.process(sender, Notifier.CipherKey.STORE_UPDATE_SUCCESS_LOCATION, getAttributes());
+            Notifier.process(context, Notifier.CipherKey.STORE_UPDATE_SUCCESS_LOCATION);
             return true;
         }
 
-        if (args.length >= 2) setAttribute("material", args[1]);
+        if (args.length >= 2) context.set("material", args[1]);
 
         if (store == null) {
-            Notifier.process(player, NO_STORE_FOUND, getAttributes());
+            Notifier.process(context, NO_STORE_FOUND);
             return true;
         }
 
+        // changes are made while holding the store's lock, as stores are used and saved from other threads
+        Store current = store;
+
         if (args.length == 3) {
             switch (args[1].toLowerCase()) {
                 case "infinite-funds" -> {
                     if (!player.hasPermission("shops.update.inf-funds")) {
-                        Notifier.process(sender, NO_PERMS_INF_FUNDS, getAttributes());
+                        Notifier.process(context, NO_PERMS_INF_FUNDS);
                         return true;
                     }
 
-                    store.setInfiniteFunds(Boolean.parseBoolean(args[2]));
+                    StoreLocks.run(current, () -> current.setInfiniteFunds(Boolean.parseBoolean(args[2])));
                 }
                 case "infinite-stock" -> {
                     if (!player.hasPermission("shops.update.inf-stock")) {
-                        Notifier.process(sender, NO_PERMS_INF_STOCK, getAttributes());
+                        Notifier.process(context, NO_PERMS_INF_STOCK);
                         return true;
                     }
 
-                    store.setInfiniteStock(Boolean.parseBoolean(args[2]));
+                    StoreLocks.run(current, () -> current.setInfiniteStock(Boolean.parseBoolean(args[2])));
                 }
-                case "store-name" -> store.setName(args[2]);
+                case "store-name" -> StoreLocks.run(current, () -> current.setName(args[2]));
                 default -> {
                     return false;
                 }
             }
 
-            Notifier.process(sender, STORE_UPDATE_SUCCESS, getAttributes());
+            Notifier.process(context, STORE_UPDATE_SUCCESS);
             return true;
         }
 
@@ -143,7 +152,7 @@ public class UpdateCommand extends SubCommand {
             Map<String, String> inputMapping = new HashMap<>();
 
             if (!store.containsMaterial(material)) {
-                Notifier.process(sender, MATERIAL_MISSING_STORE, getAttributes());
+                Notifier.process(context, MATERIAL_MISSING_STORE);
                 return true;
             }
 
@@ -156,34 +165,54 @@ public class UpdateCommand extends SubCommand {
 
             String mapped = inputMapping.get(args[2]);
 
-            if (mapped.equals("quantity")) {
-                if (!player.hasPermission("shops.update.inf-stock")) {
-                    Notifier.process(sender, NO_PERMS_INF_STOCK, getAttributes());
-                    return true;
-                }
+            if (mapped.equals("quantity") && !player.hasPermission("shops.update.inf-stock")) {
+                Notifier.process(context, NO_PERMS_INF_STOCK);
+                return true;
+            }
+
+            // the item is checked again and changed as one step so it can't be removed, or have stock added by a sale in
+            // another region that would be lost by making the item infinite, in between
+            Notifier.CipherKey result = StoreLocks.call(current, () -> {
+                if (!current.containsMaterial(material))
+                    return MATERIAL_MISSING_STORE;
 
-                if (args[3].equalsIgnoreCase("true") && store.getAttributes(material).get("quantity").intValue() > 0) {
-                    Notifier.process(sender, STORE_UPDATE_NO_STOCK, getAttributes());
-                    return true;
+                if (mapped.equals("quantity") && args[3].equalsIgnoreCase("true") && current.getItem(material).getQuantity() > 0)
+                    return STORE_UPDATE_NO_STOCK;
+
+                switch (mapped) {
+                    case "buy" -> current.setBuyPrice(material, value);
+                    case "sell" -> current.setSellPrice(material, value);
+                    case "max_quantity" -> current.setMaxQuantity(material, (int) value);
+                    case "quantity" -> current.setQuantity(material, (int) value);
                 }
-            }
 
-            store.getItems().get(material).replace(mapped, (mapped.equals("max_quantity") || mapped.equals("quantity")) ? (int) value : value);
-            Notifier.process(sender, STORE_UPDATE_SUCCESS_2, getAttributes());
+                return STORE_UPDATE_SUCCESS_2;
+            });
+
+            Notifier.process(context, result);
             return true;
         }
 
-        Notifier.process(sender, INVALID_MATERIAL, getAttributes());
+        Notifier.process(context, INVALID_MATERIAL);
         return false;
     }
 
-    private Cuboid generateCuboid(World world, String x1String, String y1String, String z1String, String x2String, String y2String, String z2String) {
-        double x1 = setAttribute("x1", Double.parseDouble(x1String));
-        double y1 = setAttribute("y1", Double.parseDouble(y1String));
-        double z1 = setAttribute("z1", Double.parseDouble(z1String));
-        double x2 = setAttribute("x2", Double.parseDouble(x2String));
-        double y2 = setAttribute("y2", Double.parseDouble(y2String));
-        double z2 = setAttribute("z2", Double.parseDouble(z2String));
+    private static void updateLocation(Store store, Cuboid cuboid, boolean addLocation) {
+        // the locations are copied while holding the store's lock when it is saved
+        StoreLocks.run(store, () -> {
+            if (addLocation)
+                store.addCuboidLocation(cuboid);
+            else store.setCuboidLocation(cuboid);
+        });
+    }
+
+    private static Cuboid generateCuboid(CommandContext context, World world, String x1String, String y1String, String z1String, String x2String, String y2String, String z2String) {
+        double x1 = context.set("x1", Double.parseDouble(x1String));
+        double y1 = context.set("y1", Double.parseDouble(y1String));
+        double z1 = context.set("z1", Double.parseDouble(z1String));
+        double x2 = context.set("x2", Double.parseDouble(x2String));
+        double y2 = context.set("y2", Double.parseDouble(y2String));
+        double z2 = context.set("z2", Double.parseDouble(z2String));
 
         return new Cuboid(world, x1, y1, z1, x2, y2, z2);
     }
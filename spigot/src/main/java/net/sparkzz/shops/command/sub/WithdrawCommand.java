@@ -3,8 +3,11 @@ package net.sparkzz.shops.command.sub;
 import net.sparkzz.shops.Shops;
 import net.sparkzz.shops.Store;
 import net.sparkzz.shops.command.SubCommand;
+import net.sparkzz.shops.util.CommandContext;
 import net.sparkzz.shops.util.InventoryManagementSystem;
+import net.sparkzz.shops.util.Journal;
 import net.sparkzz.shops.util.Notifier;
+import net.sparkzz.shops.util.StoreLocks;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
@@ -23,32 +26,42 @@ public class WithdrawCommand extends SubCommand {
     @Override
     public boolean process(CommandSender sender, Command command, String label, String[] args)
             throws NumberFormatException {
-        resetAttributes();
-        setArgsAsAttributes(args);
-        Player player = (Player) setAttribute("sender", sender);
-        Store store = (Store) setAttribute("store", InventoryManagementSystem.locateCurrentStore(player).orElse(null));
-        BigDecimal amount = (BigDecimal) setAttribute("amount", (args[1].equalsIgnoreCase("all")) ? (store == null) ? BigDecimal.ZERO : store.getBalance() : BigDecimal.valueOf(Double.parseDouble(args[1])));
+        CommandContext context = new CommandContext(sender, args);
+        Player player = (Player) sender;
+        Store store = context.setStore(InventoryManagementSystem.locateCurrentStore(player).orElse(null));
+        BigDecimal amount = (BigDecimal) context.set("amount", (args[1].equalsIgnoreCase("all")) ? (store == null) ? BigDecimal.ZERO : store.getBalance() : BigDecimal.valueOf(Double.parseDouble(args[1])));
 
         if (store == null) {
-            Notifier.process(player, NO_STORE_FOUND, getAttributes());
+            Notifier.process(context, NO_STORE_FOUND);
             return true;
         }
 
         if (amount.compareTo(BigDecimal.ZERO) < 0) throw new NumberFormatException(String.format("Invalid amount: \"%s\"", args[1]));
 
         if (!store.getOwner().equals(player.getUniqueId())) {
-            Notifier.process(sender, NOT_OWNER, getAttributes());
+            Notifier.process(context, NOT_OWNER);
             return true;
         }
 
-        if (amount.compareTo(store.getBalance()) > 0) {
-            Notifier.process(sender, INSUFFICIENT_FUNDS_STORE, getAttributes());
+        // the balance is checked and withdrawn as one step so a sale in another region can't spend the same funds
+        boolean withdrawn = StoreLocks.call(store, () -> {
+            BigDecimal balance = store.getBalance();
+
+            if (amount.compareTo(balance) > 0)
+                return false;
+
+            store.removeFunds(amount);
+            Journal.record(store, null, 0, store.getBalance().subtract(balance));
+            return true;
+        });
+
+        if (!withdrawn) {
+            Notifier.process(context, INSUFFICIENT_FUNDS_STORE);
             return true;
         }
 
-        store.removeFunds(amount);
-        Shops.getEconomy().depositPlayer(player, amount.doubleValue());
-        Notifier.process(sender, WITHDRAW_SUCCESS, getAttributes());
+        Shops.getEconomyGateway().deposit(player, amount);
+        Notifier.process(context, WITHDRAW_SUCCESS);
         return true;
     }
 }
\ No newline at end of file
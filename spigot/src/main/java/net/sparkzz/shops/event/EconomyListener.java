@@ -0,0 +1,41 @@
+package net.sparkzz.shops.event;
+
+import net.sparkzz.shops.Shops;
+import net.sparkzz.shops.util.EconomyGateway;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+
+/**
+ * Listener for reading the balances of players ahead of their trades and dropping them once the players leave
+ */
+public class EconomyListener implements Listener {
+
+    /**
+     * Reads the balance of a player that joined in the background, so their first trade doesn't wait on Vault
+     *
+     * @param event the PlayerJoinEvent containing the player
+     */
+    @EventHandler
+    public void onPlayerJoin(PlayerJoinEvent event) {
+        EconomyGateway gateway = Shops.getEconomyGateway();
+
+        if (gateway != null)
+            gateway.refresh(event.getPlayer());
+    }
+
+    /**
+     * Drops the account of a player that left once its changes have been settled, so the gateway doesn't keep every
+     * player that ever traded
+     *
+     * @param event the PlayerQuitEvent containing the player
+     */
+    @EventHandler
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        EconomyGateway gateway = Shops.getEconomyGateway();
+
+        if (gateway != null)
+            gateway.unload(event.getPlayer());
+    }
+}
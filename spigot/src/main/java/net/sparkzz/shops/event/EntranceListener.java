@@ -1,54 +1,80 @@
 package net.sparkzz.shops.event;
 
-import net.sparkzz.shops.Store;
-import net.sparkzz.shops.util.Cuboid;
-import net.sparkzz.shops.util.Notifiable;
+import net.sparkzz.shops.util.CommandContext;
 import net.sparkzz.shops.util.Notifier;
+import net.sparkzz.shops.util.StoreTracker;
+import org.bukkit.Location;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerChangedWorldEvent;
 import org.bukkit.event.player.PlayerMoveEvent;
-
-import java.util.HashMap;
-import java.util.Map;
+import org.bukkit.event.player.PlayerQuitEvent;
 
 /**
  * Listener for checking whether a player enters the bounds of a store
  */
-public class EntranceListener extends Notifiable implements Listener {
-
-    private final Map<Player, Boolean> playerStoreStatus = new HashMap<>();
+public class EntranceListener implements Listener {
 
     /**
-     * Checks if a player has entered or exited a shop and notifies accordingly
+     * Updates the store the player is tracked in, which fires the store enter and leave events
      *
      * @param event the PlayerMoveEvent used to determine the player's location
      */
     @EventHandler
     public void onPlayerMove(PlayerMoveEvent event) {
-        Player player = (Player) setAttribute("player", event.getPlayer());
-        boolean isInShop = false;
-
-        for (Store store : Store.getStores()) {
-            Cuboid cuboid = store.getCuboidLocation();
-
-            if (cuboid == null || cuboid.getWorld() == null || !cuboid.getWorld().equals(player.getWorld()))
-                continue;
-
-            if (cuboid.isPlayerWithin(player)) {
-                isInShop = true;
-                setAttribute("store", store);
-                break;
-            }
-        }
-
-        if (isInShop && !playerStoreStatus.getOrDefault(player, false)) {
-            playerStoreStatus.put(player, true);
-            Notifier.process(player, Notifier.CipherKey.STORE_WELCOME_MSG, getAttributes());
-        } else if (!isInShop && playerStoreStatus.getOrDefault(player, true)) {
-            if (playerStoreStatus.containsKey(player))
-                Notifier.process(player, Notifier.CipherKey.STORE_GOODBYE_MSG, getAttributes());
-            playerStoreStatus.put(player, false);
-        }
+        Player player = event.getPlayer();
+        Location location = event.getTo();
+
+        if (location == null)
+            location = player.getLocation();
+
+        StoreTracker.update(player, location);
+    }
+
+    /**
+     * Re-checks the store of a player that changed worlds so the store from the previous world isn't kept
+     *
+     * @param event the PlayerChangedWorldEvent containing the player
+     */
+    @EventHandler
+    public void onPlayerChangedWorld(PlayerChangedWorldEvent event) {
+        StoreTracker.update(event.getPlayer(), event.getPlayer().getLocation());
+    }
+
+    /**
+     * Stops tracking a player that left the server
+     *
+     * @param event the PlayerQuitEvent containing the player
+     */
+    @EventHandler
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        StoreTracker.untrack(event.getPlayer().getUniqueId());
+    }
+
+    /**
+     * Welcomes a player to the store they entered
+     *
+     * @param event the StoreEnterEvent containing the player and the store
+     */
+    @EventHandler
+    public void onStoreEnter(StoreEnterEvent event) {
+        CommandContext context = new CommandContext(event.getPlayer());
+
+        context.setStore(event.getStore());
+        Notifier.process(context, Notifier.CipherKey.STORE_WELCOME_MSG);
+    }
+
+    /**
+     * Sends a goodbye message to a player that left a store
+     *
+     * @param event the StoreLeaveEvent containing the player and the store
+     */
+    @EventHandler
+    public void onStoreLeave(StoreLeaveEvent event) {
+        CommandContext context = new CommandContext(event.getPlayer());
+
+        context.setStore(event.getStore());
+        Notifier.process(context, Notifier.CipherKey.STORE_GOODBYE_MSG);
     }
 }
@@ -0,0 +1,51 @@
+package net.sparkzz.shops.event;
+
+import net.sparkzz.shops.Store;
+import org.bukkit.entity.Player;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.player.PlayerEvent;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Called when a player leaves the bounds of a store
+ */
+public class StoreLeaveEvent extends PlayerEvent {
+
+    private static final HandlerList handlers = new HandlerList();
+
+    private final Store store;
+
+    /**
+     * Creates the event for the provided player and store
+     *
+     * @param player the player that moved
+     * @param store the store the player left
+     */
+    public StoreLeaveEvent(@NotNull Player player, @NotNull Store store) {
+        super(player);
+        this.store = store;
+    }
+
+    /**
+     * Gets the store the player left
+     *
+     * @return the store the player left
+     */
+    public @NotNull Store getStore() {
+        return store;
+    }
+
+    @Override
+    public @NotNull HandlerList getHandlers() {
+        return handlers;
+    }
+
+    /**
+     * Gets the handlers registered for this event
+     *
+     * @return the handler list of this event
+     */
+    public static @NotNull HandlerList getHandlerList() {
+        return handlers;
+    }
+}
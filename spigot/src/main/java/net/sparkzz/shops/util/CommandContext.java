@@ -0,0 +1,201 @@
+package net.sparkzz.shops.util;
+
+import net.sparkzz.shops.Store;
+import org.bukkit.Material;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.Nullable;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+/**
+ * The state of a single command invocation (or event) that messages are rendered from. A new context is created for
+ * every invocation, so the command singletons don't share any state between invocations and a context is only ever
+ * used by the thread handling its invocation. The values most messages use are typed fields, any other placeholder is
+ * kept in a small array rather than a map
+ *
+ * @author Brendon Butler
+ */
+public class CommandContext implements Placeholders {
+
+    private final CommandSender sender;
+    private final String[] args;
+    private @Nullable Store store;
+    private @Nullable Material material;
+    private @Nullable Integer quantity;
+    private @Nullable BigDecimal cost;
+    private String[] keys = new String[0];
+    private Object[] values = new Object[0];
+    private int size;
+
+    /**
+     * Constructs the context of an event or a command without arguments
+     *
+     * @param sender the sender the messages are sent to
+     */
+    public CommandContext(CommandSender sender) {
+        this(sender, new String[0]);
+    }
+
+    /**
+     * Constructs the context of a command invocation, the arguments can be used in messages as {arg#}
+     *
+     * @param sender the sender attempting the command
+     * @param args the arguments following the command
+     */
+    public CommandContext(CommandSender sender, String[] args) {
+        this.sender = sender;
+        this.args = args;
+    }
+
+    /**
+     * Gets the sender the messages are sent to
+     *
+     * @return the sender of the command
+     */
+    public CommandSender getSender() {
+        return sender;
+    }
+
+    /**
+     * Gets the store the command applies to
+     *
+     * @return the store or null if it hasn't been set
+     */
+    public @Nullable Store getStore() {
+        return store;
+    }
+
+    /**
+     * Sets the store the command applies to, used as {store}
+     *
+     * @param store the store to be set
+     * @return the provided store back to the calling method
+     */
+    public @Nullable Store setStore(@Nullable Store store) {
+        return this.store = store;
+    }
+
+    /**
+     * Gets the material the command applies to
+     *
+     * @return the material or null if it hasn't been set
+     */
+    public @Nullable Material getMaterial() {
+        return material;
+    }
+
+    /**
+     * Sets the material the command applies to, used as {material}
+     *
+     * @param material the material to be set
+     * @return the provided material back to the calling method
+     */
+    public @Nullable Material setMaterial(@Nullable Material material) {
+        return this.material = material;
+    }
+
+    /**
+     * Gets the quantity the command applies to
+     *
+     * @return the quantity or 0 if it hasn't been set
+     */
+    public int getQuantity() {
+        return (quantity == null) ? 0 : quantity;
+    }
+
+    /**
+     * Sets the quantity the command applies to, used as {quantity}
+     *
+     * @param quantity the quantity to be set
+     * @return the provided quantity back to the calling method
+     */
+    public int setQuantity(int quantity) {
+        this.quantity = quantity;
+        return quantity;
+    }
+
+    /**
+     * Sets the cost of the command's transaction, used as {cost}
+     *
+     * @param cost the cost to be set
+     * @return the provided cost back to the calling method
+     */
+    public @Nullable BigDecimal setCost(@Nullable BigDecimal cost) {
+        return this.cost = cost;
+    }
+
+    /**
+     * Sets any other placeholder, a typed value (store, material, quantity or cost) takes precedence over a value set
+     * with the same name, so this can also be used to show the raw input when a typed value couldn't be resolved
+     *
+     * @param key the placeholder's name, without the curly braces
+     * @param value the value of the placeholder
+     * @return the provided value back to the calling method
+     */
+    public <T> T set(String key, @Nullable T value) {
+        for (int i = 0; i < size; i++) {
+            if (keys[i].equals(key)) {
+                values[i] = value;
+                return value;
+            }
+        }
+
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, Math.max(4, size * 2));
+            values = Arrays.copyOf(values, keys.length);
+        }
+
+        keys[size] = key;
+        values[size++] = value;
+        return value;
+    }
+
+    /**
+     * Gets the value of a placeholder, the arguments are available as {arg0}, {arg1}, etc.
+     *
+     * @param key the placeholder's name, without the curly braces
+     * @return the value of the placeholder or null if it has no value
+     */
+    @Override
+    public @Nullable Object getPlaceholder(String key) {
+        Object value = switch (key) {
+            case "sender" -> sender;
+            case "player" -> (sender instanceof Player) ? sender : null;
+            case "store" -> store;
+            case "material" -> material;
+            case "quantity" -> quantity;
+            case "cost" -> cost;
+            default -> null;
+        };
+
+        if (value != null)
+            return value;
+
+        for (int i = 0; i < size; i++)
+            if (keys[i].equals(key))
+                return values[i];
+
+        return getArg(key);
+    }
+
+    private @Nullable String getArg(String key) {
+        // "arg" followed by the index without leading zeros
+        if (key.length() < 4 || !key.startsWith("arg") || (key.length() > 4 && key.charAt(3) == '0'))
+            return null;
+
+        int index = 0;
+
+        for (int i = 3; i < key.length(); i++) {
+            char digit = key.charAt(i);
+
+            if (digit < '0' || digit > '9' || index > args.length)
+                return null;
+
+            index = index * 10 + (digit - '0');
+        }
+
+        return (index < args.length) ? args[index] : null;
+    }
+}
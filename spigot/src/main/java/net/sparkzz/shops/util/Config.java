@@ -9,7 +9,11 @@ import org.spongepowered.configurate.CommentedConfigurationNode;
 import org.spongepowered.configurate.serialize.SerializationException;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.logging.Logger;
 
@@ -20,60 +24,64 @@ public class Config extends AbstractConfig {
 
     private static final Logger log = Shops.getLog();
     
+    // off-limits areas parsed from the configuration, re-parsed only when the root node is replaced, the areas are only
+    // used while holding the class's lock as stores can be created from any region's thread
+    private static OffLimitsAreas offLimitsAreas;
+
     /**
-     * Gets the list of off-limits cuboids to prevent players from creating stores within "off-limits" zones
+     * Gets the list of off-limits cuboids to prevent players from creating stores within "off-limits" zones, the areas
+     * are parsed once per configuration load rather than on every call
      *
-     * @return the off-limits cuboids
+     * @return a copy of the off-limits cuboids (this list can't be modified)
      */
-    public static List<Cuboid> getOffLimitsCuboids() {
-        List<Cuboid> cuboids = new ArrayList<>();
-
-        try {
-            List<String> offLimitsAreas = getRootNode().node("store", "off-limits").getList(String.class);
+    public static synchronized List<Cuboid> getOffLimitsCuboids() {
+        OffLimitsAreas areas = getOffLimitsAreas();
 
-            if (offLimitsAreas == null || offLimitsAreas.isEmpty())
-                return cuboids;
+        if (areas == null)
+            return Collections.emptyList();
 
-            for (String area : offLimitsAreas) {
-                if (!(area.contains("world(") && area.contains("start(") && area.contains("end(")))
-                    continue;
+        areas.resolveWorlds();
+        return List.copyOf(areas.cuboids);
+    }
 
-                area = area.replace(" ", "");
+    /**
+     * Checks whether the provided cuboid overlaps any off-limits area, only the off-limits areas near the cuboid are
+     * checked
+     *
+     * @param cuboid the cuboid to be checked
+     * @return whether the cuboid overlaps an off-limits area
+     */
+    public static synchronized boolean isOffLimits(Cuboid cuboid) {
+        OffLimitsAreas areas = getOffLimitsAreas();
 
-                World world;
-                double x1, y1, z1, x2, y2, z2;
-                int currIndex;
+        if (areas == null)
+            return false;
 
-                world = Bukkit.getWorld(area.substring(
-                                currIndex = area.indexOf("world(") + 6, area.indexOf(")", currIndex)
-                ));
+        areas.resolveWorlds();
+        return !areas.index.getOverlapping(cuboid).isEmpty();
+    }
 
-                String[] startCoordinate = area.substring(
-                        currIndex = area.indexOf("start(") + 6, area.indexOf(")", currIndex)
-                ).split(",");
+    private static @Nullable OffLimitsAreas getOffLimitsAreas() {
+        CommentedConfigurationNode rootNode = getRootNode();
 
-                String[] endCoordinate = area.substring(
-                        currIndex = area.indexOf("end(") + 4, area.indexOf(")", currIndex)
-                ).split(",");
+        if (rootNode == null)
+            return null;
 
-                x1 = Double.parseDouble(startCoordinate[0]);
-                y1 = Double.parseDouble(startCoordinate[1]);
-                z1 = Double.parseDouble(startCoordinate[2]);
-                x2 = Double.parseDouble(endCoordinate[0]);
-                y2 = Double.parseDouble(endCoordinate[1]);
-                z2 = Double.parseDouble(endCoordinate[2]);
+        if (offLimitsAreas == null || offLimitsAreas.source != rootNode) {
+            offLimitsAreas = new OffLimitsAreas(rootNode);
 
-                Cuboid cuboid = new Cuboid(world, x1, y1, z1, x2, y2, z2);
+            try {
+                List<String> areas = rootNode.node("store", "off-limits").getList(String.class);
 
-                cuboids.add(cuboid);
+                if (areas != null)
+                    for (String area : areas)
+                        offLimitsAreas.add(area);
+            } catch (SerializationException exception) {
+                log.severe("Unable to load off-limits areas");
             }
-        } catch (SerializationException exception) {
-            log.severe("Unable to load off-limits areas");
-        } catch (NumberFormatException exception) {
-            log.severe(exception.getMessage());
         }
 
-        return cuboids;
+        return offLimitsAreas;
     }
 
     /**
@@ -108,7 +116,7 @@ public class Config extends AbstractConfig {
      *
      * @param cuboid the cuboid area to be added
      */
-    public static void addOffLimitsArea(Cuboid cuboid) {
+    public static synchronized void addOffLimitsArea(Cuboid cuboid) {
         try {
             CommentedConfigurationNode offLimitsNode = getRootNode().node("store", "off-limits");
             List<String> offLimitsAreas = offLimitsNode.getList(String.class);
@@ -116,10 +124,15 @@ public class Config extends AbstractConfig {
             if (offLimitsAreas == null)
                 offLimitsAreas = new ArrayList<>();
 
-            offLimitsAreas.add(String.format("world(%s),start(%f,%f,%f),end(%f,%f,%f)", cuboid.getWorld().getName(),
-                    cuboid.getX1(), cuboid.getY1(), cuboid.getZ1(), cuboid.getX2(), cuboid.getY2(), cuboid.getZ2()));
+            String area = String.format("world(%s),start(%f,%f,%f),end(%f,%f,%f)", cuboid.getWorld().getName(),
+                    cuboid.getX1(), cuboid.getY1(), cuboid.getZ1(), cuboid.getX2(), cuboid.getY2(), cuboid.getZ2());
 
+            offLimitsAreas.add(area);
             offLimitsNode.setList(String.class, offLimitsAreas);
+
+            // the parsed areas are kept in step with the configuration rather than being parsed again
+            if (Config.offLimitsAreas != null && Config.offLimitsAreas.source == getRootNode())
+                Config.offLimitsAreas.add(area);
         } catch (SerializationException e) {
             throw new RuntimeException(e);
         }
@@ -186,6 +199,7 @@ public class Config extends AbstractConfig {
     public static void setOffLimitsAreas(List<Cuboid> cuboids) {
         try {
             getRootNode().node("store").node("off-limits").setList(String.class, null);
+            offLimitsAreas = new OffLimitsAreas(getRootNode());
 
             for (Cuboid cuboid : cuboids)
                 addOffLimitsArea(cuboid);
@@ -193,4 +207,80 @@ public class Config extends AbstractConfig {
             throw new RuntimeException(e);
         }
     }
+
+    /**
+     * The parsed off-limits areas of a configuration, indexed by location. An area whose world isn't loaded yet is kept
+     * aside and indexed once the world has been loaded
+     */
+    private static class OffLimitsAreas {
+
+        private final CommentedConfigurationNode source;
+        private final List<Cuboid> cuboids = new ArrayList<>();
+        private final Map<Cuboid, String> unresolved = new IdentityHashMap<>();
+        private final SpatialIndex<Cuboid> index = new SpatialIndex<>();
+
+        private OffLimitsAreas(CommentedConfigurationNode source) {
+            this.source = source;
+        }
+
+        /**
+         * Parses an area in the world(name),start(x,y,z),end(x,y,z) format and adds it, invalid areas are skipped
+         *
+         * @param area the area to be added
+         */
+        private void add(String area) {
+            if (!(area.contains("world(") && area.contains("start(") && area.contains("end(")))
+                return;
+
+            area = area.replace(" ", "");
+
+            try {
+                int currIndex;
+
+                String worldName = area.substring(
+                        currIndex = area.indexOf("world(") + 6, area.indexOf(")", currIndex)
+                );
+
+                String[] startCoordinate = area.substring(
+                        currIndex = area.indexOf("start(") + 6, area.indexOf(")", currIndex)
+                ).split(",");
+
+                String[] endCoordinate = area.substring(
+                        currIndex = area.indexOf("end(") + 4, area.indexOf(")", currIndex)
+                ).split(",");
+
+                Cuboid cuboid = new Cuboid(Bukkit.getWorld(worldName),
+                        Double.parseDouble(startCoordinate[0]), Double.parseDouble(startCoordinate[1]), Double.parseDouble(startCoordinate[2]),
+                        Double.parseDouble(endCoordinate[0]), Double.parseDouble(endCoordinate[1]), Double.parseDouble(endCoordinate[2]));
+
+                cuboids.add(cuboid);
+
+                if (cuboid.getWorld() != null)
+                    index.put(cuboid, cuboid);
+                else unresolved.put(cuboid, worldName);
+            } catch (NumberFormatException exception) {
+                log.severe(exception.getMessage());
+            }
+        }
+
+        /**
+         * Indexes the areas whose worlds have been loaded since they were parsed
+         */
+        private void resolveWorlds() {
+            if (unresolved.isEmpty())
+                return;
+
+            for (Iterator<Map.Entry<Cuboid, String>> iterator = unresolved.entrySet().iterator(); iterator.hasNext(); ) {
+                Map.Entry<Cuboid, String> entry = iterator.next();
+                World world = Bukkit.getWorld(entry.getValue());
+
+                if (world == null)
+                    continue;
+
+                entry.getKey().setWorld(world);
+                index.put(entry.getKey(), entry.getKey());
+                iterator.remove();
+            }
+        }
+    }
 }
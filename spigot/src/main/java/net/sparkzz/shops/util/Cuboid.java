@@ -7,9 +7,6 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.spongepowered.configurate.objectmapping.ConfigSerializable;
 
-import java.awt.geom.Point2D;
-import java.util.List;
-
 /**
  * The Cuboid class stores the starting and ending location for a store along with the world
  */
@@ -43,63 +40,34 @@ public class Cuboid extends AbstractCuboid {
     }
 
     /**
-     * Checks whether the current cuboid intersects another cuboid
+     * Checks whether the current cuboid intersects another cuboid within the same world
      *
      * @param cuboid the other cuboid to check intersections against
      * @return whether the current cuboid intersects another cuboid
      */
     public boolean intersects(Cuboid cuboid) {
-        boolean intersects = false;
+        if (!isSameWorld(cuboid))
+            return false;
 
-        if (cuboid == null || world == null || cuboid.getWorld() == null || !world.equals(cuboid.getWorld()))
-            return intersects;
+        return super.intersects(cuboid);
+    }
 
-        if (this.equals(cuboid))
-            return true;
+    /**
+     * Checks whether the current cuboid and another cuboid within the same world share any point, including when one
+     * contains the other
+     *
+     * @param cuboid the other cuboid to check against
+     * @return whether the cuboids overlap
+     */
+    public boolean overlaps(Cuboid cuboid) {
+        if (!isSameWorld(cuboid))
+            return false;
+
+        return super.overlaps(cuboid);
+    }
 
-        List<List<Point2D>> faces = cuboid.getFacePoints();
-
-        for (int i = 0; i <= 2; i++) {
-            List<Point2D> facePoints = faces.get(i);
-
-            switch (i) {
-                case 0 -> {
-                    int minZ = (int) Math.floor(Math.min(cuboid.getZ1(), cuboid.getZ2()));
-                    int maxZ = (int) Math.floor(Math.max(cuboid.getZ1(), cuboid.getZ2()));
-
-                    for (Point2D point : facePoints) {
-                        if (isPointWithin(point.getX(), point.getY(), minZ))
-                            return true;
-                        if (isPointWithin(point.getX(), point.getY(), maxZ))
-                            return true;
-                    }
-                }
-                case 1 -> {
-                    int minX = (int) Math.floor(Math.min(cuboid.getX1(), cuboid.getX2()));
-                    int maxX = (int) Math.floor(Math.max(cuboid.getX1(), cuboid.getX2()));
-
-                    for (Point2D point : facePoints) {
-                        if (isPointWithin(minX, point.getY(), point.getX()))
-                            return true;
-                        if (isPointWithin(maxX, point.getY(), point.getX()))
-                            return true;
-                    }
-                }
-                default -> {
-                    int minY = (int) Math.floor(Math.min(cuboid.getY1(), cuboid.getY2()));
-                    int maxY = (int) Math.floor(Math.max(cuboid.getY1(), cuboid.getY2()));
-
-                    for (Point2D point : facePoints) {
-                        if (isPointWithin(point.getX(), minY, point.getY()))
-                            return true;
-                        if (isPointWithin(point.getX(), maxY, point.getY()))
-                            return true;
-                    }
-                }
-            }
-        }
-
-        return intersects;
+    private boolean isSameWorld(@Nullable Cuboid cuboid) {
+        return cuboid != null && world != null && cuboid.getWorld() != null && world.equals(cuboid.getWorld());
     }
 
     /**
@@ -0,0 +1,474 @@
+package net.sparkzz.shops.util;
+
+import net.milkbowl.vault.economy.Economy;
+import net.milkbowl.vault.economy.EconomyResponse;
+import org.bukkit.Bukkit;
+import org.bukkit.OfflinePlayer;
+import org.jetbrains.annotations.Nullable;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Sits in front of the Vault economy so trades don't wait on it, some economy plugins read and write a database on
+ * every call. Each player's balance is read from Vault once and kept alongside a ledger of the deposits and withdrawals
+ * that haven't been sent to Vault yet, the pending changes are settled in batches on a separate thread with one Vault
+ * call per player no matter how many trades they made since the last settlement. Balances read through the gateway are
+ * the last settled balance plus the pending changes
+ *
+ * <p>A change Vault rejects (e.g. the player spent the money elsewhere before a purchase was settled) isn't dropped,
+ * it's returned to the player's pending changes and tried again with an increasing delay. The player's balance is read
+ * from Vault again at the same time, so a rejected withdrawal leaves the player owing the amount and unable to spend
+ * through the gateway until it has been settled.</p>
+ *
+ * <p>Vault is only called by the settler thread, or by {@link #load(OfflinePlayer)} the first time a player's balance
+ * is needed. Balances are loaded ahead of time when players join, and anything that uses the gateway while holding a
+ * store's lock loads the player's balance before taking the lock, so Vault is never called while a store is locked.</p>
+ *
+ * <p>Accounts are kept by unique id while their players are online, once a player has left (or for a player who was
+ * only paid, such as the owner of a store) the account is dropped as soon as it has nothing left to settle.</p>
+ *
+ * @author Brendon Butler
+ */
+public class EconomyGateway {
+
+    // the number of milliseconds between settlements
+    private static final long SETTLE_INTERVAL = 250;
+    // the number of milliseconds a balance read from Vault is used for before it's read again in the background
+    private static final long BALANCE_TTL = 5_000;
+    // the longest number of milliseconds a rejected change waits before it's tried again
+    private static final long MAX_RETRY_DELAY = 60_000;
+
+    private final Economy economy;
+    private final Logger log;
+    private final Map<UUID, Account> accounts = new ConcurrentHashMap<>();
+    private final Set<Account> unsettled = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService settler;
+
+    /**
+     * Creates a gateway in front of the provided economy and starts settling pending changes to it
+     *
+     * @param economy the Vault economy the changes are settled to
+     * @param log the logger to report failed settlements to or null to use a logger of its own
+     */
+    public EconomyGateway(Economy economy, @Nullable Logger log) {
+        this.economy = economy;
+        this.log = (log != null) ? log : Logger.getLogger(EconomyGateway.class.getName());
+
+        settler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "Shops-Economy");
+            thread.setDaemon(true);
+            return thread;
+        });
+        settler.scheduleWithFixedDelay(() -> settle(false), SETTLE_INTERVAL, SETTLE_INTERVAL, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Gets the economy the gateway settles to
+     *
+     * @return the Vault economy
+     */
+    public Economy getEconomy() {
+        return economy;
+    }
+
+    /**
+     * Makes sure the player's balance has been read from Vault, the balance is read on the calling thread if it hasn't
+     * been read yet. This must be called before using the gateway while holding a store's lock
+     *
+     * @param player the player whose balance is needed
+     */
+    public void load(OfflinePlayer player) {
+        while (true) {
+            Account account = loadAccount(player);
+
+            synchronized (account) {
+                if (account.removed)
+                    continue;
+
+                account.online = true;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Reads the player's balance from Vault again in the background, the balance read before is used until then
+     *
+     * @param player the player whose balance is to be read
+     */
+    public void refresh(OfflinePlayer player) {
+        while (true) {
+            Account account = getAccount(player);
+
+            synchronized (account) {
+                if (account.removed)
+                    continue;
+
+                account.online = true;
+                scheduleRefresh(account);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Drops the player's account once they've left, an account with changes that haven't been settled yet is dropped
+     * once they have been
+     *
+     * @param player the player that left
+     */
+    public void unload(OfflinePlayer player) {
+        Account account = accounts.get(player.getUniqueId());
+
+        if (account == null)
+            return;
+
+        synchronized (account) {
+            account.online = false;
+            removeIfSettled(account);
+        }
+    }
+
+    /**
+     * Gets the player's balance including any changes that haven't been settled yet
+     *
+     * @param player the player to get the balance of
+     * @return the player's balance
+     */
+    public BigDecimal getBalance(OfflinePlayer player) {
+        Account account = loadAccount(player);
+
+        synchronized (account) {
+            return account.getBalance();
+        }
+    }
+
+    /**
+     * Checks whether the player's balance covers the provided amount
+     *
+     * @param player the player to be checked
+     * @param amount the amount to be covered
+     * @return whether the player has at least the provided amount
+     */
+    public boolean has(OfflinePlayer player, BigDecimal amount) {
+        return getBalance(player).compareTo(amount) >= 0;
+    }
+
+    /**
+     * Withdraws the amount from the player if their balance covers it, the withdrawal is settled with Vault later
+     *
+     * @param player the player to withdraw from
+     * @param amount the amount to be withdrawn
+     * @return whether the player's balance covered the amount
+     */
+    public boolean withdraw(OfflinePlayer player, BigDecimal amount) {
+        while (true) {
+            Account account = loadAccount(player);
+
+            synchronized (account) {
+                // the account was dropped after it was looked up, the change is made to the account replacing it
+                if (account.removed)
+                    continue;
+
+                if (account.getBalance().compareTo(amount) < 0)
+                    return false;
+
+                account.pending = account.pending.subtract(amount);
+                unsettled.add(account);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Deposits the amount to the player, the deposit is settled with Vault later
+     *
+     * @param player the player to deposit to
+     * @param amount the amount to be deposited
+     */
+    public void deposit(OfflinePlayer player, BigDecimal amount) {
+        while (true) {
+            Account account = getAccount(player);
+
+            synchronized (account) {
+                if (account.removed)
+                    continue;
+
+                account.pending = account.pending.add(amount);
+                unsettled.add(account);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Settles every pending change with Vault and waits for them to be settled, changes that were rejected before are
+     * tried again right away
+     */
+    public void flush() {
+        if (settler.isShutdown()) {
+            settle(true);
+            return;
+        }
+
+        try {
+            settler.submit(() -> settle(true)).get();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException exception) {
+            log.severe(String.format("Error settling economy changes: %s", exception.getCause().getMessage()));
+        }
+    }
+
+    /**
+     * Settles every pending change with Vault and stops settling, changes made through the gateway after it has been
+     * closed are settled by the next flush. Changes Vault still rejects are reported as they can't be settled later
+     */
+    public void close() {
+        flush();
+        settler.shutdown();
+
+        for (Account account : unsettled) {
+            synchronized (account) {
+                if (account.pending.signum() != 0)
+                    log.severe(String.format("Unable to settle %s for %s before closing, the change has been lost",
+                            account.pending, account.uuid));
+            }
+        }
+    }
+
+    private Account getAccount(OfflinePlayer player) {
+        return accounts.computeIfAbsent(player.getUniqueId(), Account::new);
+    }
+
+    /**
+     * Gets the player's account with its balance read from Vault, Vault is only called on this thread if the balance
+     * has never been read, an expired balance is read again in the background
+     */
+    private Account loadAccount(OfflinePlayer player) {
+        Account account = getAccount(player);
+
+        synchronized (account) {
+            if (account.settled != null) {
+                if (System.currentTimeMillis() - account.settledAt > BALANCE_TTL)
+                    scheduleRefresh(account);
+
+                return account;
+            }
+        }
+
+        // Vault is read without holding the account's monitor so other threads using the account aren't held up
+        BigDecimal balance = BigDecimal.valueOf(economy.getBalance(player));
+
+        synchronized (account) {
+            // the settler may have read it in the meantime, its balance is kept as it may include settled changes
+            if (account.settled == null) {
+                account.settled = balance;
+                account.settledAt = System.currentTimeMillis();
+            }
+
+            // the account of a player that isn't online is dropped by the next settlement unless it's in use by then
+            if (!account.online)
+                unsettled.add(account);
+        }
+
+        return account;
+    }
+
+    /**
+     * Queues the account's balance to be read by the settler thread, this must be called while holding the account's
+     * monitor
+     */
+    private void scheduleRefresh(Account account) {
+        if (account.refreshing)
+            return;
+
+        try {
+            settler.execute(() -> refreshBalance(account));
+            account.refreshing = true;
+        } catch (RejectedExecutionException exception) {
+            // the gateway has been closed, the balance read before is kept
+        }
+    }
+
+    /**
+     * Reads the account's balance from Vault, this is only run by the settler thread so no change is being sent to
+     * Vault while the balance is read and the pending changes stay on top of it
+     */
+    private void refreshBalance(Account account) {
+        BigDecimal balance = readBalance(Bukkit.getOfflinePlayer(account.uuid));
+
+        synchronized (account) {
+            account.refreshing = false;
+
+            if (balance != null) {
+                account.settled = balance;
+                account.settledAt = System.currentTimeMillis();
+            }
+        }
+    }
+
+    private @Nullable BigDecimal readBalance(OfflinePlayer player) {
+        try {
+            return BigDecimal.valueOf(economy.getBalance(player));
+        } catch (RuntimeException exception) {
+            log.severe(String.format("Error reading the balance of %s: %s", player.getName(), exception.getMessage()));
+            return null;
+        }
+    }
+
+    /**
+     * Sends each account's pending changes to Vault as a single deposit or withdrawal, this is only run by the settler
+     * thread (or the closing thread once the settler has stopped)
+     *
+     * @param retryNow whether changes that were rejected before are tried again without waiting for their delay
+     */
+    private void settle(boolean retryNow) {
+        long now = System.currentTimeMillis();
+
+        for (Account account : unsettled) {
+            BigDecimal delta, balance = null;
+            boolean loaded;
+
+            synchronized (account) {
+                // an account waiting to try a rejected change again stays unsettled until its delay has passed
+                if (!retryNow && account.retryAt > now)
+                    continue;
+
+                unsettled.remove(account);
+
+                if (account.pending.signum() == 0) {
+                    removeIfSettled(account);
+                    continue;
+                }
+
+                loaded = account.settled != null;
+            }
+
+            // the player is looked up for each settlement rather than kept, so a player that left isn't held on to
+            OfflinePlayer player = Bukkit.getOfflinePlayer(account.uuid);
+
+            // the settled balance is needed once the change is sent, so a deposit-only account reads it first
+            if (!loaded && (balance = readBalance(player)) == null) {
+                synchronized (account) {
+                    retryLater(account, now);
+                }
+                continue;
+            }
+
+            synchronized (account) {
+                // the account may have been loaded on another thread in the meantime, that balance is kept
+                if (account.settled == null) {
+                    account.settled = balance;
+                    account.settledAt = now;
+                }
+
+                delta = account.pending;
+
+                if (delta.signum() == 0)
+                    continue;
+
+                account.pending = BigDecimal.ZERO;
+                account.settling = delta;
+            }
+
+            EconomyResponse response = null;
+
+            try {
+                response = (delta.signum() > 0) ? economy.depositPlayer(player, delta.doubleValue())
+                        : economy.withdrawPlayer(player, delta.negate().doubleValue());
+            } catch (RuntimeException exception) {
+                log.severe(String.format("Error settling %s for %s: %s", delta, player.getName(), exception.getMessage()));
+            }
+
+            boolean success = response != null && response.transactionSuccess();
+
+            if (response != null && !success)
+                log.severe(String.format("Unable to settle %s for %s: %s", delta, player.getName(), response.errorMessage));
+
+            // a change that was rejected means the settled balance was wrong, so it's read again along with the first
+            // change that's accepted afterwards
+            balance = (!success || account.failures > 0) ? readBalance(player) : null;
+
+            synchronized (account) {
+                account.settling = BigDecimal.ZERO;
+
+                if (success) {
+                    account.settled = account.settled.add(delta);
+                    account.failures = 0;
+                    account.retryAt = 0;
+                } else {
+                    account.pending = account.pending.add(delta);
+                    retryLater(account, now);
+                }
+
+                if (balance != null) {
+                    account.settled = balance;
+                    account.settledAt = System.currentTimeMillis();
+                }
+
+                removeIfSettled(account);
+            }
+        }
+    }
+
+    /**
+     * Drops the account if its player isn't online and it has nothing left to settle, this must be called while
+     * holding the account's monitor
+     */
+    private void removeIfSettled(Account account) {
+        if (account.online || account.pending.signum() != 0 || account.settling.signum() != 0)
+            return;
+
+        account.removed = true;
+        accounts.remove(account.uuid, account);
+    }
+
+    /**
+     * Leaves the account's changes pending and tries them again after a delay that doubles with each failure, this
+     * must be called while holding the account's monitor
+     */
+    private void retryLater(Account account, long now) {
+        account.failures++;
+        account.retryAt = now + Math.min(SETTLE_INTERVAL << Math.min(account.failures, 8), MAX_RETRY_DELAY);
+        unsettled.add(account);
+    }
+
+    /**
+     * A player's settled balance along with the changes that haven't been settled yet, the fields are only used while
+     * holding the account's monitor
+     */
+    private static class Account {
+
+        private final UUID uuid;
+        // the balance last read from Vault plus the changes settled since, or null if it hasn't been read yet
+        private BigDecimal settled;
+        private long settledAt;
+        // changes that haven't been sent to Vault yet and changes that are being sent to Vault
+        private BigDecimal pending = BigDecimal.ZERO, settling = BigDecimal.ZERO;
+        // the number of times in a row the account's changes were rejected and when they're tried again
+        private int failures;
+        private long retryAt;
+        private boolean refreshing;
+        // whether the player is online, and whether the account has been dropped so changes go to a new account
+        private boolean online, removed;
+
+        private Account(UUID uuid) {
+            this.uuid = uuid;
+        }
+
+        private BigDecimal getBalance() {
+            return settled.add(settling).add(pending);
+        }
+    }
+}
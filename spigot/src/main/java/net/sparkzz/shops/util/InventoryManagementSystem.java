@@ -1,14 +1,14 @@
 package net.sparkzz.shops.util;
 
 import net.sparkzz.shops.Store;
+import net.sparkzz.shops.StoreItem;
+import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.PlayerInventory;
 
 import java.util.List;
-import java.util.ListIterator;
-import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -27,31 +27,19 @@ public class InventoryManagementSystem {
      * @return whether the provided quantity of material can be added to the player's inventory
      */
     public static boolean canInsert(Player player, Material material, int quantity) {
-        int availableSpace = getAvailableSpace(player.getInventory(), material);
-
-        return (quantity <= availableSpace);
+        return InventorySnapshot.of(player.getInventory(), material).canInsert(quantity);
     }
 
     /**
-     * Checks whether the provided material and quantity can be added to the player's inventory
+     * Checks whether all the provided item stacks can be added to the player's inventory together, the player's
+     * inventory is not changed
      *
      * @param player the player to have their inventory checked
      * @param items the item stacks to be checked if they can be added to the player's inventory
-     * @return whether the provided quantity of material can be added to the player's inventory
+     * @return whether all the provided item stacks can be added to the player's inventory
      */
     public static boolean canInsertAll(Player player, List<ItemStack> items) {
-        PlayerInventory inventory = player.getInventory();
-        boolean canInsertAll = true;
-
-        for (ItemStack item : items) {
-            int availableSpace = getAvailableSpace(inventory, item.getType());
-
-            if (item.getAmount() <= availableSpace)
-                inventory.addItem(item);
-            else canInsertAll = false;
-        }
-
-        return canInsertAll;
+        return SimulatedInventory.of(player.getInventory()).addAll(items);
     }
 
     /**
@@ -63,9 +51,7 @@ public class InventoryManagementSystem {
      * @return whether the provided quantity of material can be removed from the player's inventory
      */
     public static boolean canRemove(Player player, Material material, int quantity) {
-        int inInventory = countQuantity(player, material);
-
-        return (quantity <= inInventory);
+        return InventorySnapshot.of(player.getInventory(), material).containsAtLeast(quantity);
     }
 
     /**
@@ -89,17 +75,7 @@ public class InventoryManagementSystem {
      * @return the quantity of the provided material in the player's inventory
      */
     public static int countQuantity(Player player, Material material) {
-        ListIterator<ItemStack> iterator = player.getInventory().iterator();
-        int quantity = 0;
-
-        while (iterator.hasNext()) {
-            ItemStack stack = iterator.next();
-
-            if (stack != null && stack.getType().equals(material))
-                quantity += stack.getAmount();
-        }
-
-        return quantity;
+        return (material == null) ? 0 : InventorySnapshot.of(player.getInventory(), material).getCount();
     }
 
     /**
@@ -113,7 +89,7 @@ public class InventoryManagementSystem {
         int quantity = -1;
 
         if (store.containsMaterial(material)) {
-            quantity = store.getAttributes(material).get("quantity").intValue();
+            quantity = store.getItem(material).getQuantity();
 
             quantity = (quantity < 0) ? Integer.MAX_VALUE : quantity;
         }
@@ -121,29 +97,6 @@ public class InventoryManagementSystem {
         return quantity;
     }
 
-    /**
-     * Gets the available space in the player's inventory based on the material's max stack size, it will even check
-     * partial stacks of the input material
-     *
-     * @param inventory the player's inventory to be queried
-     * @param material the material to be used to query the player's inventory
-     * @return the available space based on the material's stack size and inventory space
-     */
-    private static int getAvailableSpace(PlayerInventory inventory, Material material) {
-        int availableSpace = 0;
-
-        for (int i = 0; i <= 35; i++) {
-            ItemStack stack = inventory.getItem(i);
-
-            if (stack == null)
-                availableSpace += material.getMaxStackSize();
-            else if (stack.getType().equals(material))
-                availableSpace += (stack.getMaxStackSize() - stack.getAmount());
-        }
-
-        return availableSpace;
-    }
-
     /**
      * Gets the available space in the store
      *
@@ -155,9 +108,9 @@ public class InventoryManagementSystem {
         int availableSpace = 0;
 
         if (!store.hasInfiniteStock() && store.containsMaterial(material)) {
-            Map<Material, Map<String, Number>> items = store.getItems();
-            int maxQuantity = items.get(material).get("max_quantity").intValue();
-            int curQuantity = items.get(material).get("quantity").intValue();
+            StoreItem item = store.getItem(material);
+            int maxQuantity = item.getMaxQuantity();
+            int curQuantity = item.getQuantity();
 
             availableSpace = (maxQuantity < 0) ? Integer.MAX_VALUE : maxQuantity - curQuantity;
         } else if (store.hasInfiniteStock() && store.containsMaterial(material))
@@ -167,21 +120,26 @@ public class InventoryManagementSystem {
     }
 
     /**
-     * Gets the current store based on the player's location
+     * Gets the current store based on the player's location, the store tracked for the player is used when the player
+     * hasn't been moved since it was last updated
      *
      * @param player the player to have its location checked for the current store
      * @return the store the player is currently located in
      */
     public static Optional<Store> locateCurrentStore(Player player) {
-        Optional<Store> store = Store.getDefaultStore(player.getWorld());
+        if (StoreTracker.isUpToDate(player)) {
+            Optional<Store> trackedStore = StoreTracker.getCurrentStore(player.getUniqueId());
+
+            return trackedStore.isPresent() ? trackedStore : Store.getDefaultStore(player.getWorld());
+        }
+
+        Location location = player.getLocation();
 
-        for (Store currentStore : Store.getStores()) {
-            if (currentStore.getCuboidLocation() != null && currentStore.getCuboidLocation().isPlayerWithin(player)) {
-                store = Optional.of(currentStore);
-                break;
-            }
+        for (SpatialIndex.Placement<Store> candidate : Store.STORES.getLocationsNear(location.getWorld(), location.getX(), location.getZ())) {
+            if (candidate.getCuboid().isPlayerWithin(player))
+                return Optional.of(candidate.getValue());
         }
 
-        return store;
+        return Store.getDefaultStore(player.getWorld());
     }
 }
\ No newline at end of file
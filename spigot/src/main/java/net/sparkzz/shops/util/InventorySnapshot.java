@@ -0,0 +1,199 @@
+package net.sparkzz.shops.util;
+
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.PlayerInventory;
+
+import java.util.Arrays;
+
+/**
+ * A single pass over the storage contents of a player's inventory for one item, holding how many of the item the player
+ * has, how many more would fit and which slots hold the item. The snapshot is kept up to date by its own changes, but
+ * any other change to the inventory makes it stale, so it should be taken and used within the same tick
+ *
+ * @author Brendon Butler
+ */
+public class InventorySnapshot {
+
+    // the amount of the item in each storage slot, 0 for an empty slot and -1 for a slot holding something else
+    private static final int OCCUPIED = -1;
+
+    private final PlayerInventory inventory;
+    private final ItemStack item;
+    private final int[] amounts;
+    private int count, availableSpace;
+
+    private InventorySnapshot(PlayerInventory inventory, ItemStack item) {
+        ItemStack[] contents = inventory.getStorageContents();
+        int maxStackSize = item.getMaxStackSize();
+
+        this.inventory = inventory;
+        this.item = item;
+        this.amounts = new int[contents.length];
+
+        for (int slot = 0; slot < contents.length; slot++) {
+            ItemStack stack = contents[slot];
+
+            if (stack == null || stack.getType() == Material.AIR) {
+                availableSpace += maxStackSize;
+            } else if (stack.isSimilar(item)) {
+                amounts[slot] = stack.getAmount();
+                count += stack.getAmount();
+                availableSpace += Math.max(0, maxStackSize - stack.getAmount());
+            } else {
+                amounts[slot] = OCCUPIED;
+            }
+        }
+    }
+
+    /**
+     * Takes a snapshot of the player's inventory for the provided material, only plain stacks of the material (without
+     * custom names, enchantments or other meta) are matched
+     *
+     * @param inventory the player's inventory to be scanned
+     * @param material the material to be scanned for
+     * @return the snapshot of the player's inventory
+     */
+    public static InventorySnapshot of(PlayerInventory inventory, Material material) {
+        return of(inventory, new ItemStack(material));
+    }
+
+    /**
+     * Takes a snapshot of the player's inventory for the provided item, stacks are matched if they're similar to the
+     * item regardless of their amount
+     *
+     * @param inventory the player's inventory to be scanned
+     * @param item the item to be scanned for
+     * @return the snapshot of the player's inventory
+     */
+    public static InventorySnapshot of(PlayerInventory inventory, ItemStack item) {
+        return new InventorySnapshot(inventory, item);
+    }
+
+    /**
+     * Gets the quantity of the item in the inventory
+     *
+     * @return the quantity of the item
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * Gets how many more of the item fit in the inventory, counting both the space left in the item's partial stacks
+     * and the empty slots
+     *
+     * @return the available space for the item
+     */
+    public int getAvailableSpace() {
+        return availableSpace;
+    }
+
+    /**
+     * Gets the storage slots holding the item, in slot order
+     *
+     * @return the slots holding the item
+     */
+    public int[] getMatchingSlots() {
+        int[] slots = new int[amounts.length];
+        int matching = 0;
+
+        for (int slot = 0; slot < amounts.length; slot++)
+            if (amounts[slot] > 0)
+                slots[matching++] = slot;
+
+        return Arrays.copyOf(slots, matching);
+    }
+
+    /**
+     * Checks whether the inventory holds at least the provided quantity of the item
+     *
+     * @param quantity the quantity to be checked
+     * @return whether the inventory holds at least the provided quantity
+     */
+    public boolean containsAtLeast(int quantity) {
+        return quantity <= count;
+    }
+
+    /**
+     * Checks whether the provided quantity of the item fits in the inventory
+     *
+     * @param quantity the quantity to be checked
+     * @return whether the provided quantity fits
+     */
+    public boolean canInsert(int quantity) {
+        return quantity <= availableSpace;
+    }
+
+    /**
+     * Adds the item to the inventory the way {@link PlayerInventory#addItem(ItemStack...)} does, topping up the partial
+     * stacks in slot order before filling empty slots, only the changed slots are written
+     *
+     * @param quantity the quantity to be added
+     * @return the quantity that didn't fit
+     */
+    public int insert(int quantity) {
+        int maxStackSize = item.getMaxStackSize();
+        int remaining = quantity;
+
+        for (int slot = 0; slot < amounts.length && remaining > 0; slot++)
+            if (amounts[slot] > 0 && amounts[slot] < maxStackSize)
+                remaining -= fill(slot, remaining, maxStackSize);
+
+        for (int slot = 0; slot < amounts.length && remaining > 0; slot++)
+            if (amounts[slot] == 0)
+                remaining -= fill(slot, remaining, maxStackSize);
+
+        return remaining;
+    }
+
+    /**
+     * Removes the item from the inventory the way {@link PlayerInventory#removeItem(ItemStack...)} does, taking from the
+     * stacks in slot order, only the changed slots are written
+     *
+     * @param quantity the quantity to be removed
+     * @return the quantity that couldn't be removed
+     */
+    public int remove(int quantity) {
+        int maxStackSize = item.getMaxStackSize();
+        int remaining = quantity;
+
+        for (int slot = 0; slot < amounts.length && remaining > 0; slot++) {
+            if (amounts[slot] <= 0)
+                continue;
+
+            int removed = Math.min(remaining, amounts[slot]);
+            int spaceBefore = Math.max(0, maxStackSize - amounts[slot]);
+
+            amounts[slot] -= removed;
+            remaining -= removed;
+            count -= removed;
+            // an emptied slot frees a whole stack of space, not just the space the stack had left
+            availableSpace += (amounts[slot] == 0) ? maxStackSize - spaceBefore : removed;
+            setSlot(slot);
+        }
+
+        return remaining;
+    }
+
+    private int fill(int slot, int quantity, int maxStackSize) {
+        int added = Math.min(quantity, maxStackSize - amounts[slot]);
+
+        amounts[slot] += added;
+        count += added;
+        availableSpace -= added;
+        setSlot(slot);
+        return added;
+    }
+
+    private void setSlot(int slot) {
+        if (amounts[slot] == 0) {
+            inventory.setItem(slot, null);
+            return;
+        }
+
+        ItemStack stack = item.clone();
+        stack.setAmount(amounts[slot]);
+        inventory.setItem(slot, stack);
+    }
+}
@@ -0,0 +1,452 @@
+package net.sparkzz.shops.util;
+
+import net.sparkzz.shops.Store;
+import org.bukkit.Material;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only journal of the changes made to store stock and funds between saves, so that they can be replayed after a
+ * crash. Entries are buffered in memory and written to disk in groups on a separate thread at the configured commit
+ * interval, so recording an entry never waits on the disk
+ *
+ * @author Brendon Butler
+ */
+public class Journal {
+
+    private static final String journalName = "journal.log";
+    private static final int INITIAL_BUFFER_SIZE = 16 * 1024;
+    // the largest record that will be read back, anything larger is treated as a corrupt (torn) write
+    private static final int MAX_RECORD_SIZE = 4 * 1024;
+    private static final byte ITEM_REMOVED = 1;
+    // an entry adding a new item also holds the item's max quantity and prices
+    private static final byte ITEM_ADDED = 2;
+
+    private static final Object bufferLock = new Object(), channelLock = new Object();
+    private static ByteBuffer pending = ByteBuffer.allocate(INITIAL_BUFFER_SIZE), spare = ByteBuffer.allocate(INITIAL_BUFFER_SIZE);
+    private static volatile FileChannel channel;
+    private static Path journalFile;
+    private static ScheduledExecutorService committer;
+    private static Logger log;
+    private static long sequence = 0;
+
+    /**
+     * Replays any entries that weren't included in the stores when they were last saved, then opens the journal for
+     * new entries
+     *
+     * @param dataFolder the plugin data folder containing the journal
+     * @param logger the logger to report journal errors to
+     * @param commitInterval the number of milliseconds between writes to disk
+     * @throws IOException if the journal can't be read or opened
+     */
+    public static void open(File dataFolder, Logger logger, long commitInterval) throws IOException {
+        close();
+
+        log = logger;
+        journalFile = dataFolder.toPath().resolve(journalName);
+        sequence = 0;
+
+        for (Store store : Store.getStores())
+            sequence = Math.max(sequence, store.getJournalSequence());
+
+        long validLength = replay();
+
+        channel = FileChannel.open(journalFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        // drops a partially written entry left behind by a crash
+        channel.truncate(validLength);
+        channel.position(validLength);
+
+        committer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "Shops-Journal");
+            thread.setDaemon(true);
+            return thread;
+        });
+        committer.scheduleWithFixedDelay(Journal::commit, commitInterval, commitInterval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Writes any buffered entries and closes the journal
+     */
+    public static void close() {
+        if (committer != null) {
+            committer.shutdown();
+            committer = null;
+        }
+
+        synchronized (channelLock) {
+            if (channel == null)
+                return;
+
+            commit();
+
+            try {
+                channel.close();
+            } catch (IOException exception) {
+                log.severe("Error closing the journal");
+            }
+
+            channel = null;
+        }
+    }
+
+    /**
+     * Checks whether the journal is open and recording entries
+     *
+     * @return whether the journal is open
+     */
+    public static boolean isOpen() {
+        return channel != null;
+    }
+
+    /**
+     * Gets the sequence number of the last recorded entry
+     *
+     * @return the last sequence number
+     */
+    public static long getSequence() {
+        synchronized (bufferLock) {
+            return sequence;
+        }
+    }
+
+    /**
+     * Records a change to the stock and/or funds of a store
+     *
+     * @param store the store that was changed
+     * @param material the material whose quantity changed or null if only the funds changed
+     * @param quantityDelta the change in quantity of the provided material
+     * @param fundsDelta the change in the store's balance
+     */
+    public static void record(Store store, @Nullable Material material, int quantityDelta, BigDecimal fundsDelta) {
+        append(store, material, quantityDelta, fundsDelta, (byte) 0, null);
+    }
+
+    /**
+     * Records a new material being added to a store, along with its max quantity and prices so the item can be
+     * recreated as it was added
+     *
+     * @param store the store that was changed
+     * @param material the material that was added
+     * @param quantity the quantity of the material that was added
+     * @param maxQuantity the max quantity of the material
+     * @param buyPrice the price customers pay to buy the material
+     * @param sellPrice the price customers are paid to sell the material
+     */
+    public static void recordItemAdded(Store store, Material material, int quantity, int maxQuantity, double buyPrice, double sellPrice) {
+        append(store, material, quantity, BigDecimal.ZERO, ITEM_ADDED, new ItemDetails(maxQuantity, buyPrice, sellPrice));
+    }
+
+    /**
+     * Records a material being removed from a store entirely
+     *
+     * @param store the store that was changed
+     * @param material the material that was removed
+     * @param quantityDelta the quantity of the material that was removed
+     */
+    public static void recordItemRemoved(Store store, Material material, int quantityDelta) {
+        append(store, material, quantityDelta, BigDecimal.ZERO, ITEM_REMOVED, null);
+    }
+
+    /**
+     * Removes the entries up to and including the provided sequence number, this is used once the changes they
+     * describe have been saved
+     *
+     * @param lastSavedSequence the sequence number of the last entry included in the save
+     */
+    public static void truncate(long lastSavedSequence) {
+        synchronized (channelLock) {
+            if (channel == null)
+                return;
+
+            commit();
+
+            try {
+                ByteBuffer journal = ByteBuffer.wrap(Files.readAllBytes(journalFile));
+                ByteBuffer remaining = ByteBuffer.allocate(journal.remaining());
+
+                while (journal.hasRemaining()) {
+                    int start = journal.position();
+                    Entry entry = Entry.read(journal);
+
+                    if (entry == null)
+                        break;
+
+                    if (entry.sequence > lastSavedSequence)
+                        remaining.put(journal.duplicate().position(start).limit(journal.position()));
+                }
+
+                remaining.flip();
+
+                Path tempFile = journalFile.resolveSibling(journalName + ".tmp");
+
+                try (FileChannel tempChannel = FileChannel.open(tempFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                    while (remaining.hasRemaining())
+                        tempChannel.write(remaining);
+
+                    tempChannel.force(false);
+                }
+
+                channel.close();
+                Files.move(tempFile, journalFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException exception) {
+                log.severe("Error truncating the journal");
+            }
+
+            if (!channel.isOpen()) {
+                try {
+                    channel = FileChannel.open(journalFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                    channel.position(channel.size());
+                } catch (IOException exception) {
+                    log.severe("Error reopening the journal, changes will no longer be journaled");
+                    channel = null;
+                }
+            }
+        }
+    }
+
+    private static void append(Store store, @Nullable Material material, int quantityDelta, BigDecimal fundsDelta, byte flags, @Nullable ItemDetails item) {
+        if (channel == null)
+            return;
+
+        byte[] materialName = (material == null) ? new byte[0] : material.name().getBytes(StandardCharsets.UTF_8);
+        byte[] funds = fundsDelta.toPlainString().getBytes(StandardCharsets.UTF_8);
+
+        synchronized (bufferLock) {
+            Entry entry = new Entry(++sequence, System.currentTimeMillis(), store.getUUID(), materialName, quantityDelta, flags, funds, item);
+            int size = entry.size();
+
+            if (pending.remaining() < size) {
+                ByteBuffer grown = ByteBuffer.allocate(Math.max(pending.capacity() * 2, pending.position() + size));
+                pending.flip();
+                grown.put(pending);
+                pending = grown;
+            }
+
+            entry.write(pending);
+            store.setJournalSequence(entry.sequence);
+        }
+    }
+
+    /**
+     * Writes the buffered entries to disk as a single group
+     */
+    private static void commit() {
+        synchronized (channelLock) {
+            ByteBuffer batch;
+
+            synchronized (bufferLock) {
+                if (channel == null || pending.position() == 0)
+                    return;
+
+                batch = pending;
+                pending = spare;
+            }
+
+            batch.flip();
+
+            try {
+                while (batch.hasRemaining())
+                    channel.write(batch);
+
+                channel.force(false);
+            } catch (IOException exception) {
+                log.severe("Error writing to the journal");
+            }
+
+            batch.clear();
+            spare = batch;
+        }
+    }
+
+    /**
+     * Applies the entries newer than the sequence number saved with each store
+     *
+     * @return the length of the journal up to the last complete entry
+     */
+    private static long replay() throws IOException {
+        if (!Files.exists(journalFile))
+            return 0;
+
+        ByteBuffer journal = ByteBuffer.wrap(Files.readAllBytes(journalFile));
+        int replayed = 0;
+
+        while (journal.hasRemaining()) {
+            int start = journal.position();
+            Entry entry = Entry.read(journal);
+
+            if (entry == null) {
+                journal.position(start);
+                log.warning("Ignoring a partially written journal entry");
+                break;
+            }
+
+            sequence = Math.max(sequence, entry.sequence);
+
+            Store store = Store.STORES.getStore(entry.store);
+
+            if (store == null || entry.sequence <= store.getJournalSequence())
+                continue;
+
+            entry.apply(store);
+            store.setJournalSequence(entry.sequence);
+            replayed++;
+        }
+
+        if (replayed > 0)
+            log.info(String.format("%d journal %s replayed", replayed, (replayed == 1) ? "entry" : "entries"));
+
+        return journal.position();
+    }
+
+    /**
+     * The max quantity and prices of an item that was added to a store
+     */
+    private static class ItemDetails {
+
+        private static final int SIZE = Integer.BYTES + Double.BYTES * 2;
+
+        private final int maxQuantity;
+        private final double buyPrice, sellPrice;
+
+        private ItemDetails(int maxQuantity, double buyPrice, double sellPrice) {
+            this.maxQuantity = maxQuantity;
+            this.buyPrice = buyPrice;
+            this.sellPrice = sellPrice;
+        }
+    }
+
+    /**
+     * A single journal entry, stored as its length, fields and a checksum of the fields
+     */
+    private static class Entry {
+
+        private final long sequence, timestamp;
+        private final UUID store;
+        private final byte[] material, funds;
+        private final int quantityDelta;
+        private final byte flags;
+        // only present for an entry adding a new item
+        private final @Nullable ItemDetails item;
+
+        private Entry(long sequence, long timestamp, UUID store, byte[] material, int quantityDelta, byte flags, byte[] funds, @Nullable ItemDetails item) {
+            this.sequence = sequence;
+            this.timestamp = timestamp;
+            this.store = store;
+            this.material = material;
+            this.quantityDelta = quantityDelta;
+            this.flags = flags;
+            this.funds = funds;
+            this.item = item;
+        }
+
+        private int bodySize() {
+            return Long.BYTES * 4 + Short.BYTES + material.length + Integer.BYTES + Byte.BYTES + Short.BYTES + funds.length
+                    + ((item == null) ? 0 : ItemDetails.SIZE);
+        }
+
+        private int size() {
+            return Integer.BYTES + bodySize() + Integer.BYTES;
+        }
+
+        private void write(ByteBuffer buffer) {
+            buffer.putInt(bodySize());
+
+            int start = buffer.position();
+
+            buffer.putLong(sequence).putLong(timestamp)
+                    .putLong(store.getMostSignificantBits()).putLong(store.getLeastSignificantBits())
+                    .putShort((short) material.length).put(material)
+                    .putInt(quantityDelta).put(flags)
+                    .putShort((short) funds.length).put(funds);
+
+            if (item != null)
+                buffer.putInt(item.maxQuantity).putDouble(item.buyPrice).putDouble(item.sellPrice);
+
+            buffer.putInt(checksum(buffer, start, buffer.position()));
+        }
+
+        /**
+         * Reads the next entry from the buffer
+         *
+         * @param buffer the buffer to read from
+         * @return the entry or null if the entry is incomplete or corrupt
+         */
+        private static @Nullable Entry read(ByteBuffer buffer) {
+            try {
+                int bodySize = buffer.getInt();
+
+                if (bodySize <= 0 || bodySize > MAX_RECORD_SIZE || buffer.remaining() < bodySize + Integer.BYTES)
+                    return null;
+
+                int start = buffer.position();
+                ByteBuffer body = buffer.slice(start, bodySize);
+
+                buffer.position(start + bodySize);
+
+                if (buffer.getInt() != checksum(buffer, start, start + bodySize))
+                    return null;
+
+                long sequence = body.getLong(), timestamp = body.getLong();
+                UUID store = new UUID(body.getLong(), body.getLong());
+                byte[] material = new byte[body.getShort()];
+                body.get(material);
+                int quantityDelta = body.getInt();
+                byte flags = body.get();
+                byte[] funds = new byte[body.getShort()];
+                body.get(funds);
+                ItemDetails item = ((flags & ITEM_ADDED) != 0) ? new ItemDetails(body.getInt(), body.getDouble(), body.getDouble()) : null;
+
+                return new Entry(sequence, timestamp, store, material, quantityDelta, flags, funds, item);
+            } catch (BufferUnderflowException | IndexOutOfBoundsException | NegativeArraySizeException exception) {
+                return null;
+            }
+        }
+
+        private void apply(Store store) {
+            if (material.length > 0) {
+                Material type = Material.matchMaterial(new String(material, StandardCharsets.UTF_8));
+
+                if (type != null) {
+                    if ((flags & ITEM_REMOVED) != 0)
+                        store.removeItem(type);
+                    // the item is recreated as it was added, even without any stock or with infinite stock
+                    else if (item != null) {
+                        store.removeItem(type);
+                        store.addItem(type, quantityDelta, item.maxQuantity, item.buyPrice, item.sellPrice);
+                    }
+                    // a missing item is never created with a negative quantity, as that would mean infinite stock
+                    else if (store.containsMaterial(type) || quantityDelta > 0)
+                        store.addItem(type, quantityDelta);
+                }
+            }
+
+            BigDecimal fundsDelta = new BigDecimal(new String(funds, StandardCharsets.UTF_8));
+
+            if (fundsDelta.signum() != 0)
+                store.setBalance(store.getBalance().add(fundsDelta));
+        }
+
+        private static int checksum(ByteBuffer buffer, int start, int end) {
+            CRC32 crc = new CRC32();
+            crc.update(buffer.duplicate().position(start).limit(end));
+            return (int) crc.getValue();
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package net.sparkzz.shops.util;
 
 import net.sparkzz.shops.Store;
+import net.sparkzz.shops.StoreItem;
 import org.bukkit.Material;
 import org.bukkit.command.CommandSender;
 import org.jetbrains.annotations.NotNull;
@@ -10,11 +11,8 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
-import java.util.TreeSet;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-import java.util.stream.Collectors;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static org.bukkit.ChatColor.*;
 
@@ -25,6 +23,8 @@ import static org.bukkit.ChatColor.*;
  */
 public class Notifier extends AbstractNotifier {
     private static final Map<CipherKey, String> messages = new HashMap<>();
+    // parsed message for each key, an entry is removed whenever the key's message changes
+    private static final Map<CipherKey, MessageTemplate> templates = new ConcurrentHashMap<>();
     private static final String lineSeparator = System.getProperty("line.separator");
 
     /**
@@ -48,6 +48,8 @@ public class Notifier extends AbstractNotifier {
             case "transfer" -> "transfer [<name>|<uuid>|<name>~<uuid>] <player>";
             case "deposit" -> "deposit <amount>";
             case "withdraw" -> "withdraw <amount>";
+            case "find" -> "find <material> [buy|sell] [<page-number>]";
+            case "audit" -> "audit overlaps [<page-number>]";
             default -> "default";
         };
 
@@ -64,7 +66,21 @@ public class Notifier extends AbstractNotifier {
      * @return the custom message if it exists or the default message
      */
     public static String compose(CipherKey cipherKey, Map<String, Object> attributes) {
-        return format((!messages.isEmpty() && messages.containsKey(cipherKey)) ? messages.get(cipherKey) : cipherKey.value, attributes);
+        return templates.computeIfAbsent(cipherKey, key -> MessageTemplate.compile(messages.getOrDefault(key, key.value)))
+                .render(attributes);
+    }
+
+    /**
+     * Renders the message of the CipherKey, either the default value or a custom value in the messages Map, with the
+     * values of the provided placeholders
+     *
+     * @param cipherKey the key for determining the message value
+     * @param placeholders the values of the placeholders in the message
+     * @return the rendered custom message if it exists or the rendered default message
+     */
+    public static String render(CipherKey cipherKey, @Nullable Placeholders placeholders) {
+        return templates.computeIfAbsent(cipherKey, key -> MessageTemplate.compile(messages.getOrDefault(key, key.value)))
+                .render(placeholders);
     }
 
     /**
@@ -75,22 +91,7 @@ public class Notifier extends AbstractNotifier {
      * @return the modified input string
      */
     public static String format(String input, @Nullable Map<String, Object> attributes) {
-        if (attributes != null && !attributes.isEmpty()) {
-            Pattern pattern = Pattern.compile("\\{([^}]+)}");
-            Matcher matcher = pattern.matcher(input);
-            StringBuilder builder = new StringBuilder();
-
-            while (matcher.find()) {
-                String placeholder = matcher.group(1);
-                Object replacement = attributes.get(placeholder);
-                matcher.appendReplacement(builder, (replacement == null ? "{" + placeholder + "}" : replacement.toString()));
-            }
-
-            matcher.appendTail(builder);
-            input = builder.toString();
-        }
-
-        return input;
+        return MessageTemplate.format(input, attributes);
     }
 
     /**
@@ -121,6 +122,16 @@ public class Notifier extends AbstractNotifier {
         target.sendMessage(compose(cipherKey, attributes));
     }
 
+    /**
+     * Renders the message with the context's placeholders and sends it to the context's sender
+     *
+     * @param context the context of the command invocation
+     * @param cipherKey the key for determining the message value
+     */
+    public static void process(CommandContext context, CipherKey cipherKey) {
+        context.getSender().sendMessage(render(cipherKey, context));
+    }
+
     /**
      * Resets the custom message to the default by deleting it from the messages Map
      *
@@ -128,6 +139,7 @@ public class Notifier extends AbstractNotifier {
      */
     public static void resetMessage(CipherKey cipherKey) {
         messages.remove(cipherKey);
+        templates.remove(cipherKey);
     }
 
     /**
@@ -138,6 +150,7 @@ public class Notifier extends AbstractNotifier {
      */
     public static void updateMessage(CipherKey cipherKey, String message) {
         messages.put(cipherKey, message);
+        templates.remove(cipherKey);
     }
 
     /**
@@ -146,14 +159,14 @@ public class Notifier extends AbstractNotifier {
     public static class MultilineBuilder {
 
         private final StringBuilder finalMessage;
-        private final Map<String, Object> attributes;
+        private final Placeholders placeholders;
 
         /**
          * Constructs a MultilineBuilder without any initial message
          */
         public MultilineBuilder() {
             finalMessage = new StringBuilder();
-            attributes = null;
+            placeholders = null;
         }
 
         /**
@@ -162,8 +175,17 @@ public class Notifier extends AbstractNotifier {
          * @param attributes the attributes to be parsed in the message
          */
         public MultilineBuilder(Map<String, Object> attributes) {
+            this(Placeholders.of(attributes));
+        }
+
+        /**
+         * Constructs a MultilineBuilder without any initial message, but adds placeholders such as a command's context
+         *
+         * @param placeholders the values of the placeholders to be parsed in the message
+         */
+        public MultilineBuilder(Placeholders placeholders) {
             finalMessage = new StringBuilder();
-            this.attributes = attributes;
+            this.placeholders = placeholders;
         }
 
         /**
@@ -173,7 +195,7 @@ public class Notifier extends AbstractNotifier {
          */
         public MultilineBuilder(String message) {
             finalMessage = new StringBuilder(message);
-            attributes = null;
+            placeholders = null;
         }
 
         /**
@@ -183,8 +205,8 @@ public class Notifier extends AbstractNotifier {
          * @param attributes the attributes to be parsed in the message
          */
         public MultilineBuilder(String message, Map<String, Object> attributes) {
-            finalMessage = new StringBuilder(format(message, attributes));
-            this.attributes = attributes;
+            placeholders = Placeholders.of(attributes);
+            finalMessage = new StringBuilder(MessageTemplate.format(message, placeholders));
         }
 
         /**
@@ -194,7 +216,7 @@ public class Notifier extends AbstractNotifier {
          * @return the current instance
          */
         public MultilineBuilder append(CipherKey key) {
-            return append(compose(key, attributes));
+            return append(render(key, placeholders));
         }
 
         /**
@@ -207,7 +229,7 @@ public class Notifier extends AbstractNotifier {
             if (!finalMessage.isEmpty())
                 finalMessage.append(lineSeparator);
 
-            finalMessage.append(format(message, attributes));
+            finalMessage.append(MessageTemplate.format(message, placeholders));
             return this;
         }
 
@@ -219,7 +241,7 @@ public class Notifier extends AbstractNotifier {
          * @return the current instance
          */
         public MultilineBuilder appendf(CipherKey key, @Nullable Object... args) {
-            String tempMessage = String.format(compose(key, attributes), args);
+            String tempMessage = String.format(render(key, placeholders), args);
             return append(tempMessage);
         }
 
@@ -271,8 +293,25 @@ public class Notifier extends AbstractNotifier {
      */
     public static class Paginator {
         private static final int pageSize = 10;
+        // rendered browse pages per store, stores are compared by identity and dropped once they're no longer referenced
+        private static final Map<Store, BrowsePages> browseCache = Collections.synchronizedMap(new WeakHashMap<>());
+
+        /**
+         * The sorted materials of a store and its pages as they're rendered, valid for a single catalog version
+         */
+        private static class BrowsePages {
+            private final long catalogVersion;
+            private final List<Material> materials;
+            private final String[] pages;
+
+            private BrowsePages(long catalogVersion, List<Material> materials) {
+                this.catalogVersion = catalogVersion;
+                this.materials = materials;
+                this.pages = new String[(int) Math.ceil(materials.size() / (double) pageSize)];
+            }
+        }
 
-        private static int calcMaterialColWidth(Set<Material> materials) {
+        private static int calcMaterialColWidth(List<Material> materials) {
             int materialColWidth = 9;
 
             for (Material material : materials) {
@@ -285,11 +324,11 @@ public class Notifier extends AbstractNotifier {
             return materialColWidth;
         }
 
-        private static int calcPriceColWidth(Set<String> values) {
+        private static int calcPriceColWidth(Store store, List<Material> materials) {
             int priceColWidth = 9;
 
-            for (String value : values) {
-                int priceWidth = value.length();
+            for (Material material : materials) {
+                int priceWidth = String.valueOf(store.getBuyPrice(material)).length();
                 if (priceWidth > priceColWidth) {
                     priceColWidth = priceWidth;
                 }
@@ -298,51 +337,150 @@ public class Notifier extends AbstractNotifier {
             return priceColWidth;
         }
 
-        private static Set<Material> getValuesForPage(List<Material> materials, int pageNumber) {
-            int startIndex = (pageNumber - 1) * pageSize;
-            int endIndex = Math.min(startIndex + pageSize, materials.size());
+        private static BrowsePages getBrowsePages(Store store) {
+            long catalogVersion = store.getCatalogVersion();
+            BrowsePages browsePages = browseCache.get(store);
 
-            if (startIndex >= endIndex || startIndex < 0) {
-                return Collections.emptySet();
+            if (browsePages == null || browsePages.catalogVersion != catalogVersion) {
+                browsePages = new BrowsePages(catalogVersion, store.getItems().keySet().stream().sorted().toList());
+                browseCache.put(store, browsePages);
             }
 
-            return new TreeSet<>(materials.subList(startIndex, endIndex));
+            return browsePages;
         }
 
         /**
-         * Builds the browse command page based on the input page number and store materials
+         * Builds the browse command page based on the input page number and store materials, pages are cached until the
+         * store is renamed or its items or prices change
          *
          * @param store the store containing the items available for sale by player and the store
          * @param pageNumber the input page number to determine what page to view
          * @return the page built containing the items in the store with the buy and sell price
          */
         public static String buildBrowsePage(Store store, int pageNumber) {
-            List<Material> materials = store.getItems().keySet().stream().sorted().toList();
-            Set<Material> valuesForPage = getValuesForPage(materials, pageNumber);
+            BrowsePages browsePages = getBrowsePages(store);
+
+            if (pageNumber < 1 || pageNumber > browsePages.pages.length) return null;
+
+            String page = browsePages.pages[pageNumber - 1];
+
+            if (page == null) {
+                page = renderBrowsePage(store, browsePages, pageNumber);
+                browsePages.pages[pageNumber - 1] = page;
+            }
 
-            if (valuesForPage.isEmpty()) return null;
+            return page;
+        }
 
-            int lastPage = (int) Math.ceil(materials.size() / (double) pageSize);
+        private static String renderBrowsePage(Store store, BrowsePages browsePages, int pageNumber) {
+            int startIndex = (pageNumber - 1) * pageSize;
+            List<Material> valuesForPage = browsePages.materials.subList(startIndex, Math.min(startIndex + pageSize, browsePages.materials.size()));
             int materialColWidth = calcMaterialColWidth(valuesForPage);
-            int buyColWidth = calcPriceColWidth(valuesForPage.stream().map(m -> String.valueOf(store.getAttributes(m).get("buy").doubleValue())).collect(Collectors.toSet()));
+            int buyColWidth = calcPriceColWidth(store, valuesForPage);
 
             MultilineBuilder builder = new MultilineBuilder();
             builder.appendf("%s==[ %s%s%s ]==", GRAY, DARK_AQUA, store.getName(), GRAY)
                     .appendf("%s%s| %s | %s", UNDERLINE, ("ITEM" + " ".repeat(materialColWidth - 2)), ("BUY PRICE" + " ".repeat(buyColWidth - 9)), "SELL PRICE");
 
             for (Material material : valuesForPage) {
-                double buyPrice = store.getAttributes(material).get("buy").doubleValue();
-                double sellPrice = store.getAttributes(material).get("sell").doubleValue();
+                String buyPrice = String.format("%.2f", store.getBuyPrice(material));
+                String sellPrice = String.format("%.2f", store.getSellPrice(material));
                 int materialPadding = materialColWidth - material.toString().length();
-                int buyPadding = buyColWidth - String.format("%.2f", buyPrice).length();
+                int buyPadding = buyColWidth - buyPrice.length();
 
                 builder.appendf("%s%s%s: %s%s%s| %s%s",
                         DARK_GREEN, (material + " ".repeat(materialPadding + 2)), RESET,
-                        GOLD, (String.format("%.2f", buyPrice) + " ".repeat(buyPadding + 1)), RESET,
-                        GOLD, String.format("%.2f", sellPrice));
+                        GOLD, (buyPrice + " ".repeat(buyPadding + 1)), RESET,
+                        GOLD, sellPrice);
+            }
+
+            builder.appendf("Page %d of %d", pageNumber, browsePages.pages.length);
+            return builder.build();
+        }
+
+        /**
+         * Builds a page of the overlaps found by an audit
+         *
+         * @param overlaps the overlaps found by the audit
+         * @param pageNumber the input page number to determine what page to view
+         * @return the page built containing the overlapping stores or null if the page doesn't exist
+         */
+        public static String buildAuditPage(List<OverlapAudit.Overlap> overlaps, int pageNumber) {
+            int pageCount = (int) Math.ceil(overlaps.size() / (double) pageSize);
+
+            if (pageNumber < 1 || pageNumber > pageCount) return null;
+
+            int startIndex = (pageNumber - 1) * pageSize;
+            MultilineBuilder builder = new MultilineBuilder();
+            builder.appendf("%s==[ %sOverlaps%s ]==", GRAY, DARK_AQUA, GRAY);
+
+            for (OverlapAudit.Overlap overlap : overlaps.subList(startIndex, Math.min(startIndex + pageSize, overlaps.size()))) {
+                OverlapAudit.Area store = overlap.getStore();
+                OverlapAudit.Area conflict = overlap.getConflict();
+                String world = store.getCuboid().getWorld().getName();
+
+                if (conflict.isOffLimits())
+                    builder.appendf("%s%s%s overlaps off-limits area %s#%s%s in %s%s",
+                            DARK_GREEN, store.getName(), RESET, GOLD, conflict.getName(), RESET, GOLD, world);
+                else builder.appendf("%s%s%s overlaps %s%s%s in %s%s",
+                        DARK_GREEN, store.getName(), RESET, DARK_GREEN, conflict.getName(), RESET, GOLD, world);
+            }
+
+            builder.appendf("Page %d of %d", pageNumber, pageCount);
+            return builder.build();
+        }
+
+        /**
+         * Builds a page of the stores buying or selling a material, only the listings on the requested page are read so
+         * the cost doesn't depend on how many stores list the material
+         *
+         * @param material the material the listings are for
+         * @param listings the listings of the stores, already ordered by price
+         * @param selling whether the stores are selling the material (otherwise buying it)
+         * @param pageNumber the input page number to determine what page to view
+         * @return the page built containing the stores and their prices or null if the page doesn't exist
+         */
+        public static String buildFindPage(Material material, List<PriceIndex.Listing<Store>> listings, boolean selling, int pageNumber) {
+            int pageCount = (int) Math.ceil(listings.size() / (double) pageSize);
+
+            if (pageNumber < 1 || pageNumber > pageCount) return null;
+
+            int startIndex = (pageNumber - 1) * pageSize;
+            List<PriceIndex.Listing<Store>> valuesForPage = listings.subList(startIndex, Math.min(startIndex + pageSize, listings.size()));
+            String[] prices = new String[valuesForPage.size()];
+            int storeColWidth = 5;
+            int priceColWidth = 9;
+
+            for (int i = 0; i < prices.length; i++) {
+                prices[i] = String.format("%.2f", valuesForPage.get(i).getPrice());
+                storeColWidth = Math.max(storeColWidth, valuesForPage.get(i).getValue().getName().length());
+                priceColWidth = Math.max(priceColWidth, prices[i].length());
+            }
+
+            MultilineBuilder builder = new MultilineBuilder();
+            builder.appendf("%s==[ %s%s%s ]==", GRAY, DARK_AQUA, material, GRAY);
+
+            if (selling)
+                builder.appendf("%s%s| %s | %s", UNDERLINE, ("STORE" + " ".repeat(storeColWidth - 3)), ("BUY PRICE" + " ".repeat(priceColWidth - 9)), "STOCK");
+            else builder.appendf("%s%s| %s", UNDERLINE, ("STORE" + " ".repeat(storeColWidth - 3)), "SELL PRICE");
+
+            for (int i = 0; i < prices.length; i++) {
+                Store store = valuesForPage.get(i).getValue();
+                String storeName = store.getName() + " ".repeat(storeColWidth - store.getName().length() + 2);
+
+                if (selling) {
+                    StoreItem item = store.getItem(material);
+                    int quantity = (item == null) ? 0 : item.getQuantity();
+                    String stock = (store.hasInfiniteStock() || quantity < 0) ? "∞" : String.valueOf(quantity);
+
+                    builder.appendf("%s%s%s: %s%s%s| %s%s",
+                            DARK_GREEN, storeName, RESET,
+                            GOLD, (prices[i] + " ".repeat(priceColWidth - prices[i].length() + 1)), RESET,
+                            GOLD, stock);
+                } else builder.appendf("%s%s%s: %s%s", DARK_GREEN, storeName, RESET, GOLD, prices[i]);
             }
 
-            builder.appendf("Page %d of %d", pageNumber, lastPage);
+            builder.appendf("Page %d of %d", pageNumber, pageCount);
             return builder.build();
         }
     }
@@ -0,0 +1,191 @@
+package net.sparkzz.shops.util;
+
+import net.sparkzz.shops.Store;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Finds the store locations that overlap another store or an off-limits area. The areas are copied on the main thread
+ * so the audit itself can run on any thread, and each world is checked with a sweep along the 'x' axis so only areas
+ * whose 'x' intervals overlap are ever compared
+ *
+ * @author Brendon Butler
+ */
+public class OverlapAudit {
+
+    /**
+     * Copies the locations of every registered store and every off-limits area, this must be called on the main thread
+     *
+     * @return the areas to be audited
+     */
+    public static List<Area> snapshot() {
+        List<Area> areas = new ArrayList<>();
+
+        for (Store store : Store.STORES)
+            for (Cuboid cuboid : store.getCuboidLocations())
+                areas.add(new Area(store.getUUID(), store.getName(), copy(cuboid)));
+
+        List<Cuboid> offLimitsCuboids = Config.getOffLimitsCuboids();
+
+        for (int i = 0; i < offLimitsCuboids.size(); i++)
+            areas.add(new Area(null, String.valueOf(i + 1), copy(offLimitsCuboids.get(i))));
+
+        return areas;
+    }
+
+    /**
+     * Finds every pair of stores that overlap each other and every store that overlaps an off-limits area, a pair is
+     * reported once even if several of their locations overlap
+     *
+     * @param areas the areas to be audited
+     * @return the overlaps found, grouped by world and ordered by where the overlap was found along the 'x' axis
+     */
+    public static List<Overlap> audit(List<Area> areas) {
+        Map<UUID, List<Area>> areasByWorld = new LinkedHashMap<>();
+
+        for (Area area : areas)
+            if (area.cuboid.getWorld() != null)
+                areasByWorld.computeIfAbsent(area.cuboid.getWorld().getUID(), k -> new ArrayList<>()).add(area);
+
+        List<Overlap> overlaps = new ArrayList<>();
+        Set<String> reported = new HashSet<>();
+
+        for (List<Area> worldAreas : areasByWorld.values()) {
+            worldAreas.sort(Comparator.comparingDouble(area -> area.cuboid.getMinX()));
+
+            // the areas whose 'x' interval may still overlap the areas that haven't been swept yet
+            List<Area> active = new ArrayList<>();
+
+            for (Area area : worldAreas) {
+                double minX = area.cuboid.getMinX();
+
+                active.removeIf(other -> other.cuboid.getMaxX() < minX);
+
+                for (Area other : active) {
+                    if (area.isOffLimits() && other.isOffLimits())
+                        continue;
+
+                    if (!area.isOffLimits() && area.storeUUID.equals(other.storeUUID))
+                        continue;
+
+                    if (!area.cuboid.overlaps(other.cuboid))
+                        continue;
+
+                    Area store = (area.isOffLimits() ? other : area);
+                    Area conflict = (area.isOffLimits() ? area : other);
+
+                    if (reported.add(pairKey(store, conflict)))
+                        overlaps.add(new Overlap(store, conflict));
+                }
+
+                active.add(area);
+            }
+        }
+
+        return overlaps;
+    }
+
+    private static String pairKey(Area store, Area conflict) {
+        if (conflict.isOffLimits())
+            return store.storeUUID + "#" + conflict.name;
+
+        return (store.storeUUID.compareTo(conflict.storeUUID) < 0)
+                ? store.storeUUID + ":" + conflict.storeUUID
+                : conflict.storeUUID + ":" + store.storeUUID;
+    }
+
+    private static Cuboid copy(Cuboid cuboid) {
+        return new Cuboid(cuboid.getWorld(), cuboid.getX1(), cuboid.getY1(), cuboid.getZ1(), cuboid.getX2(), cuboid.getY2(), cuboid.getZ2());
+    }
+
+    /**
+     * A copied store location or off-limits area
+     */
+    public static class Area {
+
+        private final UUID storeUUID;
+        private final String name;
+        private final Cuboid cuboid;
+
+        private Area(@Nullable UUID storeUUID, String name, Cuboid cuboid) {
+            this.storeUUID = storeUUID;
+            this.name = name;
+            this.cuboid = cuboid;
+        }
+
+        /**
+         * Gets the unique id of the store the area belongs to
+         *
+         * @return the store's unique id or null if the area is off-limits
+         */
+        public @Nullable UUID getStoreUUID() {
+            return storeUUID;
+        }
+
+        /**
+         * Gets the name of the store the area belongs to
+         *
+         * @return the store's name or the (1-based) position of the area in the off-limits list if the area is off-limits
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Gets the copied cuboid of the area
+         *
+         * @return the cuboid of the area
+         */
+        public Cuboid getCuboid() {
+            return cuboid;
+        }
+
+        /**
+         * Checks whether the area is an off-limits area rather than a store location
+         *
+         * @return whether the area is off-limits
+         */
+        public boolean isOffLimits() {
+            return storeUUID == null;
+        }
+    }
+
+    /**
+     * A store location overlapping another store or an off-limits area
+     */
+    public static class Overlap {
+
+        private final Area store, conflict;
+
+        private Overlap(Area store, Area conflict) {
+            this.store = store;
+            this.conflict = conflict;
+        }
+
+        /**
+         * Gets the store location that overlaps
+         *
+         * @return the overlapping store location
+         */
+        public Area getStore() {
+            return store;
+        }
+
+        /**
+         * Gets the other store location or the off-limits area that the store overlaps
+         *
+         * @return the overlapped store location or off-limits area
+         */
+        public Area getConflict() {
+            return conflict;
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package net.sparkzz.shops.util;
+
+import org.bukkit.Material;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Inverted index from materials to the values that buy or sell them, each material keeps its listings sorted by price so
+ * the cheapest offers to buy from and the best offers to sell to can be paged through without checking every value.
+ * Updating a listing is a binary search within the material's listings, reading a page is a sublist
+ *
+ * @param <T> the type of value being indexed
+ * @author Brendon Butler
+ */
+public class PriceIndex<T> {
+
+    // cheapest first, listings with the same price are kept in the order they were listed
+    private static final Comparator<Listing<?>> ASCENDING = Comparator.<Listing<?>>comparingDouble(listing -> listing.price)
+            .thenComparingLong(listing -> listing.sequence);
+    // highest first, listings with the same price are kept in the order they were listed
+    private static final Comparator<Listing<?>> DESCENDING = Comparator.<Listing<?>>comparingDouble(listing -> -listing.price)
+            .thenComparingLong(listing -> listing.sequence);
+
+    private final Map<Material, Listings<T>> selling = new EnumMap<>(Material.class);
+    private final Map<Material, Listings<T>> buying = new EnumMap<>(Material.class);
+    private final Map<T, Set<Material>> materials = new IdentityHashMap<>();
+    private long sequence = 0;
+
+    /**
+     * Adds, re-prices or removes the listings of a value for a material, a negative price means the value doesn't buy or
+     * sell the material
+     *
+     * @param value the value listing the material
+     * @param material the material being listed
+     * @param buyPrice the price customers pay to buy the material from the value
+     * @param sellPrice the price customers are paid to sell the material to the value
+     */
+    public void update(T value, Material material, double buyPrice, double sellPrice) {
+        boolean sells = update(selling, ASCENDING, value, material, buyPrice);
+        boolean buys = update(buying, DESCENDING, value, material, sellPrice);
+
+        if (sells || buys)
+            materials.computeIfAbsent(value, k -> EnumSet.noneOf(Material.class)).add(material);
+        else removeMaterial(value, material);
+    }
+
+    /**
+     * Removes the listings of a value for a material
+     *
+     * @param value the value listing the material
+     * @param material the material to be removed
+     */
+    public void remove(T value, Material material) {
+        update(value, material, -1D, -1D);
+    }
+
+    /**
+     * Removes every listing of a value
+     *
+     * @param value the value to be removed
+     */
+    public void removeAll(T value) {
+        Set<Material> listed = materials.remove(value);
+
+        if (listed == null)
+            return;
+
+        for (Material material : listed) {
+            update(selling, ASCENDING, value, material, -1D);
+            update(buying, DESCENDING, value, material, -1D);
+        }
+    }
+
+    /**
+     * Removes all listings from the index
+     */
+    public void clear() {
+        selling.clear();
+        buying.clear();
+        materials.clear();
+    }
+
+    /**
+     * Gets the listings of the values selling the material, cheapest first
+     *
+     * @param material the material to be queried
+     * @return the listings ordered by the price customers pay (this list must not be modified)
+     */
+    public List<Listing<T>> getSelling(Material material) {
+        Listings<T> listings = selling.get(material);
+
+        return (listings == null) ? Collections.emptyList() : listings.sorted;
+    }
+
+    /**
+     * Gets the listings of the values buying the material, best paying first
+     *
+     * @param material the material to be queried
+     * @return the listings ordered by the price customers are paid (this list must not be modified)
+     */
+    public List<Listing<T>> getBuying(Material material) {
+        Listings<T> listings = buying.get(material);
+
+        return (listings == null) ? Collections.emptyList() : listings.sorted;
+    }
+
+    private boolean update(Map<Material, Listings<T>> index, Comparator<Listing<?>> order, T value, Material material, double price) {
+        Listings<T> listings = index.get(material);
+        Listing<T> existing = (listings == null) ? null : listings.byValue.get(value);
+
+        if (existing != null) {
+            if (existing.price == price)
+                return true;
+
+            listings.sorted.remove(Collections.binarySearch(listings.sorted, existing, order));
+            listings.byValue.remove(value);
+        }
+
+        if (price < 0) {
+            if (listings != null && listings.sorted.isEmpty()) index.remove(material);
+
+            return false;
+        }
+
+        if (listings == null)
+            index.put(material, listings = new Listings<>());
+
+        Listing<T> listing = new Listing<>(value, price, sequence++);
+        int insertionPoint = -(Collections.binarySearch(listings.sorted, listing, order) + 1);
+
+        listings.sorted.add(insertionPoint, listing);
+        listings.byValue.put(value, listing);
+        return true;
+    }
+
+    private void removeMaterial(T value, Material material) {
+        Set<Material> listed = materials.get(value);
+
+        if (listed == null)
+            return;
+
+        listed.remove(material);
+
+        if (listed.isEmpty()) materials.remove(value);
+    }
+
+    /**
+     * The sorted listings of a single material along with each value's listing so it can be found again by price
+     */
+    private static class Listings<T> {
+        private final List<Listing<T>> sorted = new ArrayList<>();
+        private final Map<T, Listing<T>> byValue = new IdentityHashMap<>();
+    }
+
+    /**
+     * A value's price for a material
+     *
+     * @param <T> the type of value being indexed
+     */
+    public static class Listing<T> {
+
+        private final T value;
+        private final double price;
+        private final long sequence;
+
+        private Listing(T value, double price, long sequence) {
+            this.value = value;
+            this.price = price;
+            this.sequence = sequence;
+        }
+
+        /**
+         * Gets the value that listed the material
+         *
+         * @return the listing value
+         */
+        public T getValue() {
+            return value;
+        }
+
+        /**
+         * Gets the price the material is listed at
+         *
+         * @return the listed price
+         */
+        public double getPrice() {
+            return price;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package net.sparkzz.shops.util;
+
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.PlayerInventory;
+
+import java.util.Collection;
+
+/**
+ * An in-memory copy of the storage slots of a player's inventory, items are packed into the copy the same way
+ * {@link PlayerInventory#addItem(ItemStack...)} packs them into the real inventory, so whether several items fit can
+ * be worked out without touching the player's inventory. Once the items are known to fit the copy can be written back
+ * in a single change, it should be written back in the same tick it was taken
+ *
+ * @author Brendon Butler
+ */
+public class SimulatedInventory {
+
+    private final ItemStack[] slots;
+
+    private SimulatedInventory(ItemStack[] contents) {
+        slots = new ItemStack[contents.length];
+
+        for (int slot = 0; slot < contents.length; slot++)
+            if (contents[slot] != null && contents[slot].getType() != Material.AIR)
+                slots[slot] = contents[slot].clone();
+    }
+
+    /**
+     * Copies the storage slots of the player's inventory
+     *
+     * @param inventory the player's inventory to be copied
+     * @return the simulated copy of the player's inventory
+     */
+    public static SimulatedInventory of(PlayerInventory inventory) {
+        return new SimulatedInventory(inventory.getStorageContents());
+    }
+
+    /**
+     * Adds the item to the simulated inventory, topping up similar partial stacks in slot order before filling empty
+     * slots, no stack is filled past the item's max stack size
+     *
+     * @param item the item to be added
+     * @return the quantity of the item that didn't fit
+     */
+    public int add(ItemStack item) {
+        int maxStackSize = item.getMaxStackSize();
+        int remaining = item.getAmount();
+
+        for (int slot = 0; slot < slots.length && remaining > 0; slot++) {
+            ItemStack stack = slots[slot];
+
+            if (stack == null || stack.getAmount() >= maxStackSize || !stack.isSimilar(item))
+                continue;
+
+            int added = Math.min(remaining, maxStackSize - stack.getAmount());
+
+            stack.setAmount(stack.getAmount() + added);
+            remaining -= added;
+        }
+
+        for (int slot = 0; slot < slots.length && remaining > 0; slot++) {
+            if (slots[slot] != null)
+                continue;
+
+            int added = Math.min(remaining, maxStackSize);
+
+            slots[slot] = item.clone();
+            slots[slot].setAmount(added);
+            remaining -= added;
+        }
+
+        return remaining;
+    }
+
+    /**
+     * Adds each of the items to the simulated inventory in order, stopping at the first item that doesn't fully fit
+     *
+     * @param items the items to be added
+     * @return whether all the items fit
+     */
+    public boolean addAll(Collection<ItemStack> items) {
+        for (ItemStack item : items)
+            if (add(item) > 0)
+                return false;
+
+        return true;
+    }
+
+    /**
+     * Writes the simulated storage slots to the player's inventory as a single change
+     *
+     * @param inventory the player's inventory the simulation was copied from
+     */
+    public void applyTo(PlayerInventory inventory) {
+        ItemStack[] contents = new ItemStack[slots.length];
+
+        for (int slot = 0; slot < slots.length; slot++)
+            if (slots[slot] != null)
+                contents[slot] = slots[slot].clone();
+
+        inventory.setStorageContents(contents);
+    }
+}
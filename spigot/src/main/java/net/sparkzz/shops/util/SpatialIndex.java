@@ -0,0 +1,316 @@
+package net.sparkzz.shops.util;
+
+import org.bukkit.World;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Per-world spatial index keyed by chunk coordinates, each chunk maps to the cuboids that overlap it so that location
+ * lookups only have to check a handful of candidates instead of every value. A value may cover several cuboids, each
+ * cuboid is indexed on its own so lookups never have to check the cuboids of a value that are elsewhere. The lists
+ * held for each chunk are never changed once stored, they're replaced when a value is added or removed, so a list
+ * returned by a lookup stays valid without being copied while the index keeps changing
+ *
+ * @param <T> the type of value being indexed
+ * @author Brendon Butler
+ */
+public class SpatialIndex<T> {
+
+    // cuboids covering more chunks than this are kept in a per-world list rather than being spread across the grid
+    private static final int MAX_INDEXED_CHUNKS = 1024;
+
+    private final Map<UUID, Map<Long, List<Placement<T>>>> chunks = new HashMap<>();
+    private final Map<UUID, List<Placement<T>>> oversized = new HashMap<>();
+    private final Map<T, List<Placement<T>>> entries = new IdentityHashMap<>();
+    private int version = 0;
+
+    /**
+     * Adds or re-indexes a value based on the provided cuboid, values without a cuboid or world are tracked but will
+     * never be returned as a candidate
+     *
+     * @param value the value to be indexed
+     * @param cuboid the cuboid the value covers
+     */
+    public void put(T value, @Nullable Cuboid cuboid) {
+        putAll(value, (cuboid == null) ? Collections.emptyList() : Collections.singletonList(cuboid));
+    }
+
+    /**
+     * Adds or re-indexes a value based on the provided cuboids, cuboids without a world are ignored and values without
+     * any cuboids are tracked but will never be returned as a candidate
+     *
+     * @param value the value to be indexed
+     * @param cuboids the cuboids the value covers
+     */
+    public void putAll(T value, Collection<Cuboid> cuboids) {
+        remove(value);
+        version++;
+
+        List<Placement<T>> placements = new ArrayList<>(cuboids.size());
+        entries.put(value, placements);
+
+        for (Cuboid cuboid : cuboids) {
+            if (cuboid == null || cuboid.getWorld() == null)
+                continue;
+
+            Placement<T> placement = new Placement<>(value, cuboid);
+            placements.add(placement);
+
+            if (placement.isOversized()) {
+                oversized.merge(placement.world, List.of(placement), (current, added) -> with(current, placement));
+                continue;
+            }
+
+            Map<Long, List<Placement<T>>> worldChunks = chunks.computeIfAbsent(placement.world, k -> new HashMap<>());
+
+            for (int x = placement.minChunkX; x <= placement.maxChunkX; x++)
+                for (int z = placement.minChunkZ; z <= placement.maxChunkZ; z++)
+                    worldChunks.merge(chunkKey(x, z), List.of(placement), (current, added) -> with(current, placement));
+        }
+    }
+
+    /**
+     * Removes a value from the index
+     *
+     * @param value the value to be removed
+     * @return whether the value was indexed
+     */
+    public boolean remove(T value) {
+        List<Placement<T>> placements = entries.remove(value);
+
+        if (placements == null)
+            return false;
+
+        version++;
+
+        for (Placement<T> placement : placements) {
+            if (placement.isOversized()) {
+                oversized.computeIfPresent(placement.world, (world, current) -> without(current, placement));
+                continue;
+            }
+
+            Map<Long, List<Placement<T>>> worldChunks = chunks.get(placement.world);
+
+            if (worldChunks == null)
+                continue;
+
+            for (int x = placement.minChunkX; x <= placement.maxChunkX; x++)
+                for (int z = placement.minChunkZ; z <= placement.maxChunkZ; z++)
+                    worldChunks.computeIfPresent(chunkKey(x, z), (key, current) -> without(current, placement));
+
+            if (worldChunks.isEmpty()) chunks.remove(placement.world);
+        }
+
+        return true;
+    }
+
+    /**
+     * Checks whether the value is currently tracked by the index
+     *
+     * @param value the value to be checked
+     * @return whether the value is tracked by the index
+     */
+    public boolean contains(T value) {
+        return entries.containsKey(value);
+    }
+
+    /**
+     * Gets the version of the index, this changes every time a value is added, moved or removed so that callers can
+     * tell whether results they cached are still current
+     *
+     * @return the current version of the index
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    /**
+     * Removes all values from the index
+     */
+    public void clear() {
+        version++;
+        chunks.clear();
+        oversized.clear();
+        entries.clear();
+    }
+
+    /**
+     * Gets the candidate values whose cuboids overlap the chunk containing the provided coordinates, the candidates
+     * still need to be checked against their exact bounds
+     *
+     * @param world the world the coordinates are located within
+     * @param x the 'x' coordinate
+     * @param z the 'z' coordinate
+     * @return the candidate values for the chunk containing the provided coordinates (this list can't be modified)
+     */
+    public List<T> getCandidates(@Nullable World world, double x, double z) {
+        List<Placement<T>> placements = getPlacements(world, x, z);
+
+        if (placements.isEmpty())
+            return Collections.emptyList();
+
+        if (placements.size() == 1)
+            return Collections.singletonList(placements.get(0).value);
+
+        List<T> candidates = new ArrayList<>(placements.size());
+        Set<T> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        for (Placement<T> placement : placements)
+            if (seen.add(placement.value))
+                candidates.add(placement.value);
+
+        return Collections.unmodifiableList(candidates);
+    }
+
+    /**
+     * Gets the indexed cuboids that overlap the chunk containing the provided coordinates, a value appears once for each
+     * of its cuboids in the chunk and the cuboids still need to be checked against the exact coordinates
+     *
+     * @param world the world the coordinates are located within
+     * @param x the 'x' coordinate
+     * @param z the 'z' coordinate
+     * @return the placements for the chunk containing the provided coordinates (this list can't be modified)
+     */
+    public List<Placement<T>> getPlacements(@Nullable World world, double x, double z) {
+        if (world == null)
+            return Collections.emptyList();
+
+        UUID worldId = world.getUID();
+        Map<Long, List<Placement<T>>> worldChunks = chunks.get(worldId);
+        List<Placement<T>> worldOversized = oversized.get(worldId);
+        List<Placement<T>> inChunk = (worldChunks == null) ? null : worldChunks.get(chunkKey(toChunk(x), toChunk(z)));
+
+        if (worldOversized == null)
+            return (inChunk == null) ? Collections.emptyList() : inChunk;
+
+        if (inChunk == null)
+            return worldOversized;
+
+        List<Placement<T>> placements = new ArrayList<>(inChunk.size() + worldOversized.size());
+        placements.addAll(inChunk);
+        placements.addAll(worldOversized);
+
+        return Collections.unmodifiableList(placements);
+    }
+
+    /**
+     * Gets the values with at least one cuboid that overlaps the provided cuboid, only the chunks covered by the
+     * provided cuboid are checked unless it is too large to be indexed itself
+     *
+     * @param cuboid the cuboid to be checked
+     * @return the values overlapping the provided cuboid, each value is included once
+     */
+    public List<T> getOverlapping(Cuboid cuboid) {
+        World world = cuboid.getWorld();
+
+        if (world == null)
+            return Collections.emptyList();
+
+        UUID worldId = world.getUID();
+        Placement<T> query = new Placement<>(null, cuboid);
+        Set<T> overlapping = Collections.newSetFromMap(new IdentityHashMap<>());
+        List<T> values = new ArrayList<>();
+
+        if (query.isOversized()) {
+            for (List<Placement<T>> placements : entries.values())
+                collectOverlapping(placements, worldId, cuboid, overlapping, values);
+
+            return values;
+        }
+
+        Map<Long, List<Placement<T>>> worldChunks = chunks.get(worldId);
+
+        if (worldChunks != null)
+            for (int x = query.minChunkX; x <= query.maxChunkX; x++)
+                for (int z = query.minChunkZ; z <= query.maxChunkZ; z++)
+                    collectOverlapping(worldChunks.getOrDefault(chunkKey(x, z), Collections.emptyList()), worldId, cuboid, overlapping, values);
+
+        collectOverlapping(oversized.getOrDefault(worldId, Collections.emptyList()), worldId, cuboid, overlapping, values);
+        return values;
+    }
+
+    private static <T> void collectOverlapping(List<Placement<T>> placements, UUID worldId, Cuboid cuboid, Set<T> seen, List<T> values) {
+        for (Placement<T> placement : placements)
+            if (worldId.equals(placement.world) && !seen.contains(placement.value) && cuboid.overlaps(placement.cuboid) && seen.add(placement.value))
+                values.add(placement.value);
+    }
+
+    private static <P> List<P> with(List<P> list, P element) {
+        List<P> added = new ArrayList<>(list.size() + 1);
+        added.addAll(list);
+        added.add(element);
+
+        return Collections.unmodifiableList(added);
+    }
+
+    // returns null once the list is empty, so the chunk is removed from the index
+    private static <P> @Nullable List<P> without(List<P> list, P element) {
+        List<P> remaining = new ArrayList<>(list);
+        remaining.remove(element);
+
+        return remaining.isEmpty() ? null : Collections.unmodifiableList(remaining);
+    }
+
+    private static long chunkKey(int chunkX, int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+
+    private static int toChunk(double coordinate) {
+        return ((int) Math.floor(coordinate)) >> 4;
+    }
+
+    /**
+     * A single cuboid of an indexed value, along with the chunk bounds it was indexed with so it can be removed even if
+     * the value's cuboids have since changed
+     *
+     * @param <T> the type of value being indexed
+     */
+    public static class Placement<T> {
+
+        private final T value;
+        private final Cuboid cuboid;
+        private final UUID world;
+        private final int minChunkX, maxChunkX, minChunkZ, maxChunkZ;
+
+        private Placement(T value, Cuboid cuboid) {
+            this.value = value;
+            this.cuboid = cuboid;
+            world = cuboid.getWorld().getUID();
+            minChunkX = toChunk(cuboid.getMinX());
+            maxChunkX = toChunk(cuboid.getMaxX());
+            minChunkZ = toChunk(cuboid.getMinZ());
+            maxChunkZ = toChunk(cuboid.getMaxZ());
+        }
+
+        /**
+         * Gets the value the cuboid belongs to
+         *
+         * @return the indexed value
+         */
+        public T getValue() {
+            return value;
+        }
+
+        /**
+         * Gets the cuboid that was indexed
+         *
+         * @return the indexed cuboid
+         */
+        public Cuboid getCuboid() {
+            return cuboid;
+        }
+
+        private boolean isOversized() {
+            return (long) (maxChunkX - minChunkX + 1) * (maxChunkZ - minChunkZ + 1) > MAX_INDEXED_CHUNKS;
+        }
+    }
+}
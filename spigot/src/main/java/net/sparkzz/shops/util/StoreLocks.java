@@ -0,0 +1,73 @@
+package net.sparkzz.shops.util;
+
+import net.sparkzz.shops.AbstractStore;
+
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Guards the state of each store (its items, quantities and balance) so a store used from several region threads is
+ * only changed by one thread at a time. Rather than one lock per store, each store's unique id is mapped to one of a
+ * fixed number of locks, stores sharing a lock simply wait on each other while changes to stores on different locks
+ * happen in parallel. The locks are reentrant, so a change can call other changes to the same store
+ *
+ * @author Brendon Butler
+ */
+public class StoreLocks {
+
+    // a power of two so the lock is picked with a mask
+    private static final int STRIPES = 64;
+    private static final ReentrantLock[] locks = new ReentrantLock[STRIPES];
+
+    static {
+        for (int i = 0; i < STRIPES; i++)
+            locks[i] = new ReentrantLock();
+    }
+
+    /**
+     * Gets the lock guarding the provided store
+     *
+     * @param store the store to get the lock of
+     * @return the lock guarding the store
+     */
+    public static ReentrantLock of(AbstractStore store) {
+        int hash = store.getUUID().hashCode();
+
+        return locks[(hash ^ (hash >>> 16)) & (STRIPES - 1)];
+    }
+
+    /**
+     * Runs the provided change while holding the store's lock
+     *
+     * @param store the store being changed
+     * @param change the change to be run
+     */
+    public static void run(AbstractStore store, Runnable change) {
+        ReentrantLock lock = of(store);
+
+        lock.lock();
+        try {
+            change.run();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Runs the provided change or read while holding the store's lock
+     *
+     * @param store the store being changed or read
+     * @param change the change or read to be run
+     * @return the result of the change or read
+     */
+    public static <T> T call(AbstractStore store, Supplier<T> change) {
+        ReentrantLock lock = of(store);
+
+        lock.lock();
+        try {
+            return change.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,270 @@
+package net.sparkzz.shops.util;
+
+import net.sparkzz.shops.Store;
+import net.sparkzz.shops.StoreItem;
+import org.bukkit.Bukkit;
+import org.bukkit.Material;
+import org.bukkit.World;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.zip.CRC32;
+
+/**
+ * Reads and writes the binary store snapshot, a compact alternative to the HOCON store files for servers with a large
+ * number of stores
+ *
+ * <p>Layout, all values big-endian:</p>
+ * <pre>
+ * int    magic ("SHPS")
+ * short  format version
+ * int    name count, then each name as a short length and UTF-8 bytes (materials and worlds)
+ * int    store count, then each store as an int length and the store record
+ * int    CRC32 of everything before it
+ * </pre>
+ *
+ * <p>Names are interned in the table so each store refers to materials and worlds by index, UUIDs are stored as two
+ * longs and item prices are stored as doubles so they are restored exactly.</p>
+ *
+ * @author Brendon Butler
+ */
+public class StoreSnapshot {
+
+    static final int MAGIC = 0x53485053;
+    static final short VERSION = 1;
+
+    // the flags stored in each store record
+    private static final byte INF_FUNDS = 1, INF_STOCK = 1 << 1, HAS_OWNER = 1 << 2;
+    private static final int NO_NAME = -1;
+
+    /**
+     * Writes the provided stores to a binary snapshot
+     *
+     * @param path the file to be written
+     * @param stores the stores to be written
+     * @throws IOException if the file can't be written or a store can't be represented in the snapshot
+     */
+    public static void write(Path path, Collection<Store> stores) throws IOException {
+        Map<String, Integer> names = new LinkedHashMap<>();
+        List<ByteBuffer> records = new ArrayList<>(stores.size());
+        int size = Integer.BYTES + Short.BYTES + Integer.BYTES + Integer.BYTES + Integer.BYTES;
+
+        for (Store store : stores) {
+            ByteBuffer record = encode(store, names);
+
+            records.add(record);
+            size += Integer.BYTES + record.remaining();
+        }
+
+        byte[][] encodedNames = new byte[names.size()][];
+        int index = 0;
+
+        for (String name : names.keySet()) {
+            encodedNames[index++] = name.getBytes(StandardCharsets.UTF_8);
+            size += Short.BYTES + encodedNames[index - 1].length;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+
+        buffer.putInt(MAGIC).putShort(VERSION).putInt(encodedNames.length);
+
+        for (byte[] name : encodedNames)
+            buffer.putShort((short) name.length).put(name);
+
+        buffer.putInt(records.size());
+
+        for (ByteBuffer record : records)
+            buffer.putInt(record.remaining()).put(record);
+
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), 0, buffer.position());
+        buffer.putInt((int) crc.getValue());
+        buffer.flip();
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining())
+                channel.write(buffer);
+
+            channel.force(false);
+        }
+    }
+
+    /**
+     * Reads the stores from a binary snapshot, the stores aren't registered. The file is read into the heap rather than
+     * memory-mapped, a mapped file stays open until the mapping is garbage collected and Windows won't replace an open
+     * file, which the next save does
+     *
+     * @param path the file to be read
+     * @return the stores in the snapshot
+     * @throws IOException if the file can't be read, is corrupt or uses an unsupported format version
+     */
+    public static List<Store> read(Path path) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(path));
+
+        try {
+            if (buffer.limit() < Integer.BYTES * 2 || buffer.getInt() != MAGIC)
+                throw new IOException("Not a store snapshot");
+
+            CRC32 crc = new CRC32();
+            crc.update(buffer.duplicate().position(0).limit(buffer.limit() - Integer.BYTES));
+
+            if (buffer.getInt(buffer.limit() - Integer.BYTES) != (int) crc.getValue())
+                throw new IOException("Store snapshot is corrupt (checksum mismatch)");
+
+            short version = buffer.getShort();
+
+            if (version != VERSION)
+                throw new IOException(String.format("Unsupported store snapshot version %d", version));
+
+            String[] names = new String[buffer.getInt()];
+
+            for (int i = 0; i < names.length; i++)
+                names[i] = readString(buffer);
+
+            int count = buffer.getInt();
+            List<Store> stores = new ArrayList<>(count);
+
+            for (int i = 0; i < count; i++) {
+                int length = buffer.getInt();
+                int end = buffer.position() + length;
+
+                stores.add(decode(buffer.slice(buffer.position(), length), names));
+                buffer.position(end);
+            }
+
+            return stores;
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException exception) {
+            throw new IOException("Store snapshot is corrupt", exception);
+        }
+    }
+
+    private static ByteBuffer encode(Store store, Map<String, Integer> names) throws IOException {
+        byte[] name = store.getName().getBytes(StandardCharsets.UTF_8);
+        Map<Material, StoreItem> items = store.getItems();
+        List<Cuboid> locations = store.getCuboidLocations();
+        BigDecimal balance = store.getBalance();
+        byte flags = 0;
+
+        if (store.hasInfiniteFunds()) flags |= INF_FUNDS;
+        if (store.hasInfiniteStock()) flags |= INF_STOCK;
+        if (store.getOwner() != null) flags |= HAS_OWNER;
+
+        // the balance keeps its own scale so it is restored exactly
+        if (balance.scale() < 0)
+            balance = balance.setScale(0);
+
+        BigInteger unscaledBalance = balance.unscaledValue();
+
+        if (unscaledBalance.bitLength() > 63 || balance.scale() > Byte.MAX_VALUE)
+            throw new IOException(String.format("The balance of store %s is too large for a store snapshot", store.getUUID()));
+
+        ByteBuffer record = ByteBuffer.allocate(Long.BYTES * 5 + Short.BYTES + name.length + Byte.BYTES * 2
+                + Long.BYTES + Integer.BYTES + locations.size() * (Integer.BYTES + Double.BYTES * 6) + Integer.BYTES
+                + items.size() * (Integer.BYTES * 3 + Double.BYTES * 2));
+
+        putUUID(record, store.getUUID());
+        record.put(flags);
+
+        if (store.getOwner() != null)
+            putUUID(record, store.getOwner());
+
+        record.putShort((short) name.length).put(name);
+        record.putLong(unscaledBalance.longValue()).put((byte) balance.scale());
+        record.putLong(store.getJournalSequence());
+
+        record.putInt(locations.size());
+
+        for (Cuboid location : locations) {
+            World world = location.getWorld();
+
+            record.putInt((world == null) ? NO_NAME : intern(names, world.getName()));
+            record.putDouble(location.getX1()).putDouble(location.getY1()).putDouble(location.getZ1())
+                    .putDouble(location.getX2()).putDouble(location.getY2()).putDouble(location.getZ2());
+        }
+
+        record.putInt(items.size());
+
+        for (Map.Entry<Material, StoreItem> entry : items.entrySet()) {
+            StoreItem item = entry.getValue();
+
+            record.putInt(intern(names, entry.getKey().name()))
+                    .putInt(item.getQuantity())
+                    .putInt(item.getMaxQuantity())
+                    .putDouble(item.getBuyPrice())
+                    .putDouble(item.getSellPrice());
+        }
+
+        return record.flip();
+    }
+
+    private static Store decode(ByteBuffer record, String[] names) throws IOException {
+        UUID uuid = getUUID(record);
+        byte flags = record.get();
+        UUID owner = ((flags & HAS_OWNER) != 0) ? getUUID(record) : null;
+        Store store = Store.restore(uuid, readString(record), owner);
+
+        long unscaledBalance = record.getLong();
+        store.setBalance(BigDecimal.valueOf(unscaledBalance, record.get()));
+        store.setJournalSequence(record.getLong());
+        store.setInfiniteFunds((flags & INF_FUNDS) != 0);
+        store.setInfiniteStock((flags & INF_STOCK) != 0);
+
+        int locationCount = record.getInt();
+
+        for (int i = 0; i < locationCount; i++) {
+            int worldIndex = record.getInt();
+            World world = (worldIndex == NO_NAME) ? null : Bukkit.getWorld(names[worldIndex]);
+
+            store.addCuboidLocation(new Cuboid(world, record.getDouble(), record.getDouble(), record.getDouble(),
+                    record.getDouble(), record.getDouble(), record.getDouble()));
+        }
+
+        int itemCount = record.getInt();
+
+        for (int i = 0; i < itemCount; i++) {
+            Material material = Material.getMaterial(names[record.getInt()]);
+            int quantity = record.getInt(), maxQuantity = record.getInt();
+            double buyPrice = record.getDouble(), sellPrice = record.getDouble();
+
+            if (material == null)
+                throw new IOException(String.format("Store %s contains an unknown material", uuid));
+
+            store.getItems().put(material, new StoreItem(quantity, maxQuantity, buyPrice, sellPrice));
+        }
+
+        return store;
+    }
+
+    private static int intern(Map<String, Integer> names, String name) {
+        return names.computeIfAbsent(name, key -> names.size());
+    }
+
+    private static void putUUID(ByteBuffer buffer, UUID uuid) {
+        buffer.putLong(uuid.getMostSignificantBits()).putLong(uuid.getLeastSignificantBits());
+    }
+
+    private static UUID getUUID(ByteBuffer buffer) {
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getShort() & 0xFFFF];
+
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
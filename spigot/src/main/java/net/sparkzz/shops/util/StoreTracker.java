@@ -0,0 +1,205 @@
+package net.sparkzz.shops.util;
+
+import net.sparkzz.shops.Store;
+import net.sparkzz.shops.event.StoreEnterEvent;
+import net.sparkzz.shops.event.StoreLeaveEvent;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tracks the store each player is currently in as they move, firing a {@link StoreEnterEvent} or
+ * {@link StoreLeaveEvent} whenever a player crosses a store boundary
+ *
+ * @author Brendon Butler
+ */
+public class StoreTracker {
+
+    private static final Map<UUID, PlayerStatus> playerStatus = new ConcurrentHashMap<>();
+
+    /**
+     * Gets the store the player was in when they last moved, default stores aren't tracked as they have no bounds
+     *
+     * @param player the unique ID of the player
+     * @return the store the player is in or an empty optional if they aren't in a store or aren't being tracked
+     */
+    public static Optional<Store> getCurrentStore(UUID player) {
+        PlayerStatus status = playerStatus.get(player);
+
+        if (status == null || status.storeUUID == null)
+            return Optional.empty();
+
+        return Optional.ofNullable(Store.STORES.getStore(status.storeUUID));
+    }
+
+    /**
+     * Gets the number of players that are currently being tracked
+     *
+     * @return the number of tracked players
+     */
+    public static int getTrackedPlayerCount() {
+        return playerStatus.size();
+    }
+
+    /**
+     * Stops tracking the player, this is used when the player leaves the server and doesn't fire a leave event
+     *
+     * @param player the unique ID of the player
+     */
+    public static void untrack(UUID player) {
+        playerStatus.remove(player);
+    }
+
+    /**
+     * Checks whether the tracked store of the player still applies to the player's current location, this is false if
+     * the player has been moved without a move event or a store has been added, moved or removed since
+     *
+     * @param player the player to be checked
+     * @return whether the tracked store can be used in place of locating the player's store
+     */
+    public static boolean isUpToDate(Player player) {
+        PlayerStatus status = playerStatus.get(player.getUniqueId());
+
+        return status != null && status.isValidAt(player.getLocation());
+    }
+
+    /**
+     * Updates the tracked store of the player for their new location and fires the leave and enter events if the player
+     * has moved out of or into a store
+     *
+     * @param player the player that moved
+     * @param location the location the player moved to
+     */
+    public static void update(Player player, Location location) {
+        UUID uuid = player.getUniqueId();
+        PlayerStatus status = playerStatus.get(uuid);
+
+        // head rotations and movement within a block that can't cross a store boundary can be skipped
+        if (status != null && status.isSettledAt(location))
+            return;
+
+        Store previousStore = (status == null || status.storeUUID == null) ? null : Store.STORES.getStore(status.storeUUID);
+        PlayerStatus newStatus = locateStore(location, previousStore);
+        playerStatus.put(uuid, newStatus);
+
+        if (Objects.equals(newStatus.storeUUID, (previousStore == null) ? null : previousStore.getUUID()))
+            return;
+
+        if (previousStore != null)
+            Bukkit.getPluginManager().callEvent(new StoreLeaveEvent(player, previousStore));
+
+        if (newStatus.storeUUID != null)
+            Bukkit.getPluginManager().callEvent(new StoreEnterEvent(player, Store.STORES.getStore(newStatus.storeUUID)));
+    }
+
+    /**
+     * Finds the store at the provided location, the player's previous store is re-checked first and only the store
+     * locations near the location are considered otherwise
+     *
+     * @param location the location to be checked
+     * @param previousStore the store the player was last known to be in
+     * @return the status of the player at the provided location
+     */
+    private static PlayerStatus locateStore(Location location, @Nullable Store previousStore) {
+        World world = location.getWorld();
+        List<SpatialIndex.Placement<Store>> candidates = Store.STORES.getLocationsNear(world, location.getX(), location.getZ());
+        int blockX = location.getBlockX(), blockY = location.getBlockY(), blockZ = location.getBlockZ();
+
+        if (previousStore != null) {
+            for (SpatialIndex.Placement<Store> candidate : candidates) {
+                Cuboid cuboid = candidate.getCuboid();
+
+                if (candidate.getValue() == previousStore && isWithin(cuboid, location))
+                    return new PlayerStatus(previousStore, location, containsBlock(cuboid, blockX, blockY, blockZ));
+            }
+        }
+
+        Store currentStore = null;
+        boolean settled = true;
+
+        for (SpatialIndex.Placement<Store> candidate : candidates) {
+            Cuboid cuboid = candidate.getCuboid();
+
+            if (cuboid.getWorld() == null || !cuboid.getWorld().equals(world))
+                continue;
+
+            if (currentStore == null && isWithin(cuboid, location))
+                currentStore = candidate.getValue();
+
+            if (!containsBlock(cuboid, blockX, blockY, blockZ) && !excludesBlock(cuboid, blockX, blockY, blockZ))
+                settled = false;
+        }
+
+        return new PlayerStatus(currentStore, location, settled);
+    }
+
+    private static @Nullable UUID getWorldUID(Location location) {
+        World world = location.getWorld();
+
+        return (world == null) ? null : world.getUID();
+    }
+
+    private static boolean isWithin(@Nullable Cuboid cuboid, Location location) {
+        return cuboid != null && cuboid.getWorld() != null && cuboid.getWorld().equals(location.getWorld()) &&
+               cuboid.isPointWithin(location.getX(), location.getY(), location.getZ());
+    }
+
+    private static boolean containsBlock(@Nullable Cuboid cuboid, int x, int y, int z) {
+        return cuboid != null &&
+               cuboid.getMinX() <= x && x + 1 <= cuboid.getMaxX() &&
+               cuboid.getMinY() <= y && y + 1 <= cuboid.getMaxY() &&
+               cuboid.getMinZ() <= z && z + 1 <= cuboid.getMaxZ();
+    }
+
+    private static boolean excludesBlock(Cuboid cuboid, int x, int y, int z) {
+        return cuboid.getMaxX() < x || x + 1 <= cuboid.getMinX() ||
+               cuboid.getMaxY() < y || y + 1 <= cuboid.getMinY() ||
+               cuboid.getMaxZ() < z || z + 1 <= cuboid.getMinZ();
+    }
+
+    /**
+     * Tracks the store a player is in along with where they were when it was last checked, only unique IDs are kept so
+     * a tracked player never holds on to a store or world that has since been removed or unloaded. The block is
+     * "settled" when no store boundary passes through it, so any movement within it can't enter or exit a store until a
+     * store is added, moved or removed
+     */
+    private static class PlayerStatus {
+
+        private final UUID storeUUID, worldUID;
+        private final double x, y, z;
+        private final int blockX, blockY, blockZ, locationVersion;
+        private final boolean settled;
+
+        private PlayerStatus(@Nullable Store store, Location location, boolean settled) {
+            this.storeUUID = (store == null) ? null : store.getUUID();
+            this.locationVersion = Store.getLocationVersion();
+            this.worldUID = getWorldUID(location);
+            this.x = location.getX();
+            this.y = location.getY();
+            this.z = location.getZ();
+            this.blockX = location.getBlockX();
+            this.blockY = location.getBlockY();
+            this.blockZ = location.getBlockZ();
+            this.settled = settled;
+        }
+
+        private boolean isSettledAt(Location location) {
+            return settled && locationVersion == Store.getLocationVersion() && Objects.equals(worldUID, getWorldUID(location)) &&
+                   blockX == location.getBlockX() && blockY == location.getBlockY() && blockZ == location.getBlockZ();
+        }
+
+        private boolean isValidAt(Location location) {
+            return isSettledAt(location) || (locationVersion == Store.getLocationVersion() && Objects.equals(worldUID, getWorldUID(location)) &&
+                   x == location.getX() && y == location.getY() && z == location.getZ());
+        }
+    }
+}
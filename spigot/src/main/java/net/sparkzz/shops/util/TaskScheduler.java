@@ -0,0 +1,165 @@
+package net.sparkzz.shops.util;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Server;
+import org.bukkit.entity.Entity;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.function.Consumer;
+
+/**
+ * Schedules the plugin's tasks on the thread that owns what they work with. On Folia the server is split into regions
+ * that tick on their own threads, so entity tasks are run by the entity's scheduler and any other task by the global
+ * region scheduler. On any other server every task is run by the main thread through the Bukkit scheduler. The Folia
+ * schedulers are reached through reflection as they aren't part of the Spigot API the plugin is compiled against
+ *
+ * @author Brendon Butler
+ */
+public class TaskScheduler {
+
+    private static final boolean folia = isClassPresent("io.papermc.paper.threadedregions.RegionizedServer");
+    private static Method isOwnedByCurrentRegion, getEntityScheduler, runAtEntity;
+    private static Method getGlobalScheduler, executeGlobal, runGlobalAtFixedRate;
+    private static Method getAsyncScheduler, runAsyncNow;
+    private static Method cancelTask;
+
+    static {
+        if (folia) {
+            try {
+                Class<?> server = Server.class;
+                Class<?> entityScheduler = Class.forName("io.papermc.paper.threadedregions.scheduler.EntityScheduler");
+                Class<?> globalScheduler = Class.forName("io.papermc.paper.threadedregions.scheduler.GlobalRegionScheduler");
+                Class<?> asyncScheduler = Class.forName("io.papermc.paper.threadedregions.scheduler.AsyncScheduler");
+                Class<?> scheduledTask = Class.forName("io.papermc.paper.threadedregions.scheduler.ScheduledTask");
+
+                isOwnedByCurrentRegion = server.getMethod("isOwnedByCurrentRegion", Entity.class);
+                getEntityScheduler = Entity.class.getMethod("getScheduler");
+                runAtEntity = entityScheduler.getMethod("run", Plugin.class, Consumer.class, Runnable.class);
+                getGlobalScheduler = server.getMethod("getGlobalRegionScheduler");
+                executeGlobal = globalScheduler.getMethod("execute", Plugin.class, Runnable.class);
+                runGlobalAtFixedRate = globalScheduler.getMethod("runAtFixedRate", Plugin.class, Consumer.class, long.class, long.class);
+                getAsyncScheduler = server.getMethod("getAsyncScheduler");
+                runAsyncNow = asyncScheduler.getMethod("runNow", Plugin.class, Consumer.class);
+                cancelTask = scheduledTask.getMethod("cancel");
+            } catch (ClassNotFoundException | NoSuchMethodException exception) {
+                throw new ExceptionInInitializerError(exception);
+            }
+        }
+    }
+
+    /**
+     * Checks whether the server runs Folia's regionised multithreading
+     *
+     * @return whether the server is a Folia server
+     */
+    public static boolean isFolia() {
+        return folia;
+    }
+
+    /**
+     * Runs the task on the thread that owns the entity, the task is run right away if the calling thread already owns
+     * the entity, otherwise it's run on the owning thread's next tick. A task scheduled for an entity that has since
+     * been removed (e.g. a player that logged out) isn't run
+     *
+     * @param plugin the plugin the task belongs to
+     * @param entity the entity the task works with
+     * @param task the task to be run
+     */
+    public static void runAtEntity(Plugin plugin, Entity entity, Runnable task) {
+        if (folia) {
+            if ((boolean) invoke(isOwnedByCurrentRegion, Bukkit.getServer(), entity))
+                task.run();
+            else invoke(runAtEntity, invoke(getEntityScheduler, entity), plugin, (Consumer<Object>) scheduled -> task.run(), null);
+            return;
+        }
+
+        if (Bukkit.isPrimaryThread())
+            task.run();
+        else Bukkit.getScheduler().runTask(plugin, task);
+    }
+
+    /**
+     * Runs the task on the global region (the main thread when the server isn't a Folia server) during its next tick,
+     * this is used for tasks that don't work with any entity or location
+     *
+     * @param plugin the plugin the task belongs to
+     * @param task the task to be run
+     */
+    public static void runGlobal(Plugin plugin, Runnable task) {
+        if (folia)
+            invoke(executeGlobal, invoke(getGlobalScheduler, Bukkit.getServer()), plugin, task);
+        else Bukkit.getScheduler().runTask(plugin, task);
+    }
+
+    /**
+     * Runs the task on the global region repeatedly
+     *
+     * @param plugin the plugin the task belongs to
+     * @param task the task to be run
+     * @param delay the number of ticks before the task is first run
+     * @param period the number of ticks between each run
+     * @return the scheduled task, so it can be cancelled
+     */
+    public static Task runGlobalTimer(Plugin plugin, Runnable task, long delay, long period) {
+        if (folia) {
+            Object scheduled = invoke(runGlobalAtFixedRate, invoke(getGlobalScheduler, Bukkit.getServer()), plugin,
+                    (Consumer<Object>) ignored -> task.run(), Math.max(1, delay), Math.max(1, period));
+
+            return () -> invoke(cancelTask, scheduled);
+        }
+
+        BukkitTask scheduled = Bukkit.getScheduler().runTaskTimer(plugin, task, delay, period);
+
+        return scheduled::cancel;
+    }
+
+    /**
+     * Runs the task off the server's tick threads, the task must not work with entities, worlds or stores without
+     * taking a snapshot of them first
+     *
+     * @param plugin the plugin the task belongs to
+     * @param task the task to be run
+     */
+    public static void runAsync(Plugin plugin, Runnable task) {
+        if (folia)
+            invoke(runAsyncNow, invoke(getAsyncScheduler, Bukkit.getServer()), plugin, (Consumer<Object>) scheduled -> task.run());
+        else Bukkit.getScheduler().runTaskAsynchronously(plugin, task);
+    }
+
+    private static Object invoke(Method method, Object target, Object... args) {
+        try {
+            return method.invoke(target, args);
+        } catch (IllegalAccessException exception) {
+            throw new IllegalStateException(exception);
+        } catch (InvocationTargetException exception) {
+            if (exception.getCause() instanceof RuntimeException cause)
+                throw cause;
+
+            throw new IllegalStateException(exception.getCause());
+        }
+    }
+
+    private static boolean isClassPresent(String name) {
+        try {
+            Class.forName(name);
+            return true;
+        } catch (ClassNotFoundException exception) {
+            return false;
+        }
+    }
+
+    /**
+     * A scheduled task that can be cancelled whichever scheduler it was scheduled with
+     */
+    @FunctionalInterface
+    public interface Task {
+
+        /**
+         * Cancels the task, a run that has already started will still complete
+         */
+        void cancel();
+    }
+}
@@ -1,6 +1,5 @@
 package net.sparkzz.shops.util;
 
-import net.milkbowl.vault.economy.Economy;
 import net.sparkzz.shops.Shops;
 import net.sparkzz.shops.Store;
 import org.bukkit.Material;
@@ -13,10 +12,11 @@ import java.math.BigDecimal;
  * This helper class provides a transaction handler so that transactions can be built and verified before being
  * processed
  */
-public class Transaction extends Notifiable {
+public class Transaction {
 
-    private static final Economy econ = Shops.getEconomy();
     private final BigDecimal cost;
+    private final EconomyGateway econ;
+    private final InventorySnapshot snapshot;
     private final ItemStack itemStack;
     private final TransactionType type;
     private final Player player;
@@ -32,16 +32,33 @@ public class Transaction extends Notifiable {
      * @param type the provided type of transaction
      */
     public Transaction(Player player, ItemStack itemStack, TransactionType type) {
-        this.player = (Player) setAttribute("player", player);
+        this(player, itemStack, type, InventorySnapshot.of(player.getInventory(), itemStack));
+    }
+
+    /**
+     * Constructs the transaction with the player, item stack, transaction type and a snapshot of the player's inventory
+     * that was already taken for the item, the snapshot is used to both validate and process the transaction
+     *
+     * @param player the player associated with the transaction
+     * @param itemStack the item stack associated with the transaction
+     * @param type the provided type of transaction
+     * @param snapshot the snapshot of the player's inventory for the item, taken in the same tick
+     */
+    public Transaction(Player player, ItemStack itemStack, TransactionType type, InventorySnapshot snapshot) {
+        CommandContext context = new CommandContext(player);
+
+        this.econ = Shops.getEconomyGateway();
+        this.player = player;
         this.itemStack = itemStack;
-        this.type = (TransactionType) setAttribute("type", type);
-        this.transactionMessage = new Notifier.MultilineBuilder(getAttributes());
+        this.snapshot = snapshot;
+        this.type = type;
+        this.transactionMessage = new Notifier.MultilineBuilder(context);
 
-        setAttribute("material", itemStack.getType());
-        setAttribute("quantity", itemStack.getAmount());
+        context.setMaterial(itemStack.getType());
+        context.setQuantity(itemStack.getAmount());
 
-        store = (Store) setAttribute("store", InventoryManagementSystem.locateCurrentStore(player).orElse(null));
-        cost = BigDecimal.valueOf((Double) setAttribute("cost", switch (type) {
+        store = context.setStore(InventoryManagementSystem.locateCurrentStore(player).orElse(null));
+        cost = context.setCost(BigDecimal.valueOf(switch (type) {
             case PURCHASE -> (store.getBuyPrice(itemStack.getType()) * itemStack.getAmount());
             case SALE -> (store.getSellPrice(itemStack.getType()) * itemStack.getAmount());
         }));
@@ -51,7 +68,7 @@ public class Transaction extends Notifiable {
     private void validateFinances() {
         switch (type) {
             case PURCHASE -> {
-                if (cost.compareTo(BigDecimal.valueOf(econ.getBalance(player))) >= 0)
+                if (econ.has(player, cost))
                     financesReady = true;
 
                 if (!financesReady) transactionMessage.append(Notifier.CipherKey.INSUFFICIENT_FUNDS_PLAYER);
@@ -72,9 +89,9 @@ public class Transaction extends Notifiable {
 
         switch (type) {
             case PURCHASE -> {
-                boolean canInsertPlayer = InventoryManagementSystem.canInsert(player, material, itemQuantity);
+                boolean canInsertPlayer = snapshot.canInsert(itemQuantity);
                 boolean canWithdrawStore = store.containsMaterial(material) && InventoryManagementSystem.containsAtLeast(store, itemStack);
-                boolean storeIsSelling = store.containsMaterial(material) && store.getAttributes(material).get("buy").doubleValue() >= 0;
+                boolean storeIsSelling = store.containsMaterial(material) && store.getBuyPrice(material) >= 0;
 
                 if (!storeIsSelling) transactionMessage.append(Notifier.CipherKey.NOT_SELLING);
                 else if (!canInsertPlayer) transactionMessage.append(Notifier.CipherKey.INSUFFICIENT_INV_PLAYER);
@@ -84,8 +101,8 @@ public class Transaction extends Notifiable {
                     inventoryReady = true;
             }
             case SALE -> {
-                boolean canWithdrawPlayer = player.getInventory().containsAtLeast(itemStack, itemQuantity);
-                boolean storeIsBuying = store.containsMaterial(material) && store.getAttributes(material).get("sell").doubleValue() >= 0;
+                boolean canWithdrawPlayer = snapshot.containsAtLeast(itemQuantity);
+                boolean storeIsBuying = store.containsMaterial(material) && store.getSellPrice(material) >= 0;
                 boolean storeIsBuyingMore = storeIsBuying && InventoryManagementSystem.getAvailableSpace(store, material) >= itemQuantity;
 
                 if (!storeIsBuying) transactionMessage.append(Notifier.CipherKey.NOT_BUYING);
@@ -114,6 +131,25 @@ public class Transaction extends Notifiable {
         return transactionReady;
     }
 
+    /**
+     * Validates and processes the transaction as a single step for the store, the store's lock is held from the
+     * validation until the store has been changed so no other transaction can take the same stock or funds in between.
+     * Transactions for stores guarded by other locks are committed in parallel. A purchase is charged to the player
+     * before the store is changed, the rest of the player's side is processed once the store's lock has been released
+     *
+     * @return whether the transaction was ready and has been processed
+     */
+    public boolean commit() {
+        loadBalance();
+
+        boolean committed = StoreLocks.call(store, () -> validateReady() && chargeAndProcessStore());
+
+        if (committed)
+            processPlayer();
+
+        return committed;
+    }
+
     /**
      * Gets the total cost of the transaction
      *
@@ -142,26 +178,92 @@ public class Transaction extends Notifiable {
     }
 
     /**
-     * Processes the transaction for the player and store
+     * Processes the transaction for the player and store, the store is changed while holding its lock as the store may
+     * be used by players in other regions at the same time. Nothing is changed if the player can't afford a purchase.
+     * The transaction should be validated while holding the same lock, {@link #commit()} does both
+     *
+     * @return whether the transaction has been processed
+     */
+    public boolean process() {
+        loadBalance();
+
+        boolean processed = StoreLocks.call(store, this::chargeAndProcessStore);
+
+        if (processed)
+            processPlayer();
+
+        return processed;
+    }
+
+    /**
+     * Makes sure the balance of a player making a purchase has been read from Vault before the store's lock is taken,
+     * so the store is never locked while waiting on Vault
+     */
+    private void loadBalance() {
+        if (type == TransactionType.PURCHASE)
+            econ.load(player);
+    }
+
+    /**
+     * Charges the player for a purchase and, once they've been charged, changes the store, this must be called while
+     * holding the store's lock
+     *
+     * @return whether the player was charged and the store changed
+     */
+    private boolean chargeAndProcessStore() {
+        if (!chargePlayer()) {
+            transactionMessage.append(Notifier.CipherKey.INSUFFICIENT_FUNDS_PLAYER);
+            return false;
+        }
+
+        processStore();
+        return true;
+    }
+
+    /**
+     * Withdraws the cost of a purchase from the player, the withdrawal is settled with Vault later
+     *
+     * @return whether the player could afford the purchase (a sale always succeeds)
      */
-    public void process() {
+    private boolean chargePlayer() {
+        return type != TransactionType.PURCHASE || econ.withdraw(player, cost);
+    }
+
+    private void processStore() {
+        int quantityDelta = 0;
+
         switch (type) {
             case PURCHASE -> {
-                if (!store.hasInfiniteStock() && store.getAttributes(itemStack.getType()).get("quantity").intValue() >= 0)
+                if (!store.hasInfiniteStock() && !store.getItem(itemStack.getType()).hasInfiniteQuantity()) {
                     store.removeItem(itemStack);
+                    quantityDelta = -itemStack.getAmount();
+                }
 
                 store.addFunds(cost);
-                player.getInventory().addItem(itemStack);
-                econ.withdrawPlayer(player, cost.doubleValue());
+                Journal.record(store, itemStack.getType(), quantityDelta, cost);
             }
             case SALE -> {
-                if (!store.hasInfiniteStock() && store.getAttributes(itemStack.getType()).get("quantity").intValue() >= 0)
+                BigDecimal balance = store.getBalance();
+
+                if (!store.hasInfiniteStock() && !store.getItem(itemStack.getType()).hasInfiniteQuantity()) {
                     store.addItem(itemStack);
+                    quantityDelta = itemStack.getAmount();
+                }
                 if (!store.hasInfiniteFunds())
                     store.removeFunds(cost);
 
-                player.getInventory().removeItem(itemStack);
-                econ.depositPlayer(player, cost.doubleValue());
+                Journal.record(store, itemStack.getType(), quantityDelta, store.getBalance().subtract(balance));
+            }
+            default -> {}
+        }
+    }
+
+    private void processPlayer() {
+        switch (type) {
+            case PURCHASE -> snapshot.insert(itemStack.getAmount());
+            case SALE -> {
+                snapshot.remove(itemStack.getAmount());
+                econ.deposit(player, cost);
             }
             default -> {}
         }
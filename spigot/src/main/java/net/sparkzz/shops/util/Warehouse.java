@@ -4,12 +4,14 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import io.leangen.geantyref.TypeToken;
 import net.sparkzz.shops.Store;
+import net.sparkzz.shops.StoreItem;
 import org.bukkit.Bukkit;
 import org.bukkit.Material;
 import org.bukkit.World;
 import org.bukkit.plugin.java.JavaPlugin;
 import org.jetbrains.annotations.Nullable;
 import org.spongepowered.configurate.CommentedConfigurationNode;
+import org.spongepowered.configurate.ConfigurateException;
 import org.spongepowered.configurate.ConfigurationNode;
 import org.spongepowered.configurate.ConfigurationOptions;
 import org.spongepowered.configurate.hocon.HoconConfigurationLoader;
@@ -31,11 +33,19 @@ import java.io.InputStreamReader;
 import java.io.OutputStreamWriter;
 import java.lang.reflect.Type;
 import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.logging.Logger;
 import java.util.stream.DoubleStream;
 
@@ -49,9 +59,23 @@ public class Warehouse {
     private static CommentedConfigurationNode config, storeConfig;
     private static ConfigurationLoader<CommentedConfigurationNode> configLoader, storeLoader;
     private static Logger log;
+    private static ConfigurationOptions storeOptions;
     private static ObjectMapper<Store> storeMapper;
+    private static TaskScheduler.Task autosaveTask;
+    private static volatile long lastSnapshotTime, lastWriteTime;
+    private static final AtomicBoolean saving = new AtomicBoolean(false);
+    private static final Object writeLock = new Object();
     private static final String configName = "config.yml";
     private static final String storeConfigName = "data.shops";
+    private static final String storeDirectoryName = "stores";
+    private static final String storeFileExtension = ".shops";
+    private static final String snapshotName = "stores.bin";
+    private static final String binaryFormat = "binary", hoconFormat = "hocon";
+    private static File legacyStoreFile, storeDirectory, snapshotFile;
+    // whether the binary snapshot holds the saved version of every store
+    private static volatile boolean snapshotCurrent = false;
+    // the version of each store when it was last written to the store directory
+    private static final Map<UUID, Long> savedVersions = new ConcurrentHashMap<>();
 
     /**
      * Loads the configuration(s)
@@ -60,14 +84,14 @@ public class Warehouse {
      * @return whether the configuration(s) were loaded successfully
      */
     public static boolean loadConfig(JavaPlugin shops) {
-        log = JavaPlugin.getPlugin(shops.getClass()).getLogger();
+        log = shops.getLogger();
         TypeSerializerCollection serializers = ConfigurationOptions.defaults().serializers().childBuilder()
                 .register(new TypeToken<>() {}, new MaterialMapSerializer())
                 .register(TypeToken.get(Cuboid.class), new CuboidSerializer())
                 .register(TypeToken.get(World.class), new WorldSerializer())
                 .register(TypeToken.get(BigDecimal.class), new BigDecimalSerializer())
                 .build();
-        ConfigurationOptions options = ConfigurationOptions.defaults().serializers(serializers);
+        ConfigurationOptions options = storeOptions = ConfigurationOptions.defaults().serializers(serializers);
 
         File dataFolder = shops.getDataFolder();
         boolean dirExists = dataFolder.exists();
@@ -80,8 +104,10 @@ public class Warehouse {
         }
 
         File configFile = new File(dataFolder, configName);
-        File storeConfigFile = new File(dataFolder, storeConfigName);
-        storeLoader = HoconConfigurationLoader.builder().file(storeConfigFile).build();
+        legacyStoreFile = new File(dataFolder, storeConfigName);
+        storeDirectory = new File(dataFolder, storeDirectoryName);
+        snapshotFile = new File(dataFolder, snapshotName);
+        storeLoader = HoconConfigurationLoader.builder().file(legacyStoreFile).build();
         configLoader = YamlConfigurationLoader.builder()
                 .file(configFile)
                 .nodeStyle(NodeStyle.BLOCK).indent(2)
@@ -105,83 +131,472 @@ public class Warehouse {
         }
 
         Config.setRootNode(config);
-        loadStores();
+
+        if (!loadStores())
+            return false;
+
+        if (Config.getJournalCommitInterval() > 0) {
+            try {
+                Journal.open(dataFolder, log, Config.getJournalCommitInterval());
+            } catch (IOException exception) {
+                log.severe("Error opening the journal, changes will only be kept by saves");
+            }
+        }
+
         log.info("Configurations loaded successfully");
 
         return true;
     }
 
     /**
-     * Saves the config to data.shops in the plugin data folder
+     * Saves the config and any stores that have changed since they were last saved
      */
     public static void saveConfig() {
-        try {
-            saveStores();
-            configLoader.save(config);
-            storeLoader.save(storeConfig);
-            log.info("Config saved successfully");
-        } catch (IOException exception) {
-            log.severe("Error saving configuration");
+        // waits for any autosave that is still writing so the latest changes are written last
+        synchronized (writeLock) {
+            try {
+                saveStores(collectChanges());
+                configLoader.save(config);
+                log.info("Config saved successfully");
+            } catch (IOException exception) {
+                log.severe("Error saving configuration");
+            }
         }
     }
 
     /**
-     * Loads the stores from the data.shops file
+     * Schedules the stores to be autosaved based on the configured autosave interval, any previously scheduled
+     * autosave is cancelled
+     *
+     * @param shops the Shops plugin instance to schedule the autosave with
      */
-    private static void loadStores() {
-        try {
-            storeMapper = ObjectMapper.factory().get(TypeToken.get(Store.class));
+    public static void scheduleAutosave(JavaPlugin shops) {
+        cancelAutosave();
+
+        long interval = Config.getAutosaveInterval() * 20L;
+
+        if (interval <= 0)
+            return;
 
-            for (CommentedConfigurationNode currentNode : storeConfig.node("stores").childrenList())
-                Store.STORES.add(storeMapper.load(currentNode));
+        autosaveTask = TaskScheduler.runGlobalTimer(shops, () -> autosave(shops), interval, interval);
+    }
 
-            Optional<Store> nullDefaultStore = Config.getDefaultStore(Bukkit.getWorld("null"));
+    /**
+     * Cancels the scheduled autosave, an autosave that is already writing will still complete
+     */
+    public static void cancelAutosave() {
+        if (autosaveTask != null) {
+            autosaveTask.cancel();
+            autosaveTask = null;
+        }
+    }
+
+    /**
+     * Takes a snapshot of the changed stores on the calling (main or global region) thread and writes them on a
+     * separate thread, an autosave is skipped if the previous one is still writing
+     *
+     * @param shops the Shops plugin instance to run the write with
+     * @return whether the autosave was started
+     */
+    public static boolean autosave(JavaPlugin shops) {
+        if (!saving.compareAndSet(false, true)) {
+            log.warning("Skipping autosave, the previous autosave is still running");
+            return false;
+        }
 
-            if (nullDefaultStore.isPresent()) {
-                Store.setDefaultStore(null, nullDefaultStore.get());
-            } else {
-                for (World world : Bukkit.getWorlds()) {
-                    Optional<Store> defaultStoreForWorld = Config.getDefaultStore(world);
+        StoreChanges changes = collectChanges();
 
-                    defaultStoreForWorld.ifPresent(store -> Store.setDefaultStore(world, store));
+        TaskScheduler.runAsync(shops, () -> {
+            synchronized (writeLock) {
+                try {
+                    saveStores(changes);
+                } finally {
+                    saving.set(false);
                 }
             }
+        });
 
-            log.info(String.format("%d %s loaded", Store.STORES.size(), (Store.STORES.size() == 1) ? "store" : "stores"));
-        } catch (SerializationException e) {
-            throw new RuntimeException(e);
+        return true;
+    }
+
+    /**
+     * Gets the time taken to snapshot the changed stores during the last save
+     *
+     * @return the snapshot time in nanoseconds
+     */
+    public static long getLastSnapshotTime() {
+        return lastSnapshotTime;
+    }
+
+    /**
+     * Gets the time taken to serialize and write the changed stores during the last save
+     *
+     * @return the write time in nanoseconds
+     */
+    public static long getLastWriteTime() {
+        return lastWriteTime;
+    }
+
+    /**
+     * Gets the names of the formats the stores can be saved in
+     *
+     * @return the store formats
+     */
+    public static List<String> getStoreFormats() {
+        return List.of(hoconFormat, binaryFormat);
+    }
+
+    /**
+     * Writes every store in the provided format and makes it the configured format, the files of the previous format
+     * are left in place as an export of the stores at the time of the conversion
+     *
+     * @param format the format to convert the stores to, either hocon or binary
+     * @return whether the stores were converted
+     */
+    public static boolean convertStores(String format) {
+        boolean binary = format.equalsIgnoreCase(binaryFormat);
+        List<Store> stores = new ArrayList<>(Store.STORES.size());
+        // read before the snapshots are taken so the journal is never truncated past a change they don't include
+        long journalSequence = Journal.getSequence();
+
+        for (Store store : Store.getStores())
+            stores.add(store.snapshot());
+
+        synchronized (writeLock) {
+            try {
+                if (binary) {
+                    writeSnapshot(stores);
+                } else {
+                    if (!storeDirectory.isDirectory() && !storeDirectory.mkdirs())
+                        throw new IOException("unable to create the store directory");
+
+                    for (Store store : stores)
+                        writeStore(store);
+
+                    // removes the files of stores that were deleted while the binary format was in use
+                    File[] storeFiles = storeDirectory.listFiles((dir, name) -> name.endsWith(storeFileExtension));
+
+                    if (storeFiles != null)
+                        for (File storeFile : storeFiles) {
+                            UUID uuid = parseStoreFileName(storeFile.getName());
+
+                            if (uuid != null && Store.STORES.getStore(uuid) == null)
+                                Files.deleteIfExists(storeFile.toPath());
+                        }
+                }
+
+                savedVersions.clear();
+
+                for (Store store : stores)
+                    savedVersions.put(store.getUUID(), store.getVersion());
+
+                snapshotCurrent = binary;
+                Journal.truncate(journalSequence);
+                Config.setStoreFormat(binary ? binaryFormat : hoconFormat);
+                configLoader.save(config);
+            } catch (IOException exception) {
+                log.severe(String.format("Error converting stores to the %s format: %s", format, exception.getMessage()));
+                return false;
+            }
         }
+
+        log.info(String.format("%d %s converted to the %s format", stores.size(), (stores.size() == 1) ? "store" : "stores", format));
+        return true;
+    }
+
+    private static boolean useBinaryFormat() {
+        return Config.getStoreFormat().equalsIgnoreCase(binaryFormat);
     }
 
     /**
-     * Saves the stores to the data.stores file
+     * Loads the stores from the binary snapshot when the binary format is configured and the snapshot exists, otherwise
+     * from the store directory, or from the data.shops file if the stores haven't been moved to the store directory yet
+     *
+     * @return whether the stores were loaded
      */
-    private static void saveStores() {
-        try {
-            CommentedConfigurationNode storesNode = storeConfig.node("stores");
+    private static boolean loadStores() {
+        storeMapper = createStoreMapper();
+        savedVersions.clear();
+        snapshotCurrent = false;
 
-            // Clear the existing stores before saving the updated list
-            storesNode.set(new ArrayList<Store>());
+        if (useBinaryFormat() && snapshotFile.exists()) {
+            try {
+                for (Store store : StoreSnapshot.read(snapshotFile.toPath()))
+                    if (Store.STORES.add(store))
+                        savedVersions.put(store.getUUID(), store.getVersion());
+
+                snapshotCurrent = true;
+            } catch (IOException exception) {
+                // the store files may be older than the snapshot, so they aren't loaded in its place
+                log.severe(String.format("Error loading %s, disabling Shops plugin: %s", snapshotName, exception.getMessage()));
+                return false;
+            }
+        } else if (legacyStoreFile.exists()) {
+            try {
+                // these stores aren't in the store directory yet, so they are all written to it in the current format on
+                // the next save
+                for (CommentedConfigurationNode currentNode : storeConfig.node("stores").childrenList())
+                    Store.STORES.add(loadLegacyStore(currentNode));
+            } catch (SerializationException e) {
+                throw new RuntimeException(e);
+            }
+        } else {
+            File[] storeFiles = storeDirectory.listFiles((dir, name) -> name.endsWith(storeFileExtension));
 
-            int i = 0;
+            if (storeFiles != null) {
+                Arrays.sort(storeFiles);
 
-            for (Store store : Store.getStores()) {
-                ConfigurationNode storeNode = storesNode.node(i);
-                storeMapper.save(store, storeNode);
+                for (File storeFile : storeFiles) {
+                    try {
+                        Store store = loadStore(storeFileLoader(storeFile.toPath()).load());
 
-                if (store.getCuboidLocation() != null) {
-                    storeNode.node("location").set(store.getCuboidLocation());
+                        if (Store.STORES.add(store))
+                            savedVersions.put(store.getUUID(), store.getVersion());
+                    } catch (ConfigurateException exception) {
+                        log.severe(String.format("Unable to load store file %s", storeFile.getName()));
+                    }
                 }
+            }
+        }
+
+        Optional<Store> nullDefaultStore = Config.getDefaultStore(Bukkit.getWorld("null"));
+
+        if (nullDefaultStore.isPresent()) {
+            Store.setDefaultStore(null, nullDefaultStore.get());
+        } else {
+            for (World world : Bukkit.getWorlds()) {
+                Optional<Store> defaultStoreForWorld = Config.getDefaultStore(world);
 
-                i++;
+                defaultStoreForWorld.ifPresent(store -> Store.setDefaultStore(world, store));
             }
+        }
+
+        log.info(String.format("%d %s loaded", Store.STORES.size(), (Store.STORES.size() == 1) ? "store" : "stores"));
+        return true;
+    }
+
+    /**
+     * Loads a store from its node
+     *
+     * @param node the node containing the store
+     * @return the loaded store, which isn't registered
+     */
+    private static Store loadStore(ConfigurationNode node) throws SerializationException {
+        Store store = storeMapper.load(node);
+        List<Cuboid> locations = new ArrayList<>(store.getCuboidLocations());
+
+        // cuboids without any coordinates are deserialized as null
+        if (locations.removeIf(Objects::isNull))
+            store.setCuboidLocations(locations);
+
+        return store;
+    }
+
+    /**
+     * Loads a store from the data.shops file, the single location of stores saved before they could have several
+     * locations is moved to the front of the store's locations
+     *
+     * @param node the node containing the store
+     * @return the loaded store, which isn't registered
+     */
+    private static Store loadLegacyStore(ConfigurationNode node) throws SerializationException {
+        Store store = loadStore(node);
+        ConfigurationNode locationNode = node.node("location");
+        Cuboid location = locationNode.virtual() ? null : locationNode.get(Cuboid.class);
+
+        if (location != null) {
+            List<Cuboid> locations = new ArrayList<>(store.getCuboidLocations());
 
-            log.info(String.format("%d %s saved", i, (Store.STORES.size() == 1) ? "store" : "stores"));
+            locations.add(0, location);
+            store.setCuboidLocations(locations);
+        }
+
+        return store;
+    }
+
+    private static ObjectMapper<Store> createStoreMapper() {
+        try {
+            return ObjectMapper.factory().get(TypeToken.get(Store.class));
         } catch (SerializationException e) {
             throw new RuntimeException(e);
         }
     }
 
+    /**
+     * Collects detached copies of the stores that have changed since they were last saved along with the stores that
+     * have been deleted, this must be called on the main thread
+     *
+     * @return the changes to be saved
+     */
+    private static StoreChanges collectChanges() {
+        long start = System.nanoTime();
+        StoreChanges changes = new StoreChanges();
+
+        // stores keep changing on region threads while they are copied, so the sequence is read before any store is
+        // copied, every entry up to it belongs to a change that the copies include
+        changes.journalSequence = Journal.getSequence();
+
+        for (Store store : Store.getStores()) {
+            Long savedVersion = savedVersions.get(store.getUUID());
+
+            if (savedVersion == null || savedVersion != store.getVersion())
+                changes.changed.add(store.snapshot());
+        }
+
+        for (UUID uuid : savedVersions.keySet())
+            if (Store.STORES.getStore(uuid) == null)
+                changes.deleted.add(uuid);
+
+        // the binary snapshot holds every store, so it is written in full whenever anything has changed
+        if (useBinaryFormat() && (!snapshotCurrent || !changes.changed.isEmpty() || !changes.deleted.isEmpty())) {
+            changes.snapshot = true;
+            changes.changed.clear();
+
+            for (Store store : Store.getStores())
+                changes.changed.add(store.snapshot());
+        }
+
+        changes.total = Store.STORES.size();
+        lastSnapshotTime = System.nanoTime() - start;
+
+        return changes;
+    }
+
+    /**
+     * Writes each changed store to its own file in the store directory and deletes the files of deleted stores, so
+     * the cost of a save depends on the number of changes rather than the number of stores
+     *
+     * @param changes the changes to be saved
+     */
+    private static void saveStores(StoreChanges changes) {
+        long start = System.nanoTime();
+        int failed = 0;
+
+        if (changes.snapshot) {
+            try {
+                writeSnapshot(changes.changed);
+
+                for (Store store : changes.changed)
+                    savedVersions.put(store.getUUID(), store.getVersion());
+
+                for (UUID uuid : changes.deleted)
+                    savedVersions.remove(uuid);
+
+                snapshotCurrent = true;
+            } catch (IOException exception) {
+                failed = changes.changed.size();
+                log.severe(String.format("Error saving %s: %s", snapshotName, exception.getMessage()));
+            }
+        } else if (!storeDirectory.isDirectory() && !storeDirectory.mkdirs()) {
+            log.severe("Error creating store directory, stores were not saved");
+            return;
+        } else failed = saveStoreFiles(changes);
+
+        if (failed == 0) {
+            // every journal entry recorded before the snapshot is now reflected in the saved stores
+            Journal.truncate(changes.journalSequence);
+
+            // once every store has been written, the old single file is no longer needed
+            if (legacyStoreFile.exists() && !legacyStoreFile.renameTo(new File(legacyStoreFile.getPath() + ".bak")))
+                log.warning(String.format("Unable to rename %s after moving the stores to the store directory", storeConfigName));
+        }
+
+        lastWriteTime = System.nanoTime() - start;
+        log.info(String.format("%d of %d %s saved, %d deleted (snapshot: %.2fms, write: %.2fms)",
+                changes.changed.size() - failed, changes.total, (changes.total == 1) ? "store" : "stores",
+                changes.deleted.size(), lastSnapshotTime / 1_000_000D, lastWriteTime / 1_000_000D));
+    }
+
+    /**
+     * Writes the changed stores to their files in the store directory and deletes the files of deleted stores
+     *
+     * @param changes the changes to be saved
+     * @return the number of stores that couldn't be written or deleted
+     */
+    private static int saveStoreFiles(StoreChanges changes) {
+        int failed = 0;
+
+        for (Store store : changes.changed) {
+            try {
+                writeStore(store);
+                savedVersions.put(store.getUUID(), store.getVersion());
+            } catch (IOException exception) {
+                failed++;
+                log.severe(String.format("Error saving store %s", store.getUUID()));
+            }
+        }
+
+        for (UUID uuid : changes.deleted) {
+            try {
+                Files.deleteIfExists(storeFile(uuid));
+                savedVersions.remove(uuid);
+            } catch (IOException exception) {
+                failed++;
+                log.severe(String.format("Error deleting store file for %s", uuid));
+            }
+        }
+
+        return failed;
+    }
+
+    /**
+     * Writes the provided stores to the binary snapshot, the file is replaced atomically
+     *
+     * @param stores every store
+     */
+    private static void writeSnapshot(List<Store> stores) throws IOException {
+        Path tempFile = snapshotFile.toPath().resolveSibling(snapshotName + ".tmp");
+
+        StoreSnapshot.write(tempFile, stores);
+        Files.move(tempFile, snapshotFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Writes a store to its file in the store directory, the file is replaced atomically so a crash mid-write can't
+     * leave a partially written store behind
+     *
+     * @param store the store to be written
+     */
+    private static void writeStore(Store store) throws IOException {
+        Path storeFile = storeFile(store.getUUID());
+        Path tempFile = storeFile.resolveSibling(storeFile.getFileName() + ".tmp");
+        ConfigurationLoader<CommentedConfigurationNode> loader = storeFileLoader(tempFile);
+        CommentedConfigurationNode storeNode = loader.createNode();
+
+        storeMapper.save(store, storeNode);
+        loader.save(storeNode);
+        Files.move(tempFile, storeFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static Path storeFile(UUID uuid) {
+        return storeDirectory.toPath().resolve(uuid + storeFileExtension);
+    }
+
+    private static @Nullable UUID parseStoreFileName(String fileName) {
+        try {
+            return UUID.fromString(fileName.substring(0, fileName.length() - storeFileExtension.length()));
+        } catch (IllegalArgumentException exception) {
+            return null;
+        }
+    }
+
+    private static ConfigurationLoader<CommentedConfigurationNode> storeFileLoader(Path path) {
+        return HoconConfigurationLoader.builder().path(path).defaultOptions(storeOptions).build();
+    }
+
+    /**
+     * Holds the stores to be written and deleted by a save
+     */
+    private static class StoreChanges {
+
+        private final List<Store> changed = new ArrayList<>();
+        private final List<UUID> deleted = new ArrayList<>();
+        private int total;
+        private long journalSequence;
+        // whether the changes are written as a full binary snapshot rather than individual store files
+        private boolean snapshot;
+    }
+
     /**
      * Helper class to map materials based on their attributes and configure serialization/deserialization
      */
@@ -249,12 +664,24 @@ public class Warehouse {
     }
 
     /**
-     * Helper class to map materials based on their attributes and configure serialization/deserialization
+     * Helper class to map materials based on their attributes and configure serialization/deserialization, items are
+     * written as a node per material and the older format of a JSON string holding every item is still read so it can
+     * be migrated
      */
-    static class MaterialMapSerializer implements TypeSerializer<Map<Material, Map<String, Number>>> {
+    static class MaterialMapSerializer implements TypeSerializer<Map<Material, StoreItem>> {
 
         private final com.fasterxml.jackson.databind.ObjectMapper mapper = new com.fasterxml.jackson.databind.ObjectMapper();
 
+        /**
+         * Checks whether the provided items node uses the older JSON string format
+         *
+         * @param node the items node of a store
+         * @return whether the items are stored as a JSON string
+         */
+        static boolean isLegacyFormat(ConfigurationNode node) {
+            return node.rawScalar() instanceof String;
+        }
+
         /**
          * Configures the deserializer to properly map and deserialize store item data
          *
@@ -263,32 +690,70 @@ public class Warehouse {
          * @return the deserialized store item data
          */
         @Override
-        public Map<Material, Map<String, Number>> deserialize(Type type, ConfigurationNode node) {
+        public Map<Material, StoreItem> deserialize(Type type, ConfigurationNode node) {
+            if (isLegacyFormat(node))
+                return deserializeLegacy(node.getString());
+
+            Map<Material, StoreItem> items = new EnumMap<>(Material.class);
+
+            for (Map.Entry<Object, ? extends ConfigurationNode> entry : node.childrenMap().entrySet()) {
+                Material material = Material.getMaterial(String.valueOf(entry.getKey()));
+                ConfigurationNode itemNode = entry.getValue();
+
+                if (material == null) {
+                    log.warning(String.format("Skipping unknown material %s", entry.getKey()));
+                    continue;
+                }
+
+                items.put(material, new StoreItem(
+                        itemNode.node("quantity").getInt(0),
+                        itemNode.node("max_quantity").getInt(-1),
+                        itemNode.node("buy").getDouble(-1D),
+                        itemNode.node("sell").getDouble(-1D)));
+            }
+            return items;
+        }
+
+        private Map<Material, StoreItem> deserializeLegacy(String json) {
+            Map<Material, StoreItem> items = new EnumMap<>(Material.class);
+
             try {
-                String json = node.getString("items");
-                return mapper.readValue(json, new TypeReference<>() {});
+                Map<Material, Map<String, Number>> attributes = mapper.readValue(json, new TypeReference<>() {});
+
+                for (Map.Entry<Material, Map<String, Number>> entry : attributes.entrySet()) {
+                    Map<String, Number> values = entry.getValue();
+
+                    items.put(entry.getKey(), new StoreItem(
+                            values.getOrDefault("quantity", 0).intValue(),
+                            values.getOrDefault("max_quantity", -1).intValue(),
+                            values.getOrDefault("buy", -1D).doubleValue(),
+                            values.getOrDefault("sell", -1D).doubleValue()));
+                }
             } catch (JsonProcessingException e) {
                 log.severe("Failed to deserialize material map");
             }
-            return new HashMap<>();
+            return items;
         }
 
         /**
          * Configures the serializer to properly serialize store item data
          *
          * @param type the provided type
-         * @param obj the provided material to attribute map
+         * @param obj the provided material to item map
          * @param node the provided base node for stores
          */
         @Override
-        public void serialize(Type type, @Nullable Map<Material, Map<String, Number>> obj, ConfigurationNode node) throws SerializationException {
-            try {
-                if (obj != null && !obj.isEmpty()) {
-                    String json = mapper.writeValueAsString(obj);
-                    node.set(json);
+        public void serialize(Type type, @Nullable Map<Material, StoreItem> obj, ConfigurationNode node) throws SerializationException {
+            if (obj != null && !obj.isEmpty()) {
+                for (Map.Entry<Material, StoreItem> entry : obj.entrySet()) {
+                    StoreItem item = entry.getValue();
+                    ConfigurationNode itemNode = node.node(entry.getKey().name());
+
+                    itemNode.node("quantity").set(item.getQuantity());
+                    itemNode.node("max_quantity").set(item.getMaxQuantity());
+                    itemNode.node("buy").set(item.getBuyPrice());
+                    itemNode.node("sell").set(item.getSellPrice());
                 }
-            } catch (JsonProcessingException e) {
-                log.severe("Failed to serialize material map");
             }
         }
 
@@ -300,8 +765,8 @@ public class Warehouse {
          * @return an empty map
          */
         @Override
-        public @Nullable Map<Material, Map<String, Number>> emptyValue(Type specificType, ConfigurationOptions options) {
-            return new HashMap<>();
+        public @Nullable Map<Material, StoreItem> emptyValue(Type specificType, ConfigurationOptions options) {
+            return new EnumMap<>(Material.class);
         }
     }
 
@@ -319,7 +784,7 @@ public class Warehouse {
          */
         @Override
         public @Nullable World deserialize(Type type, ConfigurationNode node) {
-            String worldString = node.node("location").getString("world");
+            String worldString = node.getString();
             World world = null;
 
             if (worldString != null && !worldString.isEmpty())
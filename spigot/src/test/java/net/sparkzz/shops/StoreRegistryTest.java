@@ -0,0 +1,154 @@
+package net.sparkzz.shops;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static net.sparkzz.shops.TestHelper.printMessage;
+import static net.sparkzz.shops.TestHelper.printSuccessMessage;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("StoreRegistry Test")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class StoreRegistryTest {
+
+    private static final UUID OWNER = UUID.randomUUID(), OTHER_OWNER = UUID.randomUUID();
+
+    @BeforeAll
+    static void setUp() {
+        printMessage("==[ TEST STORE REGISTRY ]==");
+        Store.STORES.clear();
+    }
+
+    @AfterEach
+    void reset() {
+        Store.STORES.clear();
+    }
+
+    @Test
+    @DisplayName("Test StoreRegistry - lookup by unique id")
+    @Order(1)
+    void testGetStore() {
+        Store store = new Store("BetterBuy", OWNER);
+
+        assertSame(store, Store.STORES.getStore(store.getUUID()));
+        assertNull(Store.STORES.getStore(UUID.randomUUID()));
+        assertNull(Store.STORES.getStore(null));
+        printSuccessMessage("StoreRegistry - lookup by unique id");
+    }
+
+    @Test
+    @DisplayName("Test StoreRegistry - duplicate names ignoring case")
+    @Order(2)
+    void testGetStoresByName_Duplicates() {
+        Store store = new Store("BetterBuy", OWNER);
+        Store duplicate = new Store("betterbuy", OTHER_OWNER);
+
+        assertEquals(2, Store.STORES.getStoresByName("BETTERBUY").size());
+        assertThrows(Core.MultipleStoresMatchedException.class, () -> Store.identifyStore("BetterBuy"));
+        assertEquals(Optional.of(duplicate), Store.identifyStore(String.format("BetterBuy~%s", duplicate.getUUID())));
+        assertEquals(Optional.of(store), Store.identifyStore(store.getUUID().toString().toUpperCase()));
+        assertEquals(Optional.empty(), Store.identifyStore(String.format("WorseBuy~%s", store.getUUID())));
+        printSuccessMessage("StoreRegistry - duplicate names ignoring case");
+    }
+
+    @Test
+    @DisplayName("Test StoreRegistry - rename and transfer")
+    @Order(3)
+    void testUpdateNameAndOwner() {
+        Store store = new Store("BetterBuy", OWNER);
+
+        store.setName("WorseBuy");
+        store.setOwner(OTHER_OWNER);
+
+        assertTrue(Store.STORES.getStoresByName("BetterBuy").isEmpty());
+        assertEquals(Optional.of(store), Store.identifyStore("worsebuy"));
+        assertEquals(0, Store.STORES.countStoresByOwner(OWNER));
+        assertEquals(1, Store.STORES.countStoresByOwner(OTHER_OWNER));
+        printSuccessMessage("StoreRegistry - rename and transfer");
+    }
+
+    @Test
+    @DisplayName("Test StoreRegistry - remove")
+    @Order(4)
+    void testRemove() {
+        Store store = new Store("BetterBuy", OWNER);
+        new Store("WorseBuy", OWNER);
+
+        assertTrue(Store.STORES.remove(store));
+        assertFalse(Store.STORES.remove(store));
+        assertNull(Store.STORES.getStore(store.getUUID()));
+        assertTrue(Store.STORES.getStoresByName("BetterBuy").isEmpty());
+        assertEquals(1, Store.STORES.countStoresByOwner(OWNER));
+
+        Store.STORES.removeIf(s -> s.getName().equals("WorseBuy"));
+
+        assertTrue(Store.STORES.isEmpty());
+        assertEquals(0, Store.STORES.countStoresByOwner(OWNER));
+        printSuccessMessage("StoreRegistry - remove");
+    }
+
+    @Test
+    @DisplayName("Test StoreRegistry - concurrent use")
+    @Order(5)
+    void testConcurrentUse() throws Exception {
+        int threads = 8, storesPerThread = 250;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> results = new ArrayList<>();
+
+        for (int thread = 0; thread < threads; thread++) {
+            int id = thread;
+
+            results.add(executor.submit(() -> {
+                start.await();
+
+                for (int i = 0; i < storesPerThread; i++) {
+                    Store store = new Store("Store" + id + "-" + i, OWNER);
+
+                    // lookups and iteration on other threads aren't affected by the stores being registered
+                    assertEquals(1, Store.STORES.getStoresByName(store.getName()).size());
+                    Store.STORES.forEach(Store::getName);
+
+                    if (i % 2 == 0)
+                        store.setOwner(OTHER_OWNER);
+                }
+                return null;
+            }));
+        }
+
+        start.countDown();
+        executor.shutdown();
+
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        // rethrows anything that failed on the other threads
+        for (Future<?> result : results)
+            result.get();
+
+        assertEquals(threads * storesPerThread, Store.STORES.size());
+        assertEquals(threads * storesPerThread / 2, Store.STORES.countStoresByOwner(OWNER));
+        assertEquals(threads * storesPerThread / 2, Store.STORES.countStoresByOwner(OTHER_OWNER));
+
+        // removing through the iterator unregisters the store while the iteration continues over the copy
+        Store.STORES.removeIf(store -> store.getOwner().equals(OTHER_OWNER));
+
+        assertEquals(threads * storesPerThread / 2, Store.STORES.size());
+        assertEquals(0, Store.STORES.countStoresByOwner(OTHER_OWNER));
+        printSuccessMessage("StoreRegistry - concurrent use");
+    }
+}
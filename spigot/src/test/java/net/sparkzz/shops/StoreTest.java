@@ -22,6 +22,8 @@ import java.math.BigDecimal;
 
 import static net.sparkzz.shops.TestHelper.*;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @DisplayName("Entrance Listener")
 @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
@@ -96,7 +98,7 @@ public class StoreTest {
     void testRemoveItemStack() {
         Store.getDefaultStore(null).get().addItem(new ItemStack(Material.SNOWBALL, 20));
         Store.getDefaultStore(null).get().removeItem(new ItemStack(Material.SNOWBALL, 15));
-        assertEquals(5, Store.getDefaultStore(null).get().getAttributes(Material.SNOWBALL).get("quantity"));
+        assertEquals(5, Store.getDefaultStore(null).get().getItem(Material.SNOWBALL).getQuantity());
         printSuccessMessage("remove item stack");
     }
 
@@ -110,4 +112,63 @@ public class StoreTest {
         assertEquals(cuboid, Store.getDefaultStore(null).get().getCuboidLocation());
         printSuccessMessage("set cuboid location");
     }
+
+    @Test
+    @DisplayName("Test snapshot - detached from store")
+    @Order(7)
+    void testSnapshot() {
+        Store store = Store.getDefaultStore(null).get();
+        store.addItem(Material.SNOWBALL, 10, 64, 1D, 0.5D);
+
+        Store snapshot = store.snapshot();
+        store.removeItem(Material.SNOWBALL, 5);
+        store.addFunds(BigDecimal.TEN);
+
+        assertEquals(store.getUUID(), snapshot.getUUID());
+        assertEquals(10, snapshot.getItem(Material.SNOWBALL).getQuantity());
+        assertEquals(BigDecimal.ZERO, snapshot.getBalance());
+        assertFalse(Store.STORES.contains(snapshot));
+        printSuccessMessage("snapshot - detached from store");
+    }
+
+    @Test
+    @DisplayName("Test version - changes with each modification")
+    @Order(8)
+    void testVersion() {
+        Store store = Store.getDefaultStore(null).get();
+        long version = store.getVersion();
+
+        store.addItem(Material.SNOWBALL, 10);
+        store.setBuyPrice(Material.SNOWBALL, 2D);
+        store.addFunds(BigDecimal.ONE);
+        store.setName("BestBuy");
+
+        assertEquals(version + 4, store.getVersion());
+        assertEquals(store.getVersion(), store.snapshot().getVersion());
+        printSuccessMessage("version - changes with each modification");
+    }
+
+    @Test
+    @DisplayName("Test multiple cuboid locations")
+    @Order(9)
+    void testMultipleCuboidLocations() {
+        World world = server.createWorld(WorldCreator.name("chain-world"));
+        World otherWorld = server.createWorld(WorldCreator.name("other-chain-world"));
+        Cuboid primary = new Cuboid(world, 0D, 0D, 0D, 10D, 10D, 10D);
+        Cuboid secondary = new Cuboid(otherWorld, 500D, 0D, 500D, 510D, 10D, 510D);
+        Store store = new Store("ChainBuy", null, primary);
+
+        store.addCuboidLocation(secondary);
+
+        assertEquals(primary, store.getCuboidLocation());
+        assertEquals(2, store.getCuboidLocations().size());
+        assertTrue(Store.STORES.getStoresNear(otherWorld, 505D, 505D).contains(store));
+        assertTrue(Store.STORES.getStoresOverlapping(new Cuboid(otherWorld, 505D, 5D, 505D, 520D, 20D, 520D)).contains(store));
+        assertTrue(Store.STORES.getStoresOverlapping(new Cuboid(world, 505D, 5D, 505D, 520D, 20D, 520D)).isEmpty());
+        assertTrue(store.snapshot().getCuboidLocations().contains(secondary));
+
+        assertTrue(store.removeCuboidLocation(secondary));
+        assertTrue(Store.STORES.getStoresNear(otherWorld, 505D, 505D).isEmpty());
+        printSuccessMessage("multiple cuboid locations");
+    }
 }
@@ -76,9 +76,27 @@ class InfoCommandTest {
     @DisplayName("Test Info - info tab complete")
     @Order(3)
     void testShopTabComplete() {
-        List<String> actualOptions = server.getCommandTabComplete(mrSparkzz, "shops ");
-
-        assertEquals(Collections.emptyList(), actualOptions);
+        assertEquals(Collections.singletonList("convert"), server.getCommandTabComplete(mrSparkzz, "shops "));
+        assertEquals(Collections.emptyList(), server.getCommandTabComplete(player2, "shops "));
         printSuccessMessage("tab complete - \"shops\"");
     }
+
+    @Test
+    @DisplayName("Test Info - convert tab complete")
+    @Order(4)
+    void testConvertTabComplete() {
+        List<String> actualOptions = server.getCommandTabComplete(mrSparkzz, "shops convert ");
+
+        assertEquals(List.of("hocon", "binary"), actualOptions);
+        printSuccessMessage("tab complete - \"shops convert\"");
+    }
+
+    @Test
+    @DisplayName("Test Info - convert with an invalid format")
+    @Order(5)
+    void testConvertCommand_InvalidFormat() {
+        performCommand(mrSparkzz, "shops convert yaml");
+        assertEquals("§cInvalid store format (yaml)!", mrSparkzz.nextMessage());
+        printSuccessMessage("convert command - invalid format");
+    }
 }
@@ -87,7 +87,7 @@ class ShopCommandTest {
         @DisplayName("Test Shop - shop tab complete")
         @Order(1)
         void testShopTabComplete() {
-            List<String> expectedOptions = List.of("add", "transfer", "buy", "sell", "create", "deposit", "update", "delete", "remove", "browse", "withdraw");
+            List<String> expectedOptions = List.of("add", "buy", "sell", "update", "delete", "remove", "transfer", "audit", "find", "create", "deposit", "browse", "withdraw");
             List<String> actualOptions = server.getCommandTabComplete(mrSparkzz, "shop ");
 
             assertEquals(expectedOptions, actualOptions);
@@ -179,7 +179,7 @@ class ShopCommandTest {
 
             List<String> expectedOptions = Arrays.stream(shopItems.toArray())
                     .map(m -> m.toString().toLowerCase()).collect(Collectors.toList());
-            expectedOptions.addAll(List.of("infinite-funds", "infinite-stock", "location", "store-name"));
+            expectedOptions.addAll(List.of("infinite-funds", "infinite-stock", "location", "add-location", "store-name"));
             List<String> actualOptions = server.getCommandTabComplete(mrSparkzz, "shop update ");
 
             assertEquals(expectedOptions, actualOptions);
@@ -246,6 +246,28 @@ class ShopCommandTest {
             printSuccessMessage("tab complete - \"shop transfer\"");
         }
 
+        @Test
+        @DisplayName("Test Shop - 2 args - find tab complete")
+        @Order(32)
+        void testShopTabComplete_Find2Args() {
+            List<String> expectedOptions = Collections.singletonList("<material>");
+            List<String> actualOptions = server.getCommandTabComplete(mrSparkzz, "shop find ");
+
+            assertEquals(expectedOptions, actualOptions);
+            printSuccessMessage("tab complete - \"shop find\"");
+        }
+
+        @Test
+        @DisplayName("Test Shop - 2 args - audit tab complete")
+        @Order(33)
+        void testShopTabComplete_Audit2Args() {
+            List<String> expectedOptions = Collections.singletonList("overlaps");
+            List<String> actualOptions = server.getCommandTabComplete(mrSparkzz, "shop audit ");
+
+            assertEquals(expectedOptions, actualOptions);
+            printSuccessMessage("tab complete - \"shop audit\"");
+        }
+
         @Test
         @DisplayName("Test Shop - 3 args - remove tab complete")
         @Order(40)
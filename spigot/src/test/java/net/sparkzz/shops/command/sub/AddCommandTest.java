@@ -87,7 +87,7 @@ class AddCommandTest {
         performCommand(mrSparkzz, "shop add emerald 1");
         assertEquals(String.format("%sYou have successfully added %s%s%s to the shop!", GREEN, GOLD, (quantity > 0) ? String.valueOf(quantity) + GREEN + " of " + GOLD + material : material, GREEN), mrSparkzz.nextMessage());
         assertEquals(63, Objects.requireNonNull(mrSparkzz.getInventory().getItem(0)).getAmount());
-        assertEquals(11, Store.getDefaultStore(mrSparkzz.getWorld()).get().getItems().get(material).get("quantity").intValue());
+        assertEquals(11, Store.getDefaultStore(mrSparkzz.getWorld()).get().getItem(material).getQuantity());
         printSuccessMessage("add command test - add 1");
     }
 
@@ -102,7 +102,7 @@ class AddCommandTest {
         performCommand(mrSparkzz, "shop add emerald all");
         assertEquals(String.format("%sYou have successfully added %s%s%s to the shop!", GREEN, GOLD, (quantity > 0) ? String.valueOf(quantity) + GREEN + " of " + GOLD + material : material, GREEN), mrSparkzz.nextMessage());
         assertFalse(mrSparkzz.getInventory().contains(material));
-        assertEquals(11, Store.getDefaultStore(mrSparkzz.getWorld()).get().getItems().get(material).get("quantity").intValue());
+        assertEquals(11, Store.getDefaultStore(mrSparkzz.getWorld()).get().getItem(material).getQuantity());
         printSuccessMessage("add command test - add all");
     }
 
@@ -0,0 +1,133 @@
+package net.sparkzz.shops.command.sub;
+
+import be.seeseemelk.mockbukkit.MockBukkit;
+import be.seeseemelk.mockbukkit.ServerMock;
+import be.seeseemelk.mockbukkit.entity.PlayerMock;
+import net.sparkzz.shops.Shops;
+import net.sparkzz.shops.Store;
+import net.sparkzz.shops.mocks.MockVault;
+import net.sparkzz.shops.util.Cuboid;
+import net.sparkzz.shops.util.Notifier;
+import org.bukkit.World;
+import org.bukkit.WorldCreator;
+import org.bukkit.plugin.PluginDescriptionFile;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+
+import static net.sparkzz.shops.TestHelper.*;
+import static net.sparkzz.shops.util.AbstractNotifier.CipherKey.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SuppressWarnings("SpellCheckingInspection")
+@DisplayName("Audit Command")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class AuditCommandTest {
+
+    private static ServerMock server;
+    private static PlayerMock mrSparkzz, player2;
+    private static World world;
+
+    @BeforeAll
+    static void setUp() {
+        printMessage("==[ TEST AUDIT COMMAND ]==");
+        server = MockBukkit.getOrCreateMock();
+
+        MockBukkit.loadWith(MockVault.class, new PluginDescriptionFile("Vault", "MOCK", "net.sparkzz.shops.mocks.MockVault"));
+        MockBukkit.load(Shops.class);
+        loadConfig();
+        world = server.createWorld(WorldCreator.name("world"));
+
+        mrSparkzz = server.addPlayer("MrSparkzz");
+        player2 = server.addPlayer();
+
+        mrSparkzz.setOp(true);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        MockBukkit.unmock();
+        unLoadConfig();
+    }
+
+    @BeforeEach
+    void setUpStores() {
+        // the test config marks (-20, -64, -20) to (20, 320, 20) in "world" as off-limits
+        new Store("CornerShop", mrSparkzz.getUniqueId(), new Cuboid(world, -10, 0, -10, -5, 5, -5));
+        new Store("Market", mrSparkzz.getUniqueId(), new Cuboid(world, 100, 0, 100, 110, 10, 110));
+        new Store("Bazaar", player2.getUniqueId(), new Cuboid(world, 105, 0, 105, 115, 10, 115));
+        new Store("Isolated", player2.getUniqueId(), new Cuboid(world, 500, 0, 500, 510, 10, 510));
+    }
+
+    @AfterEach
+    void tearDownStores() {
+        Store.STORES.clear();
+    }
+
+    private static void finishAudit() {
+        server.getScheduler().waitAsyncTasksFinished();
+        server.getScheduler().performOneTick();
+    }
+
+    @Test
+    @DisplayName("Test Audit - permissions")
+    @Order(1)
+    void testAudit_Permissions() {
+        performCommand(player2, "shop audit overlaps");
+        assertEquals(Notifier.compose(NO_PERMS_CMD, null), player2.nextMessage());
+        printSuccessMessage("audit command permission check");
+    }
+
+    @Test
+    @DisplayName("Test Audit - overlapping stores and off-limits areas")
+    @Order(2)
+    void testAudit_Overlaps() {
+        performCommand(mrSparkzz, "shop audit overlaps");
+        assertEquals(Notifier.compose(AUDIT_STARTED, null), mrSparkzz.nextMessage());
+
+        finishAudit();
+        assertEquals("""
+                §7==[ §3Overlaps§7 ]==
+                §2CornerShop§r overlaps off-limits area §6#1§r in §6world
+                §2Bazaar§r overlaps §2Market§r in §6world
+                Page 1 of 1""", mrSparkzz.nextMessage());
+        printSuccessMessage("audit command test - overlaps");
+    }
+
+    @Test
+    @DisplayName("Test Audit - invalid page of the last audit")
+    @Order(3)
+    void testAudit_InvalidPage() {
+        performCommand(mrSparkzz, "shop audit overlaps 2");
+        assertEquals(Notifier.compose(INVALID_PAGE_NUM, null), mrSparkzz.nextMessage());
+        printSuccessMessage("audit command test - invalid page");
+    }
+
+    @Test
+    @DisplayName("Test Audit - no overlaps")
+    @Order(4)
+    void testAudit_NoOverlaps() {
+        Store.STORES.removeIf(store -> !store.getName().equals("Isolated"));
+        performCommand(mrSparkzz, "shop audit overlaps");
+        assertEquals(Notifier.compose(AUDIT_STARTED, null), mrSparkzz.nextMessage());
+
+        finishAudit();
+        assertEquals(Notifier.compose(AUDIT_NO_OVERLAPS, null), mrSparkzz.nextMessage());
+        printSuccessMessage("audit command test - no overlaps");
+    }
+
+    @Test
+    @DisplayName("Test Audit - unknown audit")
+    @Order(5)
+    void testAudit_Unknown() {
+        performCommand(mrSparkzz, "shop audit items");
+        assertEquals("/shop audit overlaps [<page-number>]", mrSparkzz.nextMessage());
+        printSuccessMessage("audit command test - unknown audit");
+    }
+}
@@ -0,0 +1,160 @@
+package net.sparkzz.shops.command.sub;
+
+import be.seeseemelk.mockbukkit.MockBukkit;
+import be.seeseemelk.mockbukkit.ServerMock;
+import be.seeseemelk.mockbukkit.entity.PlayerMock;
+import net.sparkzz.shops.Shops;
+import net.sparkzz.shops.Store;
+import net.sparkzz.shops.mocks.MockVault;
+import net.sparkzz.shops.util.Notifier;
+import org.bukkit.Material;
+import org.bukkit.plugin.PluginDescriptionFile;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+
+import static net.sparkzz.shops.TestHelper.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SuppressWarnings("SpellCheckingInspection")
+@DisplayName("Find Command")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class FindCommandTest {
+
+    private static PlayerMock mrSparkzz, player2;
+    private static Store betterBuy;
+
+    @BeforeAll
+    static void setUp() {
+        printMessage("==[ TEST FIND COMMAND ]==");
+        ServerMock server = MockBukkit.getOrCreateMock();
+
+        MockBukkit.loadWith(MockVault.class, new PluginDescriptionFile("Vault", "MOCK", "net.sparkzz.shops.mocks.MockVault"));
+        MockBukkit.load(Shops.class);
+        loadConfig();
+
+        mrSparkzz = server.addPlayer("MrSparkzz");
+        player2 = server.addPlayer();
+
+        mrSparkzz.setOp(true);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        MockBukkit.unmock();
+        unLoadConfig();
+    }
+
+    @BeforeEach
+    void setUpShopItems() {
+        Store emeraldDepot = new Store("EmeraldDepot", mrSparkzz.getUniqueId());
+        Store gems = new Store("Gems", player2.getUniqueId());
+        betterBuy = new Store("BetterBuy", mrSparkzz.getUniqueId());
+
+        betterBuy.addItem(Material.EMERALD, 3, 64, 24.5, 12);
+        emeraldDepot.addItem(Material.EMERALD, 10, 64, 20, 14);
+        gems.addItem(Material.EMERALD, 0, 64, -1, 13);
+    }
+
+    @AfterEach
+    void tearDownStores() {
+        Store.STORES.clear();
+    }
+
+    @Test
+    @DisplayName("Test Find - permissions")
+    @Order(1)
+    void testFind_Permissions() {
+        performCommand(player2, "shop find emerald");
+        assertEquals(Notifier.compose(Notifier.CipherKey.NO_PERMS_CMD, null), player2.nextMessage());
+        printSuccessMessage("find command permission check");
+    }
+
+    @Test
+    @DisplayName("Test Find - stores selling the material")
+    @Order(2)
+    void testFind_Selling() {
+        performCommand(mrSparkzz, "shop find emerald");
+        assertEquals("""
+                §7==[ §3EMERALD§7 ]==
+                §nSTORE         | BUY PRICE | STOCK
+                §2EmeraldDepot  §r: §620.00     §r| §610
+                §2BetterBuy     §r: §624.50     §r| §63
+                Page 1 of 1""", mrSparkzz.nextMessage());
+        printSuccessMessage("find command test - stores selling");
+    }
+
+    @Test
+    @DisplayName("Test Find - stores buying the material")
+    @Order(3)
+    void testFind_Buying() {
+        performCommand(mrSparkzz, "shop find emerald sell");
+        assertEquals("""
+                §7==[ §3EMERALD§7 ]==
+                §nSTORE         | SELL PRICE
+                §2EmeraldDepot  §r: §614.00
+                §2Gems          §r: §613.00
+                §2BetterBuy     §r: §612.00
+                Page 1 of 1""", mrSparkzz.nextMessage());
+        printSuccessMessage("find command test - stores buying");
+    }
+
+    @Test
+    @DisplayName("Test Find - price and item updates")
+    @Order(4)
+    void testFind_Updated() {
+        betterBuy.setBuyPrice(Material.EMERALD, 15);
+        performCommand(mrSparkzz, "shop find emerald buy 1");
+        assertEquals("""
+                §7==[ §3EMERALD§7 ]==
+                §nSTORE         | BUY PRICE | STOCK
+                §2BetterBuy     §r: §615.00     §r| §63
+                §2EmeraldDepot  §r: §620.00     §r| §610
+                Page 1 of 1""", mrSparkzz.nextMessage());
+
+        betterBuy.removeItem(Material.EMERALD);
+        performCommand(mrSparkzz, "shop find emerald sell");
+        assertEquals("""
+                §7==[ §3EMERALD§7 ]==
+                §nSTORE         | SELL PRICE
+                §2EmeraldDepot  §r: §614.00
+                §2Gems          §r: §613.00
+                Page 1 of 1""", mrSparkzz.nextMessage());
+        printSuccessMessage("find command test - price and item updates");
+    }
+
+    @Test
+    @DisplayName("Test Find - no stores")
+    @Order(5)
+    void testFind_NoStores() {
+        performCommand(mrSparkzz, "shop find diamond");
+        assertEquals("§cNo stores are selling §6DIAMOND§c at this time!", mrSparkzz.nextMessage());
+        performCommand(mrSparkzz, "shop find diamond sell");
+        assertEquals("§cNo stores are buying §6DIAMOND§c at this time!", mrSparkzz.nextMessage());
+        printSuccessMessage("find command test - no stores");
+    }
+
+    @Test
+    @DisplayName("Test Find - invalid material")
+    @Order(6)
+    void testFind_InvalidMaterial() {
+        performCommand(mrSparkzz, "shop find notamaterial");
+        assertEquals("§cInvalid material (notamaterial)!", mrSparkzz.nextMessage());
+        printSuccessMessage("find command test - invalid material");
+    }
+
+    @Test
+    @DisplayName("Test Find - invalid page")
+    @Order(7)
+    void testFind_InvalidPage() {
+        performCommand(mrSparkzz, "shop find emerald 2");
+        assertEquals("§cInvalid page number!", mrSparkzz.nextMessage());
+        printSuccessMessage("find command test - invalid page");
+    }
+}
@@ -90,7 +90,7 @@ public class RemoveCommandTest {
         performCommand(mrSparkzz, "shop remove emerald 1");
         assertEquals(Notifier.compose(REMOVE_SUCCESS_QUANTITY, Map.of("material", Material.EMERALD, "quantity", 1)), mrSparkzz.nextMessage());
         assertEquals(1, Objects.requireNonNull(mrSparkzz.getInventory().getItem(0)).getAmount());
-        assertEquals(63, Store.getDefaultStore(mrSparkzz.getWorld()).get().getItems().get(material).get("quantity").intValue());
+        assertEquals(63, Store.getDefaultStore(mrSparkzz.getWorld()).get().getItem(material).getQuantity());
         printSuccessMessage("remove command test - remove 1 of type from shop");
     }
 
@@ -102,7 +102,7 @@ public class RemoveCommandTest {
 
         performCommand(mrSparkzz, "shop remove emerald");
         assertEquals(Notifier.compose(REMOVE_SUCCESS, Collections.singletonMap("material", Material.EMERALD)), mrSparkzz.nextMessage());
-        assertNull(Store.getDefaultStore(mrSparkzz.getWorld()).get().getItems().get(material));
+        assertNull(Store.getDefaultStore(mrSparkzz.getWorld()).get().getItem(material));
         printSuccessMessage("remove command test - remove all of type from shop");
     }
 
@@ -153,4 +153,19 @@ public class RemoveCommandTest {
         assertEquals(Notifier.compose(REMOVE_INSUFFICIENT_INV_PLAYER, Collections.singletonMap("material", Material.EMERALD)), mrSparkzz.nextMessage());
         printSuccessMessage("remove command test - insufficient inventory player");
     }
+
+    @Test
+    @DisplayName("Test Remove - main functionality - infinite stock isn't counted down")
+    @Order(9)
+    void testRemoveCommand_InfiniteStock() {
+        Store store = Store.getDefaultStore(mrSparkzz.getWorld()).get();
+
+        mrSparkzz.getInventory().clear();
+        store.setInfiniteStock(true);
+        performCommand(mrSparkzz, "shop remove emerald 100");
+        assertEquals(Notifier.compose(REMOVE_SUCCESS_QUANTITY, Map.of("material", Material.EMERALD, "quantity", 100)), mrSparkzz.nextMessage());
+        assertEquals(100, mrSparkzz.getInventory().all(Material.EMERALD).values().stream().mapToInt(ItemStack::getAmount).sum());
+        assertEquals(64, store.getItem(Material.EMERALD).getQuantity());
+        printSuccessMessage("remove command test - infinite stock isn't counted down");
+    }
 }
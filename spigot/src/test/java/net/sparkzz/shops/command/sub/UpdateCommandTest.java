@@ -16,6 +16,8 @@ import org.bukkit.plugin.PluginDescriptionFile;
 import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.*;
 
+import java.util.List;
+
 import static net.sparkzz.shops.TestHelper.*;
 import static org.bukkit.ChatColor.GOLD;
 import static org.bukkit.ChatColor.GREEN;
@@ -76,7 +78,7 @@ class UpdateCommandTest {
     void testUpdateCommand_BuyPrice() {
         performCommand(mrSparkzz, "shop update emerald customer-buy-price 5");
         assertEquals("§aYou have successfully updated §6customer-buy-price§a to §65§a in BetterBuy!", mrSparkzz.nextMessage());
-        assertEquals(5D, store.getAttributes(Material.EMERALD).get("buy").doubleValue());
+        assertEquals(5D, store.getItem(Material.EMERALD).getBuyPrice());
         printSuccessMessage("update command test - customer buy price");
     }
 
@@ -86,7 +88,7 @@ class UpdateCommandTest {
     void testUpdateCommand_SellPrice() {
         performCommand(mrSparkzz, "shop update emerald customer-sell-price 5");
         assertEquals("§aYou have successfully updated §6customer-sell-price§a to §65§a in BetterBuy!", mrSparkzz.nextMessage());
-        assertEquals(5D, store.getAttributes(Material.EMERALD).get("sell").doubleValue());
+        assertEquals(5D, store.getItem(Material.EMERALD).getSellPrice());
         printSuccessMessage("update command test - customer sell price");
     }
 
@@ -96,7 +98,7 @@ class UpdateCommandTest {
     void testUpdateCommand_MaxQuantity() {
         performCommand(mrSparkzz, "shop update emerald max-quantity 128");
         assertEquals("§aYou have successfully updated §6max-quantity§a to §6128§a in BetterBuy!", mrSparkzz.nextMessage());
-        assertEquals(128, store.getAttributes(Material.EMERALD).get("max_quantity").intValue());
+        assertEquals(128, store.getItem(Material.EMERALD).getMaxQuantity());
         printSuccessMessage("update command test - max quantity");
     }
 
@@ -200,11 +202,11 @@ class UpdateCommandTest {
     @DisplayName("Test Update - main functionality - infinite stock per item allow")
     @Order(14)
     void testUpdateCommand_Permissions_InfStockItem() {
-        store.removeItem(Material.BUCKET, store.getAttributes(Material.BUCKET).get("quantity").intValue());
+        store.removeItem(Material.BUCKET, store.getItem(Material.BUCKET).getQuantity());
 
         performCommand(mrSparkzz, "shop update bucket infinite-quantity true");
         assertEquals("§aYou have successfully updated §6infinite-quantity§a to §6true§a in BetterBuy!", mrSparkzz.nextMessage());
-        assertEquals(-1, store.getAttributes(Material.BUCKET).get("quantity").intValue());
+        assertEquals(-1, store.getItem(Material.BUCKET).getQuantity());
         printSuccessMessage("update command test - infinite stock per item allow");
     }
 
@@ -248,6 +250,17 @@ class UpdateCommandTest {
         printSuccessMessage("update command test - location with store and world");
     }
 
+    @Test
+    @DisplayName("Test Update - main functionality - add location with store and world")
+    @Order(21)
+    void testUpdateCommand_AddLocation_WithStoreAndWorld() {
+        performCommand(mrSparkzz, "shop update add-location BetterBuy world-nether 10 20 30 40 50 60");
+        assertEquals("§aYou have successfully updated the location of BetterBuy to (10.0, 20.0, 30.0) (40.0, 50.0, 60.0) in world-nether!", mrSparkzz.nextMessage());
+        assertEquals(defaultLocation, store.getCuboidLocation());
+        assertEquals(List.of(defaultLocation, cuboidLocationNether), store.getCuboidLocations());
+        printSuccessMessage("update command test - add location with store and world");
+    }
+
     @Test
     @DisplayName("Test Update - main functionality - location with null world")
     @Order(19)
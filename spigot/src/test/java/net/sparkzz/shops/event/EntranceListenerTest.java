@@ -7,9 +7,13 @@ import net.sparkzz.shops.Shops;
 import net.sparkzz.shops.Store;
 import net.sparkzz.shops.mocks.MockVault;
 import net.sparkzz.shops.util.Cuboid;
+import net.sparkzz.shops.util.InventoryManagementSystem;
+import net.sparkzz.shops.util.StoreTracker;
 import org.bukkit.Location;
 import org.bukkit.World;
 import org.bukkit.WorldCreator;
+import org.bukkit.event.player.PlayerChangedWorldEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
 import org.bukkit.plugin.PluginDescriptionFile;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
@@ -23,6 +27,8 @@ import org.junit.jupiter.api.TestMethodOrder;
 import static net.sparkzz.shops.TestHelper.*;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @DisplayName("Entrance Listener")
 @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
@@ -172,4 +178,85 @@ public class EntranceListenerTest {
         assertNull(mrSparkzz.nextMessage());
         printSuccessMessage("walking around out of store test");
     }
+
+    @Test
+    @DisplayName("Test Player rotating within the store")
+    @Order(9)
+    void testPlayerRotatingInStore() {
+        mrSparkzz.simulatePlayerMove(inStore);
+        assertEquals("§9Welcome to §6BetterBuy§9!", mrSparkzz.nextMessage());
+
+        Location rotated = inStore.clone();
+        rotated.setYaw(rotated.getYaw() + 90);
+
+        mrSparkzz.simulatePlayerMove(rotated);
+        assertNull(mrSparkzz.nextMessage());
+        printSuccessMessage("rotating within store test");
+    }
+
+    @Test
+    @DisplayName("Test Player crossing a boundary within a single block")
+    @Order(10)
+    void testPlayerCrossingBoundaryWithinBlock() {
+        World world = home.getWorld();
+        Store store = new Store("HalfBlockBuy", mrSparkzz.getUniqueId(), new Cuboid(world, 40.5D, 0D, 0D, 50D, 10D, 10D));
+
+        mrSparkzz.setLocation(new Location(world, 40.2D, 5D, 5D));
+        mrSparkzz.simulatePlayerMove(new Location(world, 40.3D, 5D, 5D));
+        assertNull(mrSparkzz.nextMessage());
+        mrSparkzz.simulatePlayerMove(new Location(world, 40.7D, 5D, 5D));
+        assertEquals("§9Welcome to §6HalfBlockBuy§9!", mrSparkzz.nextMessage());
+
+        Store.STORES.remove(store);
+        printSuccessMessage("crossing a boundary within a single block test");
+    }
+
+    @Test
+    @DisplayName("Test store enter and leave events and the tracked store")
+    @Order(11)
+    void testStoreEvents() {
+        ServerMock server = MockBukkit.getMock();
+        Store store = Store.getDefaultStore(home.getWorld()).orElseThrow();
+
+        mrSparkzz.simulatePlayerMove(inStore);
+        server.getPluginManager().assertEventFired(StoreEnterEvent.class, event -> event.getStore() == store);
+        assertSame(store, StoreTracker.getCurrentStore(mrSparkzz.getUniqueId()).orElse(null));
+        assertSame(store, InventoryManagementSystem.locateCurrentStore(mrSparkzz).orElse(null));
+
+        mrSparkzz.simulatePlayerMove(home);
+        server.getPluginManager().assertEventFired(StoreLeaveEvent.class, event -> event.getStore() == store);
+        assertTrue(StoreTracker.getCurrentStore(mrSparkzz.getUniqueId()).isEmpty());
+        printSuccessMessage("store enter and leave events test");
+    }
+
+    @Test
+    @DisplayName("Test tracked player is re-checked when changing worlds")
+    @Order(12)
+    void testPlayerChangingWorlds() {
+        ServerMock server = MockBukkit.getMock();
+        Location otherWorldInStore = inStore.clone();
+
+        otherWorldInStore.setWorld(otherWorld);
+        mrSparkzz.simulatePlayerMove(inStore);
+        assertEquals("§9Welcome to §6BetterBuy§9!", mrSparkzz.nextMessage());
+
+        mrSparkzz.setLocation(otherWorldInStore);
+        server.getPluginManager().callEvent(new PlayerChangedWorldEvent(mrSparkzz, home.getWorld()));
+        assertEquals("§9We hope to see you again!", mrSparkzz.nextMessage());
+        assertTrue(StoreTracker.getCurrentStore(mrSparkzz.getUniqueId()).isEmpty());
+        printSuccessMessage("changing worlds test");
+    }
+
+    @Test
+    @DisplayName("Test tracked player is removed when quitting")
+    @Order(13)
+    void testPlayerQuitting() {
+        ServerMock server = MockBukkit.getMock();
+        int trackedPlayers = StoreTracker.getTrackedPlayerCount();
+
+        server.getPluginManager().callEvent(new PlayerQuitEvent(mrSparkzz, "quit"));
+        assertEquals(trackedPlayers - 1, StoreTracker.getTrackedPlayerCount());
+        assertTrue(StoreTracker.getCurrentStore(mrSparkzz.getUniqueId()).isEmpty());
+        printSuccessMessage("quitting test");
+    }
 }
@@ -0,0 +1,207 @@
+package net.sparkzz.shops.mocks;
+
+import net.milkbowl.vault.economy.AbstractEconomy;
+import net.milkbowl.vault.economy.EconomyResponse;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static net.milkbowl.vault.economy.EconomyResponse.ResponseType.*;
+
+/**
+ * A thread-safe in-memory economy, used where transactions are run from several threads at once. It can wait for a
+ * fixed time on every account call, standing in for economy plugins that read and write a database on each call (the
+ * benchmarks use it this way)
+ */
+public class MockEconomy extends AbstractEconomy {
+
+    private final Map<String, Double> balances = new ConcurrentHashMap<>();
+    private final long latency;
+
+    /**
+     * Creates an economy whose calls return right away
+     */
+    public MockEconomy() {
+        this(0);
+    }
+
+    /**
+     * Creates an economy where every account call takes the provided time
+     *
+     * @param latencyMicros the number of microseconds each account call waits for
+     */
+    public MockEconomy(long latencyMicros) {
+        latency = TimeUnit.MICROSECONDS.toNanos(latencyMicros);
+    }
+
+    private void await() {
+        if (latency > 0)
+            LockSupport.parkNanos(latency);
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+
+    @Override
+    public String getName() {
+        return "MockEconomy";
+    }
+
+    @Override
+    public boolean hasBankSupport() {
+        return false;
+    }
+
+    @Override
+    public int fractionalDigits() {
+        return 2;
+    }
+
+    @Override
+    public String format(double amount) {
+        return String.format("%.2f", amount);
+    }
+
+    @Override
+    public String currencyNamePlural() {
+        return "dollars";
+    }
+
+    @Override
+    public String currencyNameSingular() {
+        return "dollar";
+    }
+
+    @Override
+    public boolean hasAccount(String playerName) {
+        await();
+        return balances.containsKey(playerName);
+    }
+
+    @Override
+    public boolean hasAccount(String playerName, String worldName) {
+        return hasAccount(playerName);
+    }
+
+    @Override
+    public double getBalance(String playerName) {
+        await();
+        return balances.getOrDefault(playerName, 0D);
+    }
+
+    @Override
+    public double getBalance(String playerName, String world) {
+        return getBalance(playerName);
+    }
+
+    @Override
+    public boolean has(String playerName, double amount) {
+        return getBalance(playerName) >= amount;
+    }
+
+    @Override
+    public boolean has(String playerName, String worldName, double amount) {
+        return has(playerName, amount);
+    }
+
+    @Override
+    public EconomyResponse withdrawPlayer(String playerName, double amount) {
+        await();
+
+        boolean[] withdrawn = new boolean[1];
+        double balance = balances.compute(playerName, (name, current) -> {
+            double value = (current == null) ? 0D : current;
+
+            if (amount < 0 || value < amount)
+                return value;
+
+            withdrawn[0] = true;
+            return value - amount;
+        });
+
+        return withdrawn[0] ? new EconomyResponse(amount, balance, SUCCESS, null)
+                : new EconomyResponse(0, balance, FAILURE, "Insufficient funds");
+    }
+
+    @Override
+    public EconomyResponse withdrawPlayer(String playerName, String worldName, double amount) {
+        return withdrawPlayer(playerName, amount);
+    }
+
+    @Override
+    public EconomyResponse depositPlayer(String playerName, double amount) {
+        await();
+
+        if (amount < 0)
+            return new EconomyResponse(0, getBalance(playerName), FAILURE, "Cannot deposit negative funds");
+
+        return new EconomyResponse(amount, balances.merge(playerName, amount, Double::sum), SUCCESS, null);
+    }
+
+    @Override
+    public EconomyResponse depositPlayer(String playerName, String worldName, double amount) {
+        return depositPlayer(playerName, amount);
+    }
+
+    @Override
+    public EconomyResponse createBank(String name, String player) {
+        return new EconomyResponse(0, 0, NOT_IMPLEMENTED, null);
+    }
+
+    @Override
+    public EconomyResponse deleteBank(String name) {
+        return new EconomyResponse(0, 0, NOT_IMPLEMENTED, null);
+    }
+
+    @Override
+    public EconomyResponse bankBalance(String name) {
+        return new EconomyResponse(0, 0, NOT_IMPLEMENTED, null);
+    }
+
+    @Override
+    public EconomyResponse bankHas(String name, double amount) {
+        return new EconomyResponse(0, 0, NOT_IMPLEMENTED, null);
+    }
+
+    @Override
+    public EconomyResponse bankWithdraw(String name, double amount) {
+        return new EconomyResponse(0, 0, NOT_IMPLEMENTED, null);
+    }
+
+    @Override
+    public EconomyResponse bankDeposit(String name, double amount) {
+        return new EconomyResponse(0, 0, NOT_IMPLEMENTED, null);
+    }
+
+    @Override
+    public EconomyResponse isBankOwner(String name, String playerName) {
+        return new EconomyResponse(0, 0, NOT_IMPLEMENTED, null);
+    }
+
+    @Override
+    public EconomyResponse isBankMember(String name, String playerName) {
+        return new EconomyResponse(0, 0, NOT_IMPLEMENTED, null);
+    }
+
+    @Override
+    public List<String> getBanks() {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public boolean createPlayerAccount(String playerName) {
+        await();
+        return balances.putIfAbsent(playerName, 0D) == null;
+    }
+
+    @Override
+    public boolean createPlayerAccount(String playerName, String worldName) {
+        return createPlayerAccount(playerName);
+    }
+}
@@ -0,0 +1,105 @@
+package net.sparkzz.shops.util;
+
+import be.seeseemelk.mockbukkit.MockBukkit;
+import be.seeseemelk.mockbukkit.ServerMock;
+import be.seeseemelk.mockbukkit.entity.PlayerMock;
+import org.bukkit.Material;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+
+import java.math.BigDecimal;
+
+import static net.sparkzz.shops.TestHelper.printMessage;
+import static net.sparkzz.shops.TestHelper.printSuccessMessage;
+import static net.sparkzz.shops.util.AbstractNotifier.CipherKey.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SuppressWarnings("SpellCheckingInspection")
+@DisplayName("CommandContext Test")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class CommandContextTest {
+
+    private static PlayerMock mrSparkzz;
+
+    @BeforeAll
+    static void setUp() {
+        printMessage("==[ TEST COMMAND CONTEXT ]==");
+        ServerMock server = MockBukkit.getOrCreateMock();
+
+        mrSparkzz = server.addPlayer("MrSparkzz");
+    }
+
+    @AfterAll
+    static void tearDown() {
+        MockBukkit.unmock();
+    }
+
+    @Test
+    @DisplayName("Test Context - typed placeholders")
+    @Order(1)
+    void testTypedPlaceholders() {
+        CommandContext context = new CommandContext(mrSparkzz, new String[] {"buy", "emerald", "12"});
+
+        context.setMaterial(Material.EMERALD);
+        context.setQuantity(12);
+        context.setCost(BigDecimal.valueOf(24D));
+        Notifier.process(context, BUY_SUCCESS);
+
+        assertEquals("§aSuccess! You have purchased §612§a of §6EMERALD§a for §624.0§a.", mrSparkzz.nextMessage());
+        printSuccessMessage("context - typed placeholders");
+    }
+
+    @Test
+    @DisplayName("Test Context - raw input when a typed value is missing")
+    @Order(2)
+    void testRawInput() {
+        CommandContext context = new CommandContext(mrSparkzz, new String[] {"buy", "emeral"});
+
+        context.setMaterial(Material.matchMaterial("emeral"));
+        context.set("material", "emeral");
+
+        assertEquals("§cInvalid material (emeral)!", Notifier.render(INVALID_MATERIAL, context));
+
+        // the typed value takes precedence once it's set
+        context.setMaterial(Material.EMERALD);
+        assertEquals("§cInvalid material (EMERALD)!", Notifier.render(INVALID_MATERIAL, context));
+        printSuccessMessage("context - raw input");
+    }
+
+    @Test
+    @DisplayName("Test Context - arguments and other placeholders")
+    @Order(3)
+    void testArgsAndOtherPlaceholders() {
+        CommandContext context = new CommandContext(mrSparkzz, new String[] {"update", "emerald", "customer-buy-price", "5"});
+
+        context.set("store", "BetterBuy");
+        context.set("amount", 100D);
+
+        assertEquals("§aYou have successfully updated §6customer-buy-price§a to §65§a in BetterBuy!", Notifier.render(STORE_UPDATE_SUCCESS_2, context));
+        assertEquals("§aYou have successfully deposited §6100.0§a to the store!", Notifier.render(DEPOSIT_SUCCESS, context));
+        assertEquals("{arg4} {arg01} {target}", MessageTemplate.format("{arg4} {arg01} {target}", context));
+        printSuccessMessage("context - arguments and other placeholders");
+    }
+
+    @Test
+    @DisplayName("Test Context - multiline builder")
+    @Order(4)
+    void testMultilineBuilder() {
+        CommandContext context = new CommandContext(mrSparkzz);
+
+        context.setMaterial(Material.STICK);
+
+        String message = new Notifier.MultilineBuilder(context)
+                .append(INSUFFICIENT_INV_STORE)
+                .append("{material}")
+                .build();
+
+        assertEquals(String.format("§cThe store currently doesn't have enough §6STICK§c!%sSTICK", System.lineSeparator()), message);
+        printSuccessMessage("context - multiline builder");
+    }
+}
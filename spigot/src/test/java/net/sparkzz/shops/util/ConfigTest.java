@@ -19,6 +19,7 @@ import java.util.List;
 
 import static net.sparkzz.shops.TestHelper.*;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @DisplayName("Config Test")
@@ -167,4 +168,19 @@ public class ConfigTest {
         assertEquals(otherStore, Config.getDefaultStore(world_nether).get());
         printSuccessMessage("setting default store for specific world");
     }
+
+    @Test
+    @DisplayName("Test off-limits area checks")
+    @Order(10)
+    void testIsOffLimits() {
+        Config.setOffLimitsAreas(List.of(new Cuboid(world, -15, -64, -15, 20, 320, 20)));
+        assertTrue(Config.isOffLimits(new Cuboid(world, 0, 0, 0, 5, 5, 5)));
+        assertFalse(Config.isOffLimits(new Cuboid(world, 100, 0, 100, 105, 5, 105)));
+        assertFalse(Config.isOffLimits(new Cuboid(world_nether, 0, 0, 0, 5, 5, 5)));
+
+        Config.addOffLimitsArea(new Cuboid(world_nether, -20, -20, -20, 20, 20, 20));
+        assertTrue(Config.isOffLimits(new Cuboid(world_nether, 0, 0, 0, 5, 5, 5)));
+        assertEquals(2, Config.getOffLimitsCuboids().size());
+        printSuccessMessage("off-limits area checks");
+    }
 }
@@ -234,6 +234,41 @@ public class CuboidTest {
         printSuccessMessage("Cuboid - intersection (no intersection)");
     }
 
+    @Test
+    @DisplayName("Test Cuboid - intersection (Edge Touching)")
+    @Order(18)
+    void testIntersection_EdgeTouching() {
+        Cuboid intersector = new Cuboid(server.getWorld("world"), 20D, 20D, 20D, 30D, 30D, 30D);
+
+        assertTrue(cuboid.intersects(intersector));
+        assertTrue(intersector.intersects(cuboid));
+        printSuccessMessage("Cuboid - intersection (edge touching)");
+    }
+
+    @Test
+    @DisplayName("Test Cuboid - overlaps (Containment)")
+    @Order(19)
+    void testOverlaps_Containment() {
+        Cuboid container = new Cuboid(server.getWorld("world"), -50D, -50D, -50D, 30D, 30D, 30D);
+
+        assertTrue(cuboid.overlaps(container));
+        assertTrue(container.overlaps(cuboid));
+        assertTrue(container.intersects(cuboid));
+        printSuccessMessage("Cuboid - overlaps (containment)");
+    }
+
+    @Test
+    @DisplayName("Test Cuboid - overlaps (No Overlap)")
+    @Order(20)
+    void testOverlaps_NoOverlap() {
+        Cuboid separate = new Cuboid(server.getWorld("world"), 20.5D, -20D, -20D, 30D, 20D, 20D);
+
+        assertFalse(cuboid.overlaps(separate));
+        assertFalse(cuboid.overlaps(null));
+        assertFalse(cuboid.overlaps(noWorldCuboid));
+        printSuccessMessage("Cuboid - overlaps (no overlap)");
+    }
+
     @Nested
     @DisplayName("Test Cuboid Bounds")
     @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
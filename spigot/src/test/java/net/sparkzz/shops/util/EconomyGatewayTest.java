@@ -0,0 +1,182 @@
+package net.sparkzz.shops.util;
+
+import be.seeseemelk.mockbukkit.MockBukkit;
+import be.seeseemelk.mockbukkit.ServerMock;
+import be.seeseemelk.mockbukkit.entity.PlayerMock;
+import net.sparkzz.shops.mocks.MockEconomy;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static net.sparkzz.shops.TestHelper.printMessage;
+import static net.sparkzz.shops.TestHelper.printSuccessMessage;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SuppressWarnings("SpellCheckingInspection")
+@DisplayName("EconomyGateway Test")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class EconomyGatewayTest {
+
+    private static PlayerMock mrSparkzz, player2;
+    private MockEconomy economy;
+    private EconomyGateway gateway;
+
+    @BeforeAll
+    static void setUp() {
+        printMessage("==[ TEST ECONOMY GATEWAY ]==");
+        ServerMock server = MockBukkit.getOrCreateMock();
+
+        mrSparkzz = server.addPlayer("MrSparkzz");
+        player2 = server.addPlayer();
+    }
+
+    @AfterAll
+    static void tearDown() {
+        MockBukkit.unmock();
+    }
+
+    @BeforeEach
+    void setUpGateway() {
+        economy = new MockEconomy();
+        economy.depositPlayer(mrSparkzz, 100D);
+        gateway = new EconomyGateway(economy, null);
+    }
+
+    @AfterEach
+    void tearDownGateway() {
+        gateway.close();
+    }
+
+    @Test
+    @DisplayName("Test Gateway - balances include pending changes")
+    @Order(1)
+    void testPendingBalance() {
+        gateway.deposit(mrSparkzz, BigDecimal.valueOf(25));
+        assertTrue(gateway.withdraw(mrSparkzz, BigDecimal.valueOf(50)));
+
+        assertEquals(0, BigDecimal.valueOf(75).compareTo(gateway.getBalance(mrSparkzz)));
+        assertTrue(gateway.has(mrSparkzz, BigDecimal.valueOf(75)));
+        assertFalse(gateway.has(mrSparkzz, BigDecimal.valueOf(76)));
+
+        gateway.flush();
+
+        assertEquals(75D, economy.getBalance(mrSparkzz));
+        assertEquals(0, BigDecimal.valueOf(75).compareTo(gateway.getBalance(mrSparkzz)));
+        printSuccessMessage("gateway - balances include pending changes");
+    }
+
+    @Test
+    @DisplayName("Test Gateway - withdrawals can't overdraw")
+    @Order(2)
+    void testOverdraw() {
+        assertFalse(gateway.withdraw(mrSparkzz, BigDecimal.valueOf(101)));
+        assertTrue(gateway.withdraw(mrSparkzz, BigDecimal.valueOf(60)));
+        assertFalse(gateway.withdraw(mrSparkzz, BigDecimal.valueOf(60)));
+        assertFalse(gateway.withdraw(player2, BigDecimal.ONE));
+
+        gateway.flush();
+
+        assertEquals(40D, economy.getBalance(mrSparkzz));
+        assertEquals(0D, economy.getBalance(player2));
+        printSuccessMessage("gateway - withdrawals can't overdraw");
+    }
+
+    @Test
+    @DisplayName("Test Gateway - concurrent changes are settled exactly")
+    @Order(3)
+    void testConcurrentChanges() throws Exception {
+        int threads = 8, changesPerThread = 10_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<Integer>> results = new ArrayList<>();
+
+        // each thread deposits 2 to player2 and withdraws 1 from MrSparkzz for as long as he can afford it
+        for (int thread = 0; thread < threads; thread++) {
+            results.add(executor.submit(() -> {
+                int withdrawals = 0;
+
+                for (int i = 0; i < changesPerThread; i++) {
+                    gateway.deposit(player2, BigDecimal.valueOf(2));
+
+                    if (gateway.withdraw(mrSparkzz, BigDecimal.ONE))
+                        withdrawals++;
+                }
+
+                return withdrawals;
+            }));
+        }
+
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        int withdrawals = 0;
+
+        for (Future<Integer> result : results)
+            withdrawals += result.get();
+
+        gateway.flush();
+
+        assertEquals(100, withdrawals);
+        assertEquals(0D, economy.getBalance(mrSparkzz));
+        assertEquals(2D * threads * changesPerThread, economy.getBalance(player2));
+        printSuccessMessage("gateway - concurrent changes are settled exactly");
+    }
+
+    @Test
+    @DisplayName("Test Gateway - rejected withdrawals are kept until they're settled")
+    @Order(4)
+    void testRejectedWithdrawal() {
+        assertEquals(0, BigDecimal.valueOf(100).compareTo(gateway.getBalance(mrSparkzz)));
+
+        // the player spends most of their money outside the gateway before their purchase is settled
+        economy.withdrawPlayer(mrSparkzz, 80D);
+        assertTrue(gateway.withdraw(mrSparkzz, BigDecimal.valueOf(50)));
+
+        gateway.flush();
+
+        // Vault rejected the withdrawal, so the player owes it and can't spend through the gateway
+        assertEquals(20D, economy.getBalance(mrSparkzz));
+        assertEquals(0, BigDecimal.valueOf(-30).compareTo(gateway.getBalance(mrSparkzz)));
+        assertFalse(gateway.withdraw(mrSparkzz, BigDecimal.ONE));
+
+        economy.depositPlayer(mrSparkzz, 40D);
+        gateway.flush();
+
+        assertEquals(10D, economy.getBalance(mrSparkzz));
+        assertEquals(0, BigDecimal.TEN.compareTo(gateway.getBalance(mrSparkzz)));
+        printSuccessMessage("gateway - rejected withdrawals are kept until they're settled");
+    }
+
+    @Test
+    @DisplayName("Test Gateway - accounts are dropped once their players leave")
+    @Order(5)
+    void testUnload() {
+        gateway.load(mrSparkzz);
+        assertTrue(gateway.withdraw(mrSparkzz, BigDecimal.TEN));
+
+        // the balance is kept while the player is online, so changes made outside the gateway aren't seen right away
+        economy.depositPlayer(mrSparkzz, 50D);
+        assertEquals(0, BigDecimal.valueOf(90).compareTo(gateway.getBalance(mrSparkzz)));
+
+        // the account is dropped once its withdrawal has been settled, so the balance is read from Vault again
+        gateway.unload(mrSparkzz);
+        gateway.flush();
+
+        assertEquals(140D, economy.getBalance(mrSparkzz));
+        assertEquals(0, BigDecimal.valueOf(140).compareTo(gateway.getBalance(mrSparkzz)));
+        printSuccessMessage("gateway - accounts are dropped once their players leave");
+    }
+}
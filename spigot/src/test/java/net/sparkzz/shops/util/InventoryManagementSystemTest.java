@@ -102,6 +102,8 @@ public class InventoryManagementSystemTest {
     void testCanInsertAll() {
         boolean canInsertAll = InventoryManagementSystem.canInsertAll(mrSparkzz, List.of(emeralds, snowballs));
         assertTrue(canInsertAll);
+        // the check must not move anything into the player's inventory
+        assertTrue(mrSparkzz.getInventory().isEmpty());
         printSuccessMessage("IMS - can insert all items");
     }
 
@@ -113,6 +115,8 @@ public class InventoryManagementSystemTest {
 
         boolean canInsertAll = InventoryManagementSystem.canInsertAll(mrSparkzz, List.of(emeralds, snowballs));
         assertFalse(canInsertAll);
+        assertEquals(2176, InventoryManagementSystem.countQuantity(mrSparkzz, Material.EMERALD));
+        assertEquals(14, InventoryManagementSystem.countQuantity(mrSparkzz, Material.SNOWBALL));
         printSuccessMessage("IMS - can't insert all items");
     }
 
@@ -240,7 +244,7 @@ public class InventoryManagementSystemTest {
     @DisplayName("Test IMS - get available space (store) - max quantity negative")
     @Order(17)
     void testGetAvailableSpace_Store_MaxQuantityNegative() {
-        store.getAttributes(emeralds.getType()).put("max_quantity", -1);
+        store.getItem(emeralds.getType()).setMaxQuantity(-1);
 
         int quantity = InventoryManagementSystem.getAvailableSpace(store, emeralds.getType());
         assertEquals(Integer.MAX_VALUE, quantity);
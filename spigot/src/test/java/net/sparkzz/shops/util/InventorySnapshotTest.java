@@ -0,0 +1,122 @@
+package net.sparkzz.shops.util;
+
+import be.seeseemelk.mockbukkit.MockBukkit;
+import be.seeseemelk.mockbukkit.ServerMock;
+import be.seeseemelk.mockbukkit.entity.PlayerMock;
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.PlayerInventory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+
+import static net.sparkzz.shops.TestHelper.printMessage;
+import static net.sparkzz.shops.TestHelper.printSuccessMessage;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SuppressWarnings("SpellCheckingInspection")
+@DisplayName("InventorySnapshot Test")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class InventorySnapshotTest {
+
+    private static PlayerMock mrSparkzz;
+
+    @BeforeAll
+    static void setUp() {
+        printMessage("==[ TEST INVENTORY SNAPSHOT ]==");
+        ServerMock server = MockBukkit.getOrCreateMock();
+
+        mrSparkzz = server.addPlayer("MrSparkzz");
+    }
+
+    @AfterAll
+    static void tearDown() {
+        MockBukkit.unmock();
+    }
+
+    @AfterEach
+    void tearDownInventory() {
+        mrSparkzz.getInventory().clear();
+    }
+
+    @Test
+    @DisplayName("Test Snapshot - count, space and matching slots")
+    @Order(1)
+    void testSnapshot() {
+        PlayerInventory inventory = mrSparkzz.getInventory();
+
+        inventory.setItem(0, new ItemStack(Material.EMERALD, 60));
+        inventory.setItem(2, new ItemStack(Material.DIRT, 64));
+        inventory.setItem(5, new ItemStack(Material.EMERALD, 10));
+
+        InventorySnapshot snapshot = InventorySnapshot.of(inventory, Material.EMERALD);
+
+        assertEquals(70, snapshot.getCount());
+        // 33 empty slots and the space left in both emerald stacks
+        assertEquals(33 * 64 + 4 + 54, snapshot.getAvailableSpace());
+        assertArrayEquals(new int[] {0, 5}, snapshot.getMatchingSlots());
+        assertTrue(snapshot.containsAtLeast(70));
+        assertFalse(snapshot.containsAtLeast(71));
+        printSuccessMessage("snapshot - count, space and matching slots");
+    }
+
+    @Test
+    @DisplayName("Test Snapshot - insert tops up partial stacks first")
+    @Order(2)
+    void testInsert() {
+        PlayerInventory inventory = mrSparkzz.getInventory();
+
+        inventory.setItem(0, new ItemStack(Material.DIRT, 64));
+        inventory.setItem(3, new ItemStack(Material.EMERALD, 60));
+
+        InventorySnapshot snapshot = InventorySnapshot.of(inventory, Material.EMERALD);
+
+        assertEquals(0, snapshot.insert(70));
+        assertEquals(64, inventory.getItem(3).getAmount());
+        assertEquals(64, inventory.getItem(1).getAmount());
+        assertEquals(2, inventory.getItem(2).getAmount());
+        assertEquals(130, snapshot.getCount());
+        assertEquals(InventorySnapshot.of(inventory, Material.EMERALD).getAvailableSpace(), snapshot.getAvailableSpace());
+        printSuccessMessage("snapshot - insert");
+    }
+
+    @Test
+    @DisplayName("Test Snapshot - remove takes from stacks in slot order")
+    @Order(3)
+    void testRemove() {
+        PlayerInventory inventory = mrSparkzz.getInventory();
+
+        inventory.setItem(1, new ItemStack(Material.EMERALD, 10));
+        inventory.setItem(4, new ItemStack(Material.EMERALD, 64));
+
+        InventorySnapshot snapshot = InventorySnapshot.of(inventory, Material.EMERALD);
+
+        assertEquals(0, snapshot.remove(20));
+        assertNull(inventory.getItem(1));
+        assertEquals(54, inventory.getItem(4).getAmount());
+        assertEquals(54, snapshot.getCount());
+        assertEquals(4, snapshot.remove(58));
+        assertEquals(0, snapshot.getCount());
+        assertEquals(36 * 64, snapshot.getAvailableSpace());
+        printSuccessMessage("snapshot - remove");
+    }
+
+    @Test
+    @DisplayName("Test Snapshot - full inventory")
+    @Order(4)
+    void testFullInventory() {
+        mrSparkzz.getInventory().addItem(new ItemStack(Material.DIRT, 2304));
+
+        InventorySnapshot snapshot = InventorySnapshot.of(mrSparkzz.getInventory(), Material.EMERALD);
+
+        assertEquals(0, snapshot.getAvailableSpace());
+        assertFalse(snapshot.canInsert(1));
+        assertEquals(5, snapshot.insert(5));
+        printSuccessMessage("snapshot - full inventory");
+    }
+}
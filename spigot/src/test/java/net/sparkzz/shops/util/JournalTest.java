@@ -0,0 +1,148 @@
+package net.sparkzz.shops.util;
+
+import net.sparkzz.shops.Store;
+import org.bukkit.Material;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.logging.Logger;
+
+import static net.sparkzz.shops.TestHelper.printMessage;
+import static net.sparkzz.shops.TestHelper.printSuccessMessage;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Journal Test")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class JournalTest {
+
+    private static final Logger log = Logger.getLogger("JournalTest");
+
+    @TempDir
+    File dataFolder;
+
+    @BeforeAll
+    static void setUp() {
+        printMessage("==[ TEST JOURNAL ]==");
+        Store.STORES.clear();
+    }
+
+    @AfterEach
+    void reset() {
+        Journal.close();
+        Store.STORES.clear();
+    }
+
+    @Test
+    @DisplayName("Test Journal - not open")
+    @Order(1)
+    void testRecord_NotOpen() {
+        Store store = new Store("BetterBuy");
+
+        Journal.record(store, Material.EMERALD, 10, BigDecimal.ONE);
+
+        assertFalse(Journal.isOpen());
+        assertEquals(0L, store.getJournalSequence());
+        printSuccessMessage("Journal - not open");
+    }
+
+    @Test
+    @DisplayName("Test Journal - replay changes made after the last save")
+    @Order(2)
+    void testReplay_ChangesAfterSave() throws IOException {
+        Store store = new Store("BetterBuy");
+        store.addItem(Material.EMERALD, 5, -1, 2D, 1D);
+
+        Journal.open(dataFolder, log, 1000);
+        // the state of the store as of the last save
+        Store saved = store.snapshot();
+
+        store.addItem(Material.EMERALD, 10);
+        Journal.record(store, Material.EMERALD, 10, BigDecimal.ZERO);
+        store.addFunds(BigDecimal.valueOf(25));
+        Journal.record(store, null, 0, BigDecimal.valueOf(25));
+        Journal.close();
+
+        // simulate a crash losing every change since the last save, plus a partially written entry
+        Files.write(dataFolder.toPath().resolve("journal.log"), new byte[] {0, 0, 0, 64, 1, 2}, StandardOpenOption.APPEND);
+        Store.STORES.clear();
+        Store.STORES.add(saved);
+
+        Journal.open(dataFolder, log, 1000);
+
+        assertEquals(15, saved.getItem(Material.EMERALD).getQuantity());
+        assertEquals(0, BigDecimal.valueOf(25).compareTo(saved.getBalance()));
+        assertEquals(2L, saved.getJournalSequence());
+        printSuccessMessage("Journal - replay changes made after the last save");
+    }
+
+    @Test
+    @DisplayName("Test Journal - saved entries are not replayed")
+    @Order(3)
+    void testReplay_SavedEntriesSkipped() throws IOException {
+        Store store = new Store("BetterBuy");
+        store.addItem(Material.EMERALD, 5, -1, 2D, 1D);
+
+        Journal.open(dataFolder, log, 1000);
+
+        store.addItem(Material.EMERALD, 10);
+        Journal.record(store, Material.EMERALD, 10, BigDecimal.ZERO);
+
+        // the store is saved including the first entry, then the journal is truncated
+        Store saved = store.snapshot();
+        Journal.truncate(Journal.getSequence());
+
+        store.removeItem(Material.EMERALD, 3);
+        Journal.record(store, Material.EMERALD, -3, BigDecimal.ZERO);
+        Journal.close();
+
+        Store.STORES.clear();
+        Store.STORES.add(saved);
+
+        Journal.open(dataFolder, log, 1000);
+
+        assertEquals(12, saved.getItem(Material.EMERALD).getQuantity());
+        printSuccessMessage("Journal - saved entries are not replayed");
+    }
+
+    @Test
+    @DisplayName("Test Journal - added items are replayed with their prices")
+    @Order(4)
+    void testReplay_ItemAdded() throws IOException {
+        Store store = new Store("BetterBuy");
+
+        Journal.open(dataFolder, log, 1000);
+        Store saved = store.snapshot();
+
+        store.addItem(Material.EMERALD, 10, 64, 2.5D, 1.25D);
+        Journal.recordItemAdded(store, Material.EMERALD, 10, 64, 2.5D, 1.25D);
+        store.addItem(Material.DIAMOND, 0, -1, 100D, 50D);
+        Journal.recordItemAdded(store, Material.DIAMOND, 0, -1, 100D, 50D);
+        Journal.close();
+
+        Store.STORES.clear();
+        Store.STORES.add(saved);
+
+        Journal.open(dataFolder, log, 1000);
+
+        assertEquals(10, saved.getItem(Material.EMERALD).getQuantity());
+        assertEquals(64, saved.getItem(Material.EMERALD).getMaxQuantity());
+        assertEquals(2.5D, saved.getBuyPrice(Material.EMERALD));
+        assertEquals(1.25D, saved.getSellPrice(Material.EMERALD));
+        // an item added without any stock is still restored
+        assertEquals(0, saved.getItem(Material.DIAMOND).getQuantity());
+        assertEquals(100D, saved.getBuyPrice(Material.DIAMOND));
+        assertEquals(50D, saved.getSellPrice(Material.DIAMOND));
+        printSuccessMessage("Journal - added items are replayed with their prices");
+    }
+}
@@ -86,6 +86,29 @@ class NotifierTest {
         printSuccessMessage("formatted message with no replacement attribute");
     }
 
+    @Test
+    @DisplayName("Test Format with special characters in the replacement")
+    void testFormat_SpecialCharacterReplacement() {
+        String result = Notifier.format("{player} paid {cost} {}", Map.ofEntries(entry("player", "Steve\\"), entry("cost", "$5")));
+
+        assertEquals("Steve\\ paid $5 {}", result);
+        printSuccessMessage("formatted message with special characters in the replacement");
+    }
+
+    @Test
+    @DisplayName("Test Update message after it has been composed")
+    void testUpdate_AfterCompose() {
+        Notifier.CipherKey key = Notifier.CipherKey.NOT_BUYING;
+        Notifier.updateMessage(key, message2);
+        String first = Notifier.compose(key, Map.ofEntries(entry("player", "Steve"), entry("mood", "happy")));
+        Notifier.updateMessage(key, message1);
+        String second = Notifier.compose(key, null);
+
+        assertEquals("Test the attributes: Steve is happy", first);
+        assertEquals(message1, second);
+        printSuccessMessage("updated message after it has been composed");
+    }
+
     @Test
     @DisplayName("Test Update message")
     void testUpdate() {
@@ -327,6 +350,28 @@ class NotifierTest {
             assertEquals(expected, result);
             printSuccessMessage("processing page of pagination");
         }
+
+        @Test
+        @DisplayName("Test Building Browse Page from cache")
+        void testBuildBrowsePage_Cached() {
+            Store cachedStore = new Store("CachedStore");
+            cachedStore.addItem(Material.EMERALD, 3, 64, 24.5, 12);
+            cachedStore.addItem(Material.BEEF, 1000, 2048, 4, 1.5);
+
+            String first = Notifier.Paginator.buildBrowsePage(cachedStore, 1);
+            cachedStore.addItem(Material.EMERALD, 10);
+            String afterQuantityChange = Notifier.Paginator.buildBrowsePage(cachedStore, 1);
+            cachedStore.setBuyPrice(Material.EMERALD, 30);
+            String afterPriceChange = Notifier.Paginator.buildBrowsePage(cachedStore, 1);
+            cachedStore.removeItem(Material.EMERALD);
+            String afterRemoval = Notifier.Paginator.buildBrowsePage(cachedStore, 1);
+
+            assertSame(first, afterQuantityChange);
+            assertTrue(afterPriceChange.contains("30.00"));
+            assertFalse(afterRemoval.contains("EMERALD"));
+            assertNull(Notifier.Paginator.buildBrowsePage(cachedStore, 2));
+            printSuccessMessage("building page of pagination from cache");
+        }
     }
 
     private static void printSuccessMessage(String message) {
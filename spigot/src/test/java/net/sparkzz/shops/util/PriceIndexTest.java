@@ -0,0 +1,106 @@
+package net.sparkzz.shops.util;
+
+import org.bukkit.Material;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+
+import java.util.List;
+
+import static net.sparkzz.shops.TestHelper.printMessage;
+import static net.sparkzz.shops.TestHelper.printSuccessMessage;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("PriceIndex Test")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class PriceIndexTest {
+
+    private PriceIndex<String> index;
+
+    @BeforeAll
+    static void setUp() {
+        printMessage("==[ TEST PRICE INDEX ]==");
+    }
+
+    @BeforeEach
+    void setUpIndex() {
+        index = new PriceIndex<>();
+        index.update("better-buy", Material.EMERALD, 24.5D, 12D);
+        index.update("emerald-depot", Material.EMERALD, 20D, 14D);
+        index.update("gems", Material.EMERALD, -1D, 13D);
+        index.update("gems", Material.DIAMOND, 100D, -1D);
+    }
+
+    private static List<String> values(List<PriceIndex.Listing<String>> listings) {
+        return listings.stream().map(PriceIndex.Listing::getValue).toList();
+    }
+
+    @Test
+    @DisplayName("Test PriceIndex - listings are ordered by price")
+    @Order(1)
+    void testListings_Ordered() {
+        assertEquals(List.of("emerald-depot", "better-buy"), values(index.getSelling(Material.EMERALD)));
+        assertEquals(List.of("emerald-depot", "gems", "better-buy"), values(index.getBuying(Material.EMERALD)));
+        assertEquals(List.of("gems"), values(index.getSelling(Material.DIAMOND)));
+        assertTrue(index.getBuying(Material.DIAMOND).isEmpty());
+        assertTrue(index.getSelling(Material.STICK).isEmpty());
+        printSuccessMessage("PriceIndex - listings are ordered by price");
+    }
+
+    @Test
+    @DisplayName("Test PriceIndex - re-priced listings are moved")
+    @Order(2)
+    void testUpdate_Reprice() {
+        index.update("better-buy", Material.EMERALD, 15D, 12D);
+        index.update("gems", Material.EMERALD, -1D, 20D);
+
+        assertEquals(List.of("better-buy", "emerald-depot"), values(index.getSelling(Material.EMERALD)));
+        assertEquals(15D, index.getSelling(Material.EMERALD).get(0).getPrice());
+        assertEquals(List.of("gems", "emerald-depot", "better-buy"), values(index.getBuying(Material.EMERALD)));
+        printSuccessMessage("PriceIndex - re-priced listings are moved");
+    }
+
+    @Test
+    @DisplayName("Test PriceIndex - equal prices keep the order they were listed in")
+    @Order(3)
+    void testUpdate_EqualPrices() {
+        index.update("late-store", Material.EMERALD, 20D, 14D);
+
+        assertEquals(List.of("emerald-depot", "late-store", "better-buy"), values(index.getSelling(Material.EMERALD)));
+        assertEquals(List.of("emerald-depot", "late-store", "gems", "better-buy"), values(index.getBuying(Material.EMERALD)));
+        printSuccessMessage("PriceIndex - equal prices keep the order they were listed in");
+    }
+
+    @Test
+    @DisplayName("Test PriceIndex - negative prices remove the listing")
+    @Order(4)
+    void testUpdate_NegativePrice() {
+        index.update("emerald-depot", Material.EMERALD, -1D, 14D);
+        index.remove("better-buy", Material.EMERALD);
+
+        assertTrue(index.getSelling(Material.EMERALD).isEmpty());
+        assertEquals(List.of("emerald-depot", "gems"), values(index.getBuying(Material.EMERALD)));
+        printSuccessMessage("PriceIndex - negative prices remove the listing");
+    }
+
+    @Test
+    @DisplayName("Test PriceIndex - remove all listings of a value")
+    @Order(5)
+    void testRemoveAll() {
+        index.removeAll("gems");
+
+        assertEquals(List.of("emerald-depot", "better-buy"), values(index.getBuying(Material.EMERALD)));
+        assertTrue(index.getSelling(Material.DIAMOND).isEmpty());
+
+        index.removeAll("gems");
+        index.clear();
+
+        assertTrue(index.getSelling(Material.EMERALD).isEmpty());
+        assertTrue(index.getBuying(Material.EMERALD).isEmpty());
+        printSuccessMessage("PriceIndex - remove all listings of a value");
+    }
+}
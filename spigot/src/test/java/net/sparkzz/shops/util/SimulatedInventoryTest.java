@@ -0,0 +1,102 @@
+package net.sparkzz.shops.util;
+
+import be.seeseemelk.mockbukkit.MockBukkit;
+import be.seeseemelk.mockbukkit.ServerMock;
+import be.seeseemelk.mockbukkit.entity.PlayerMock;
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.PlayerInventory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+
+import java.util.List;
+
+import static net.sparkzz.shops.TestHelper.printMessage;
+import static net.sparkzz.shops.TestHelper.printSuccessMessage;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SuppressWarnings("SpellCheckingInspection")
+@DisplayName("SimulatedInventory Test")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class SimulatedInventoryTest {
+
+    private static PlayerMock mrSparkzz;
+
+    @BeforeAll
+    static void setUp() {
+        printMessage("==[ TEST SIMULATED INVENTORY ]==");
+        ServerMock server = MockBukkit.getOrCreateMock();
+
+        mrSparkzz = server.addPlayer("MrSparkzz");
+    }
+
+    @AfterAll
+    static void tearDown() {
+        MockBukkit.unmock();
+    }
+
+    @AfterEach
+    void tearDownInventory() {
+        mrSparkzz.getInventory().clear();
+    }
+
+    @Test
+    @DisplayName("Test Simulation - packs several materials without changing the inventory")
+    @Order(1)
+    void testAddAll() {
+        PlayerInventory inventory = mrSparkzz.getInventory();
+
+        inventory.addItem(new ItemStack(Material.DIRT, 64 * 33), new ItemStack(Material.SNOWBALL, 10));
+
+        SimulatedInventory simulated = SimulatedInventory.of(inventory);
+
+        // 6 snowballs top up the partial stack, the emeralds take the 2 empty slots
+        assertTrue(simulated.addAll(List.of(new ItemStack(Material.SNOWBALL, 6), new ItemStack(Material.EMERALD, 128))));
+        assertFalse(inventory.contains(Material.EMERALD));
+        assertEquals(1, simulated.add(new ItemStack(Material.SNOWBALL, 1)));
+        printSuccessMessage("simulation - add all");
+    }
+
+    @Test
+    @DisplayName("Test Simulation - items that don't fit")
+    @Order(2)
+    void testAddAll_DoesNotFit() {
+        PlayerInventory inventory = mrSparkzz.getInventory();
+
+        inventory.addItem(new ItemStack(Material.DIRT, 64 * 35));
+
+        SimulatedInventory simulated = SimulatedInventory.of(inventory);
+
+        assertFalse(simulated.addAll(List.of(new ItemStack(Material.EMERALD, 32), new ItemStack(Material.BUCKET, 2))));
+        assertEquals(64 * 35, InventoryManagementSystem.countQuantity(mrSparkzz, Material.DIRT));
+        assertFalse(inventory.contains(Material.EMERALD));
+        printSuccessMessage("simulation - items that don't fit");
+    }
+
+    @Test
+    @DisplayName("Test Simulation - apply to the inventory")
+    @Order(3)
+    void testApplyTo() {
+        PlayerInventory inventory = mrSparkzz.getInventory();
+
+        inventory.setItem(0, new ItemStack(Material.EMERALD, 60));
+
+        SimulatedInventory simulated = SimulatedInventory.of(inventory);
+
+        assertTrue(simulated.addAll(List.of(new ItemStack(Material.EMERALD, 70), new ItemStack(Material.BUCKET, 2))));
+        simulated.applyTo(inventory);
+
+        assertEquals(64, inventory.getItem(0).getAmount());
+        assertEquals(64, inventory.getItem(1).getAmount());
+        assertEquals(2, inventory.getItem(2).getAmount());
+        assertEquals(new ItemStack(Material.BUCKET, 2), inventory.getItem(3));
+        assertEquals(130, InventoryManagementSystem.countQuantity(mrSparkzz, Material.EMERALD));
+        printSuccessMessage("simulation - apply to the inventory");
+    }
+}
@@ -0,0 +1,133 @@
+package net.sparkzz.shops.util;
+
+import be.seeseemelk.mockbukkit.MockBukkit;
+import be.seeseemelk.mockbukkit.ServerMock;
+import org.bukkit.World;
+import org.bukkit.WorldCreator;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+
+import java.util.List;
+
+import static net.sparkzz.shops.TestHelper.printMessage;
+import static net.sparkzz.shops.TestHelper.printSuccessMessage;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("SpatialIndex Test")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class SpatialIndexTest {
+
+    private static ServerMock server;
+    private static World world, otherWorld;
+    private SpatialIndex<String> index;
+
+    @BeforeAll
+    static void setUp() {
+        printMessage("==[ TEST SPATIAL INDEX ]==");
+        server = MockBukkit.getOrCreateMock();
+        world = server.createWorld(WorldCreator.name("world"));
+        otherWorld = server.createWorld(WorldCreator.name("other-world"));
+    }
+
+    @AfterAll
+    static void tearDown() {
+        MockBukkit.unmock();
+    }
+
+    @BeforeEach
+    void setUpIndex() {
+        index = new SpatialIndex<>();
+        index.put("spawn-shop", new Cuboid(world, -20D, 0D, -20D, 20D, 20D, 20D));
+        index.put("far-shop", new Cuboid(world, 1000D, 0D, 1000D, 1010D, 20D, 1010D));
+    }
+
+    @Test
+    @DisplayName("Test SpatialIndex - candidates in overlapping chunks")
+    @Order(1)
+    void testGetCandidates_OverlappingChunks() {
+        assertEquals(1, index.getCandidates(world, -20D, -20D).size());
+        assertEquals(1, index.getCandidates(world, 20D, 20D).size());
+        assertTrue(index.getCandidates(world, 0D, 0D).contains("spawn-shop"));
+        assertTrue(index.getCandidates(world, 1005D, 1005D).contains("far-shop"));
+        printSuccessMessage("SpatialIndex - candidates in overlapping chunks");
+    }
+
+    @Test
+    @DisplayName("Test SpatialIndex - no candidates outside indexed chunks")
+    @Order(2)
+    void testGetCandidates_Empty() {
+        assertTrue(index.getCandidates(world, 500D, 500D).isEmpty());
+        assertTrue(index.getCandidates(otherWorld, 0D, 0D).isEmpty());
+        assertTrue(index.getCandidates(null, 0D, 0D).isEmpty());
+        printSuccessMessage("SpatialIndex - no candidates outside indexed chunks");
+    }
+
+    @Test
+    @DisplayName("Test SpatialIndex - re-index on update")
+    @Order(3)
+    void testPut_Reindex() {
+        index.put("spawn-shop", new Cuboid(otherWorld, -20D, 0D, -20D, 20D, 20D, 20D));
+
+        assertTrue(index.getCandidates(world, 0D, 0D).isEmpty());
+        assertTrue(index.getCandidates(otherWorld, 0D, 0D).contains("spawn-shop"));
+        printSuccessMessage("SpatialIndex - re-index on update");
+    }
+
+    @Test
+    @DisplayName("Test SpatialIndex - remove")
+    @Order(4)
+    void testRemove() {
+        assertTrue(index.remove("spawn-shop"));
+        assertFalse(index.remove("spawn-shop"));
+        assertFalse(index.contains("spawn-shop"));
+        assertTrue(index.getCandidates(world, 0D, 0D).isEmpty());
+        printSuccessMessage("SpatialIndex - remove");
+    }
+
+    @Test
+    @DisplayName("Test SpatialIndex - tracked without location")
+    @Order(5)
+    void testPut_NoLocation() {
+        index.put("no-location-shop", null);
+
+        assertTrue(index.contains("no-location-shop"));
+        assertTrue(index.remove("no-location-shop"));
+        printSuccessMessage("SpatialIndex - tracked without location");
+    }
+
+    @Test
+    @DisplayName("Test SpatialIndex - oversized cuboid")
+    @Order(6)
+    void testPut_Oversized() {
+        index.put("huge-shop", new Cuboid(world, -100000D, 0D, -100000D, 100000D, 20D, 100000D));
+
+        assertTrue(index.getCandidates(world, 500D, 500D).contains("huge-shop"));
+        assertTrue(index.getCandidates(world, 0D, 0D).contains("huge-shop"));
+        assertTrue(index.remove("huge-shop"));
+        assertTrue(index.getCandidates(world, 500D, 500D).isEmpty());
+        printSuccessMessage("SpatialIndex - oversized cuboid");
+    }
+
+    @Test
+    @DisplayName("Test SpatialIndex - looked up placements aren't changed by later changes")
+    @Order(7)
+    void testGetPlacements_Unchanged() {
+        List<SpatialIndex.Placement<String>> placements = index.getPlacements(world, 0D, 0D);
+
+        index.put("corner-shop", new Cuboid(world, 0D, 0D, 0D, 5D, 20D, 5D));
+        index.remove("spawn-shop");
+
+        assertEquals(1, placements.size());
+        assertEquals("spawn-shop", placements.get(0).getValue());
+        assertThrows(UnsupportedOperationException.class, () -> placements.add(placements.get(0)));
+        assertEquals(1, index.getPlacements(world, 0D, 0D).size());
+        assertEquals("corner-shop", index.getPlacements(world, 0D, 0D).get(0).getValue());
+        printSuccessMessage("SpatialIndex - looked up placements aren't changed by later changes");
+    }
+}
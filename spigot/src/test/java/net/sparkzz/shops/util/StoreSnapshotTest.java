@@ -0,0 +1,122 @@
+package net.sparkzz.shops.util;
+
+import net.sparkzz.shops.Store;
+import org.bukkit.Material;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+
+import static net.sparkzz.shops.TestHelper.printMessage;
+import static net.sparkzz.shops.TestHelper.printSuccessMessage;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("StoreSnapshot Test")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class StoreSnapshotTest {
+
+    @TempDir
+    Path dataFolder;
+
+    @BeforeAll
+    static void setUp() {
+        printMessage("==[ TEST STORE SNAPSHOT ]==");
+        Store.STORES.clear();
+    }
+
+    @AfterEach
+    void reset() {
+        Store.STORES.clear();
+    }
+
+    @Test
+    @DisplayName("Test StoreSnapshot - round trip")
+    @Order(1)
+    void testRoundTrip() throws IOException {
+        Store store = new Store("BetterBuy", UUID.randomUUID(), new Cuboid(null, 1, 2, 3, 10, 20, 30));
+        Store unowned = new Store("WorseBuy");
+        Path snapshot = dataFolder.resolve("stores.bin");
+
+        store.addItem(Material.EMERALD, 64, 128, 5.5D, 0.1D);
+        store.addItem(Material.DIRT, -1, -1, -1D, -1D);
+        store.setBalance(new BigDecimal("1234.56"));
+        store.setInfiniteStock(true);
+        store.setJournalSequence(42);
+        store.addCuboidLocation(new Cuboid(null, 100, 0, 100, 110, 10, 110));
+
+        StoreSnapshot.write(snapshot, List.of(store, unowned));
+
+        List<Store> stores = StoreSnapshot.read(snapshot);
+        Store loaded = stores.get(0);
+
+        assertEquals(2, stores.size());
+        assertEquals(store.getUUID(), loaded.getUUID());
+        assertEquals(store.getOwner(), loaded.getOwner());
+        assertEquals("BetterBuy", loaded.getName());
+        assertEquals(new BigDecimal("1234.56"), loaded.getBalance());
+        assertTrue(loaded.hasInfiniteStock());
+        assertFalse(loaded.hasInfiniteFunds());
+        assertEquals(42L, loaded.getJournalSequence());
+        assertEquals(30D, loaded.getCuboidLocation().getZ2());
+        assertEquals(2, loaded.getCuboidLocations().size());
+        assertEquals(110D, loaded.getCuboidLocations().get(1).getX2());
+        assertEquals(64, loaded.getItem(Material.EMERALD).getQuantity());
+        assertEquals(128, loaded.getItem(Material.EMERALD).getMaxQuantity());
+        assertEquals(5.5D, loaded.getBuyPrice(Material.EMERALD));
+        assertEquals(0.1D, loaded.getSellPrice(Material.EMERALD));
+        assertTrue(loaded.getItem(Material.DIRT).hasInfiniteQuantity());
+        assertNull(stores.get(1).getOwner());
+        assertNull(stores.get(1).getCuboidLocation());
+        // loaded stores aren't registered until they're added by the warehouse
+        assertEquals(2, Store.STORES.size());
+        printSuccessMessage("StoreSnapshot - round trip");
+    }
+
+    @Test
+    @DisplayName("Test StoreSnapshot - prices are restored exactly")
+    @Order(2)
+    void testRoundTrip_ExactPrices() throws IOException {
+        Store store = new Store("BetterBuy");
+        Path snapshot = dataFolder.resolve("stores.bin");
+
+        store.addItem(Material.EMERALD, 1, 1, 0.123456789D, 1e-7D);
+        store.addItem(Material.DIAMOND, 1, 1, 1e18D, Double.MAX_VALUE);
+
+        StoreSnapshot.write(snapshot, List.of(store));
+
+        Store loaded = StoreSnapshot.read(snapshot).get(0);
+
+        assertEquals(0.123456789D, loaded.getBuyPrice(Material.EMERALD));
+        assertEquals(1e-7D, loaded.getSellPrice(Material.EMERALD));
+        assertEquals(1e18D, loaded.getBuyPrice(Material.DIAMOND));
+        assertEquals(Double.MAX_VALUE, loaded.getSellPrice(Material.DIAMOND));
+        printSuccessMessage("StoreSnapshot - prices are restored exactly");
+    }
+
+    @Test
+    @DisplayName("Test StoreSnapshot - corrupt file")
+    @Order(3)
+    void testRead_Corrupt() throws IOException {
+        Path snapshot = dataFolder.resolve("stores.bin");
+
+        StoreSnapshot.write(snapshot, List.of(new Store("BetterBuy")));
+
+        byte[] bytes = Files.readAllBytes(snapshot);
+        bytes[bytes.length / 2] ^= 0x7F;
+        Files.write(snapshot, bytes);
+
+        assertThrows(IOException.class, () -> StoreSnapshot.read(snapshot));
+        printSuccessMessage("StoreSnapshot - corrupt file");
+    }
+}
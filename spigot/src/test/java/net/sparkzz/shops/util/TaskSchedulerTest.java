@@ -0,0 +1,104 @@
+package net.sparkzz.shops.util;
+
+import be.seeseemelk.mockbukkit.MockBukkit;
+import be.seeseemelk.mockbukkit.ServerMock;
+import be.seeseemelk.mockbukkit.entity.PlayerMock;
+import net.sparkzz.shops.Shops;
+import net.sparkzz.shops.mocks.MockVault;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.PluginDescriptionFile;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static net.sparkzz.shops.TestHelper.printMessage;
+import static net.sparkzz.shops.TestHelper.printSuccessMessage;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SuppressWarnings("SpellCheckingInspection")
+@DisplayName("TaskScheduler Test")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class TaskSchedulerTest {
+
+    private static ServerMock server;
+    private static PlayerMock mrSparkzz;
+    private static Plugin shops;
+
+    @BeforeAll
+    static void setUp() {
+        printMessage("==[ TEST TASK SCHEDULER ]==");
+        server = MockBukkit.getOrCreateMock();
+
+        MockBukkit.loadWith(MockVault.class, new PluginDescriptionFile("Vault", "MOCK", "net.sparkzz.shops.mocks.MockVault"));
+        shops = MockBukkit.load(Shops.class);
+        mrSparkzz = server.addPlayer("MrSparkzz");
+    }
+
+    @AfterAll
+    static void tearDown() {
+        MockBukkit.unmock();
+    }
+
+    @Test
+    @DisplayName("Test TaskScheduler - not a Folia server")
+    @Order(1)
+    void testIsFolia() {
+        assertFalse(TaskScheduler.isFolia());
+        printSuccessMessage("TaskScheduler - not a Folia server");
+    }
+
+    @Test
+    @DisplayName("Test TaskScheduler - entity tasks run right away on the owning thread")
+    @Order(2)
+    void testRunAtEntity_OwningThread() {
+        AtomicInteger runs = new AtomicInteger();
+
+        TaskScheduler.runAtEntity(shops, mrSparkzz, runs::incrementAndGet);
+
+        assertEquals(1, runs.get());
+        printSuccessMessage("TaskScheduler - entity tasks run right away on the owning thread");
+    }
+
+    @Test
+    @DisplayName("Test TaskScheduler - entity tasks from another thread run on the next tick")
+    @Order(3)
+    void testRunAtEntity_OtherThread() {
+        AtomicReference<Thread> thread = new AtomicReference<>();
+
+        TaskScheduler.runAsync(shops, () -> TaskScheduler.runAtEntity(shops, mrSparkzz, () -> thread.set(Thread.currentThread())));
+        server.getScheduler().waitAsyncTasksFinished();
+
+        assertNull(thread.get());
+
+        server.getScheduler().performOneTick();
+
+        assertSame(Thread.currentThread(), thread.get());
+        printSuccessMessage("TaskScheduler - entity tasks from another thread run on the next tick");
+    }
+
+    @Test
+    @DisplayName("Test TaskScheduler - repeating global tasks can be cancelled")
+    @Order(4)
+    void testRunGlobalTimer() {
+        AtomicInteger runs = new AtomicInteger();
+        TaskScheduler.Task task = TaskScheduler.runGlobalTimer(shops, runs::incrementAndGet, 1, 2);
+
+        server.getScheduler().performTicks(5);
+
+        int runsBeforeCancel = runs.get();
+
+        assertTrue(runsBeforeCancel >= 2);
+
+        task.cancel();
+        server.getScheduler().performTicks(5);
+        assertEquals(runsBeforeCancel, runs.get());
+        printSuccessMessage("TaskScheduler - repeating global tasks can be cancelled");
+    }
+}
@@ -3,16 +3,28 @@ package net.sparkzz.shops.util;
 import be.seeseemelk.mockbukkit.MockBukkit;
 import be.seeseemelk.mockbukkit.ServerMock;
 import be.seeseemelk.mockbukkit.entity.PlayerMock;
+import net.milkbowl.vault.economy.Economy;
 import net.sparkzz.shops.Shops;
 import net.sparkzz.shops.Store;
+import net.sparkzz.shops.mocks.MockEconomy;
 import net.sparkzz.shops.mocks.MockVault;
 import org.bukkit.Material;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.plugin.PluginDescriptionFile;
 import org.junit.jupiter.api.*;
 
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
 import static net.sparkzz.shops.TestHelper.*;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @SuppressWarnings("SpellCheckingInspection")
@@ -85,4 +97,99 @@ public class TransactionTest {
         assertEquals(Transaction.TransactionType.SALE, sale.getType());
         printSuccessMessage("transaction - get type");
     }
+
+    @Test
+    @DisplayName("Test Transaction - concurrent purchases from one store")
+    @Order(3)
+    void testConcurrentPurchases() throws Exception {
+        int buyers = 32, attempts = 8, quantity = 5, stock = 500;
+        double price = 2D, startingFunds = 1000D;
+        Economy economy = Shops.getEconomy();
+        MockEconomy mockEconomy = new MockEconomy();
+        List<PlayerMock> players = new ArrayList<>();
+
+        Shops.setEconomy(mockEconomy);
+        store.addItem(Material.DIAMOND, stock, -1, price, 1D);
+        BigDecimal startingBalance = store.getBalance();
+
+        for (int i = 0; i < buyers; i++) {
+            PlayerMock buyer = server.addPlayer();
+
+            mockEconomy.depositPlayer(buyer, startingFunds);
+            players.add(buyer);
+        }
+
+        // far more is asked for than the store has, so the buyers are competing for the last of the stock
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> purchases = new ArrayList<>();
+
+        try {
+            for (PlayerMock buyer : players) {
+                purchases.add(executor.submit(() -> {
+                    int successful = 0;
+
+                    start.await();
+
+                    for (int i = 0; i < attempts; i++)
+                        if (new Transaction(buyer, new ItemStack(Material.DIAMOND, quantity), Transaction.TransactionType.PURCHASE).commit())
+                            successful++;
+
+                    return successful;
+                }));
+            }
+
+            start.countDown();
+
+            int sold = 0;
+
+            for (int i = 0; i < buyers; i++) {
+                int bought = purchases.get(i).get(30, TimeUnit.SECONDS) * quantity;
+
+                assertEquals(bought, InventoryManagementSystem.countQuantity(players.get(i), Material.DIAMOND));
+                assertEquals(0, BigDecimal.valueOf(startingFunds - (bought * price)).compareTo(Shops.getEconomyGateway().getBalance(players.get(i))));
+                sold += bought;
+            }
+
+            // the purchases are only charged to the economy once they're settled
+            Shops.getEconomyGateway().flush();
+
+            for (int i = 0; i < buyers; i++)
+                assertEquals(startingFunds - (purchases.get(i).get() * quantity * price), mockEconomy.getBalance(players.get(i)));
+
+            assertEquals(stock, sold);
+            assertEquals(0, store.getItem(Material.DIAMOND).getQuantity());
+            assertEquals(0, startingBalance.add(BigDecimal.valueOf(stock * price)).compareTo(store.getBalance()));
+        } finally {
+            executor.shutdownNow();
+            Shops.setEconomy(economy);
+        }
+
+        printSuccessMessage("transaction - concurrent purchases from one store");
+    }
+
+    @Test
+    @DisplayName("Test Transaction - unaffordable purchases aren't processed")
+    @Order(4)
+    void testProcess_Unaffordable() {
+        Economy economy = Shops.getEconomy();
+
+        // the player has no funds in a fresh economy
+        Shops.setEconomy(new MockEconomy());
+        store.addItem(Material.DIAMOND, 10, -1, 5D, 1D);
+
+        try {
+            Transaction unaffordable = new Transaction(player, new ItemStack(Material.DIAMOND, 2), Transaction.TransactionType.PURCHASE);
+            BigDecimal balance = store.getBalance();
+
+            assertFalse(unaffordable.process());
+            assertEquals(10, store.getItem(Material.DIAMOND).getQuantity());
+            assertEquals(0, balance.compareTo(store.getBalance()));
+            assertEquals(0, InventoryManagementSystem.countQuantity(player, Material.DIAMOND));
+        } finally {
+            Shops.setEconomy(economy);
+        }
+
+        printSuccessMessage("transaction - unaffordable purchases aren't processed");
+    }
 }
@@ -0,0 +1,88 @@
+package net.sparkzz.shops.util;
+
+import net.sparkzz.shops.StoreItem;
+import org.bukkit.Material;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.spongepowered.configurate.BasicConfigurationNode;
+import org.spongepowered.configurate.ConfigurationNode;
+import org.spongepowered.configurate.serialize.SerializationException;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import static net.sparkzz.shops.TestHelper.printMessage;
+import static net.sparkzz.shops.TestHelper.printSuccessMessage;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Warehouse Test")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class WarehouseTest {
+
+    private final Warehouse.MaterialMapSerializer serializer = new Warehouse.MaterialMapSerializer();
+
+    @BeforeAll
+    static void setUp() {
+        printMessage("==[ TEST WAREHOUSE ]==");
+    }
+
+    @Test
+    @DisplayName("Test MaterialMapSerializer - deserialize existing item data")
+    @Order(1)
+    void testDeserialize_ExistingItemData() throws SerializationException {
+        ConfigurationNode node = BasicConfigurationNode.root().set(
+                "{\"EMERALD\":{\"quantity\":64,\"max_quantity\":128,\"buy\":5.5,\"sell\":4.0},\"DIRT\":{\"quantity\":-1,\"max_quantity\":-1,\"buy\":-1.0,\"sell\":-1.0}}");
+
+        Map<Material, StoreItem> items = serializer.deserialize(null, node);
+
+        assertEquals(2, items.size());
+        assertEquals(64, items.get(Material.EMERALD).getQuantity());
+        assertEquals(128, items.get(Material.EMERALD).getMaxQuantity());
+        assertEquals(5.5D, items.get(Material.EMERALD).getBuyPrice());
+        assertEquals(4D, items.get(Material.EMERALD).getSellPrice());
+        assertTrue(items.get(Material.DIRT).hasInfiniteQuantity());
+        printSuccessMessage("MaterialMapSerializer - deserialize existing item data");
+    }
+
+    @Test
+    @DisplayName("Test MaterialMapSerializer - round trip")
+    @Order(2)
+    void testSerialize_RoundTrip() throws SerializationException {
+        Map<Material, StoreItem> items = new EnumMap<>(Material.class);
+        items.put(Material.BUCKET, new StoreItem(10, 20, 1.25D, 0.75D));
+
+        ConfigurationNode node = BasicConfigurationNode.root();
+        serializer.serialize(null, items, node);
+
+        StoreItem item = serializer.deserialize(null, node).get(Material.BUCKET);
+
+        assertEquals(10, item.getQuantity());
+        assertEquals(20, item.getMaxQuantity());
+        assertEquals(1.25D, item.getBuyPrice());
+        assertEquals(0.75D, item.getSellPrice());
+        printSuccessMessage("MaterialMapSerializer - round trip");
+    }
+
+    @Test
+    @DisplayName("Test MaterialMapSerializer - items are written as nodes")
+    @Order(3)
+    void testSerialize_NativeNodes() throws SerializationException {
+        Map<Material, StoreItem> items = new EnumMap<>(Material.class);
+        items.put(Material.EMERALD, new StoreItem(64, 128, 5.5D, 4D));
+
+        ConfigurationNode node = BasicConfigurationNode.root();
+        serializer.serialize(null, items, node);
+
+        assertFalse(Warehouse.MaterialMapSerializer.isLegacyFormat(node));
+        assertTrue(node.isMap());
+        assertEquals(64, node.node("EMERALD", "quantity").getInt());
+        assertEquals(128, node.node("EMERALD", "max_quantity").getInt());
+        assertEquals(5.5D, node.node("EMERALD", "buy").getDouble());
+        assertEquals(4D, node.node("EMERALD", "sell").getDouble());
+        printSuccessMessage("MaterialMapSerializer - items are written as nodes");
+    }
+}
@@ -132,14 +132,14 @@ public class CreateCommand extends SubCommand {
             Cuboid cuboid = new Cuboid(storeWorld.orElse(player.world()), x1, y1, z1, x2, y2, z2);
 
             for (Cuboid currentCuboid : Config.getOffLimitsCuboids()) {
-                if (cuboid.intersects(currentCuboid) || currentCuboid.intersects(cuboid)) {
+                if (cuboid.overlaps(currentCuboid)) {
                     Notifier.process(context.cause(), STORE_CREATE_FAIL_OFFLIMITS, getAttributes());
                     return CommandResult.success();
                 }
             }
 
             for (Cuboid currentCuboid : Store.STORES.stream().map(Store::getCuboidLocation).toList()) {
-                if (currentCuboid != null && (cuboid.intersects(currentCuboid) || currentCuboid.intersects(cuboid))) {
+                if (cuboid.overlaps(currentCuboid)) {
                     Notifier.process(context.cause(), STORE_CREATE_FAIL_OVERLAPS, getAttributes());
                     return CommandResult.success();
                 }